@@ -1,5 +1,6 @@
 package com.example.bankcards;
 
+import com.example.bankcards.config.AotConditionsGuard;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -11,6 +12,8 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 public class BankCardsApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(BankCardsApplication.class, args);
+        SpringApplication application = new SpringApplication(BankCardsApplication.class);
+        application.addListeners(new AotConditionsGuard());
+        application.run(args);
     }
 }
@@ -0,0 +1,110 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.event.InMemoryOutboxSink;
+import com.example.bankcards.event.NdjsonFileOutboxSink;
+import com.example.bankcards.security.LoginThrottleSync;
+import com.example.bankcards.service.BlockRequestArchiveService;
+import com.example.bankcards.service.BlockRequestAutoProcessor;
+import com.example.bankcards.service.DataGenerator;
+import com.example.bankcards.service.OutboxRelay;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// With spring.aot.enabled the bean definitions were generated by spring-boot:process-aot, so the conditions on the
+// classes below were decided by the build (AOT_JVM_ARGUMENTS in the Dockerfile). Changing such a setting only at
+// runtime would be ignored silently, e.g. the archive job keeps moving rows with BLOCK_REQUEST_ARCHIVE_ENABLED=false
+// or the datagen profile runs into web beans, so the startup fails instead. Each condition is read from the class's
+// own annotations; AotConditionsGuardTest fails when a conditional component is missing from the list. Registered
+// on the SpringApplication and run once the generated definitions are registered, before any bean is created
+public class AotConditionsGuard implements ApplicationListener<ApplicationPreparedEvent> {
+
+    static final List<Class<?>> CONDITIONAL_BEANS = List.of(
+            ReadReplicaConfig.class,
+            VirtualThreadConfig.class,
+            SchedulingConfig.class,
+            MethodMetricsAspect.class,
+            SqlStatementMetricsConfig.class,
+            InMemoryOutboxSink.class,
+            NdjsonFileOutboxSink.class,
+            OutboxRelay.class,
+            LoginThrottleSync.class,
+            BlockRequestAutoProcessor.class,
+            BlockRequestArchiveService.class,
+            DataGenerator.class);
+
+    @Override
+    public void onApplicationEvent(ApplicationPreparedEvent event) {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        List<String> mismatches = findMismatches(context.getEnvironment(), context.getBeanFactory());
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("Settings differ from the AOT build of this image: "
+                    + String.join("; ", mismatches)
+                    + ". Rebuild with --build-arg AOT_JVM_ARGUMENTS=\"-D<property>=<value> ...\""
+                    + " or start with -Dspring.aot.enabled=false");
+        }
+    }
+
+    // Package-private for tests: without AOT the conditions are evaluated at startup and always match
+    static List<String> findMismatches(Environment environment, ListableBeanFactory beanFactory) {
+        List<String> mismatches = new ArrayList<>();
+        for (Class<?> beanType : CONDITIONAL_BEANS) {
+            List<String> settings = new ArrayList<>();
+            boolean expected = matches(environment, beanType, settings);
+            boolean present = beanFactory.getBeanNamesForType(beanType, true, false).length > 0;
+            if (expected != present) {
+                mismatches.add(String.join(", ", settings) + (present ? " but " : " but no ")
+                        + beanType.getSimpleName() + " was built into the image");
+            }
+        }
+        return mismatches;
+    }
+
+    // Same rules as the Spring conditions, limited to the attributes this application uses
+    private static boolean matches(Environment environment, Class<?> beanType, List<String> settings) {
+        boolean matches = true;
+        ConditionalOnProperty property = AnnotatedElementUtils.findMergedAnnotation(beanType, ConditionalOnProperty.class);
+        if (property != null) {
+            String prefix = property.prefix().isEmpty() || property.prefix().endsWith(".")
+                    ? property.prefix() : property.prefix() + ".";
+            String[] names = property.name().length > 0 ? property.name() : property.value();
+            for (String name : names) {
+                String value = environment.getProperty(prefix + name);
+                settings.add(prefix + name + "=" + value);
+                if (value == null) {
+                    matches &= property.matchIfMissing();
+                } else if (property.havingValue().isEmpty()) {
+                    matches &= !"false".equalsIgnoreCase(value);
+                } else {
+                    matches &= value.equalsIgnoreCase(property.havingValue());
+                }
+            }
+        }
+        ConditionalOnThreading threading = AnnotatedElementUtils.findMergedAnnotation(beanType, ConditionalOnThreading.class);
+        if (threading != null) {
+            settings.add("spring.threads.virtual.enabled=" + environment.getProperty("spring.threads.virtual.enabled"));
+            matches &= threading.value().isActive(environment);
+        }
+        Profile profile = AnnotatedElementUtils.findMergedAnnotation(beanType, Profile.class);
+        if (profile != null) {
+            settings.add("active profiles " + Arrays.toString(environment.getActiveProfiles()));
+            matches &= environment.acceptsProfiles(Profiles.of(profile.value()));
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.enums.CardStatus;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.block-requests.auto-processing")
+public class BlockRequestAutoProcessingProperties {
+    private boolean enabled = false;
+    private long interval = 15000;
+    private int batchSize = 500;
+    private int historyDays = 30;
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private String name;
+        private String decision;
+        private String reasonPattern;
+        private Set<CardStatus> cardStatuses = EnumSet.noneOf(CardStatus.class);
+        private Integer maxRecentRequests;
+        private Integer maxRejectedRequests;
+        private String comment;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.bankcards.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Each borrowed connection holds a permit until close(). With virtual threads there is no request pool
+// in front of JDBC, so thousands of callers would otherwise pile into Hikari's handoff queue at once;
+// the fair semaphore queues them FIFO in front of the pool and parks them without pinning a carrier thread
+public class ConcurrencyLimitingDataSource extends DelegatingDataSource {
+
+    private static final String METRIC_PREFIX = "jdbc.connections.limiter";
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+    private final Timer waitTimer;
+    private final Counter timeouts;
+
+    public ConcurrencyLimitingDataSource(DataSource targetDataSource, String poolName, int maxConcurrent,
+                                         long acquireTimeoutMs, MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+
+        this.waitTimer = Timer.builder(METRIC_PREFIX + ".wait")
+                .description("Time spent waiting for a JDBC connection permit")
+                .tag("pool", poolName)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.timeouts = Counter.builder(METRIC_PREFIX + ".timeouts")
+                .description("Connection requests that gave up waiting for a permit")
+                .tag("pool", poolName)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".waiting", permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a JDBC connection permit")
+                .tag("pool", poolName)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".available", permits, Semaphore::availablePermits)
+                .description("JDBC connection permits currently free")
+                .tag("pool", poolName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        long startTime = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLTransientConnectionException(
+                        "No JDBC connection permit available within " + acquireTimeoutMs + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a JDBC connection permit", e);
+        } finally {
+            waitTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    if ("unwrap".equals(method.getName()) && ((Class<?>) args[0]).isInstance(connection)) {
+                        return connection;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
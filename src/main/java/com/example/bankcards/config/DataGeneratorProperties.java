@@ -0,0 +1,25 @@
+package com.example.bankcards.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.datagen")
+public class DataGeneratorProperties {
+    private long seed = 42;
+    private int users = 100_000;
+    private int cardsPerUser = 4;
+    private int refreshTokensPerUser = 2;
+    private String usernamePrefix = "gen-user-";
+    private String password = "Generated1!";
+    private double adminRatio = 0.001;
+    private double disabledUserRatio = 0.01;
+    private double blockRequestRatio = 0.1;
+    private double pendingBlockRequestRatio = 0.2;
+    private double expiredRefreshTokenRatio = 0.3;
+    private boolean skipForeignKeyChecks = true;
+    private int threads = 0;
+    private int chunkSize = 2_000;
+}
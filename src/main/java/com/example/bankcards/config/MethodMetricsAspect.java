@@ -0,0 +1,150 @@
+package com.example.bankcards.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// One timer family for every public service, repository, token and encryption call: method.duration tagged by
+// layer, class, method, outcome and exception, plus a method.active gauge of calls in flight. Runs outside the
+// transaction advice so the commit is part of the measured time. Histogram buckets for p50/p95/p99 come from
+// management.metrics.distribution in application.yml
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "app.metrics.methods", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MethodMetricsAspect {
+
+    static final String DURATION_METRIC = "method.duration";
+    static final String ACTIVE_METRIC = "method.active";
+
+    private static final String BASE_PACKAGE = "com.example.bankcards.";
+    private static final String SUCCESS = "success";
+    private static final String ERROR = "error";
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<MethodKey, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public MethodMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Repositories are JDK proxies whose inherited methods (save, findById) are declared outside the package,
+    // hence the subtype pattern; the lifecycle callbacks of SmartLifecycle beans are not business calls
+    @Pointcut("execution(public * com.example.bankcards.service..*.*(..))"
+            + " || execution(public * com.example.bankcards.repository..*+.*(..))"
+            + " || execution(public * com.example.bankcards.security.JwtProvider.*(..))"
+            + " || execution(public * com.example.bankcards.security.RefreshTokenProvider.*(..))"
+            + " || execution(public * com.example.bankcards.util.CardEncryptor.*(..))")
+    void instrumentedMethods() {
+    }
+
+    @Pointcut("execution(* java.lang.Object.*(..))"
+            + " || execution(* org.springframework.context.Lifecycle.*(..))"
+            + " || execution(* org.springframework.context.SmartLifecycle.*(..))"
+            + " || execution(* org.springframework.context.Phased.*(..))")
+    void excludedMethods() {
+    }
+
+    @Around("instrumentedMethods() && !excludedMethods()")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodMeters methodMeters = metersFor(joinPoint);
+        methodMeters.active.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            methodMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            Timer.builder(DURATION_METRIC)
+                    .tags(methodMeters.tags.and("outcome", ERROR, "exception", e.getClass().getSimpleName()))
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        } finally {
+            methodMeters.active.decrementAndGet();
+        }
+    }
+
+    private MethodMeters metersFor(ProceedingJoinPoint joinPoint) {
+        Class<?> targetClass = joinPoint.getTarget() != null ? joinPoint.getTarget().getClass() : joinPoint.getThis().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return meters.computeIfAbsent(new MethodKey(targetClass, method), key -> createMeters(key.targetClass, key.method));
+    }
+
+    private MethodMeters createMeters(Class<?> targetClass, Method method) {
+        Class<?> owner = applicationType(targetClass);
+        Tags tags = Tags.of(
+                "layer", layer(owner),
+                "class", owner.getSimpleName(),
+                "method", method.getName());
+
+        Timer success = Timer.builder(DURATION_METRIC)
+                .description("Latency of service, repository and security calls")
+                .tags(tags.and("outcome", SUCCESS, "exception", NO_EXCEPTION))
+                .register(meterRegistry);
+        AtomicInteger active = new AtomicInteger();
+        Gauge.builder(ACTIVE_METRIC, active, AtomicInteger::get)
+                .description("Calls currently in progress")
+                .tags(tags)
+                .register(meterRegistry);
+        return new MethodMeters(tags, success, active);
+    }
+
+    // Spring Data repositories are JDK proxies, so the useful name is the repository interface
+    private static Class<?> applicationType(Class<?> targetClass) {
+        Class<?> userClass = ClassUtils.getUserClass(targetClass);
+        if (userClass.getName().startsWith(BASE_PACKAGE)) {
+            return userClass;
+        }
+        for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(userClass)) {
+            if (candidate.getName().startsWith(BASE_PACKAGE)) {
+                return candidate;
+            }
+        }
+        return userClass;
+    }
+
+    private static String layer(Class<?> owner) {
+        String name = owner.getName();
+        if (!name.startsWith(BASE_PACKAGE)) {
+            return "other";
+        }
+        String relative = name.substring(BASE_PACKAGE.length());
+        int dot = relative.indexOf('.');
+        return dot > 0 ? relative.substring(0, dot) : "other";
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class MethodKey {
+        private final Class<?> targetClass;
+        private final Method method;
+    }
+
+    @RequiredArgsConstructor
+    private static class MethodMeters {
+        private final Tags tags;
+        private final Timer success;
+        private final AtomicInteger active;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.bankcards.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Replaces Boot's single pool: the primary is built from spring.datasource as before, each replica gets its
+// own Hikari pool, and the DataSource everything injects is a lazy proxy over the router. Hibernate asks for
+// a connection when the transaction begins, before Spring marks it read-only, so the lazy proxy defers the
+// choice of physical connection to the first statement. Liquibase and JdbcTemplate run outside read-only
+// transactions and therefore always reach the primary
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                             DataSourceProperties primaryProperties,
+                                                             ReadReplicaProperties properties,
+                                                             MeterRegistry meterRegistry,
+                                                             Environment environment,
+                                                             @Value("${app.datasource.acquire-timeout:${spring.datasource.hikari.connection-timeout:30000}}") long acquireTimeoutMs) {
+        if (properties.getReplicas().isEmpty()) {
+            log.warn("Read replica routing is enabled but no replicas are configured, all reads go to the primary");
+        }
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (ReadReplicaProperties.Replica replica : properties.getReplicas()) {
+            if (replica.getName() == null || replica.getName().isBlank() || replica.getUrl() == null) {
+                throw new IllegalStateException("Read replica must have a name and a url");
+            }
+            if (replica.getName().equals(ReplicaRoutingDataSource.PRIMARY) || replicas.containsKey(replica.getName())) {
+                throw new IllegalStateException("Duplicate read replica name '" + replica.getName() + "'");
+            }
+
+            HikariDataSource pool = createReplicaPool(replica, primaryProperties, meterRegistry);
+            // Replica pools are not beans, so they get the virtual-thread connection cap here rather than from
+            // VirtualThreadConfig's post-processor
+            replicas.put(replica.getName(), Threading.VIRTUAL.isActive(environment)
+                    ? VirtualThreadConfig.limitConcurrency(pool, pool.getPoolName(), 0, acquireTimeoutMs, meterRegistry)
+                    : pool);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, properties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    // The pool starts on first use, so an unreachable replica is reported by the lag check instead of failing startup
+    private HikariDataSource createReplicaPool(ReadReplicaProperties.Replica replica, DataSourceProperties primaryProperties,
+                                              MeterRegistry meterRegistry) {
+        HikariConfig config = replica.getHikari();
+        config.setJdbcUrl(replica.getUrl());
+        config.setUsername(replica.getUsername() != null ? replica.getUsername() : primaryProperties.determineUsername());
+        config.setPassword(replica.getPassword() != null ? replica.getPassword() : primaryProperties.determinePassword());
+        config.setDriverClassName(primaryProperties.determineDriverClassName());
+        if (config.getPoolName() == null) {
+            config.setPoolName("replica-" + replica.getName());
+        }
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        HikariDataSource pool = new HikariDataSource();
+        config.copyStateTo(pool);
+        log.info("Configured read replica {} at {} (maximum pool size {})",
+                replica.getName(), replica.getUrl(), pool.getMaximumPoolSize());
+        return pool;
+    }
+}
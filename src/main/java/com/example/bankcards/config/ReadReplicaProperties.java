@@ -0,0 +1,30 @@
+package com.example.bankcards.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.datasource.read-replicas")
+public class ReadReplicaProperties {
+    private boolean enabled = false;
+    private long maxLag = 5000;
+    private long lagCheckInterval = 2000;
+    private long stickyWindow = 5000;
+    private int maxStickyUsers = 100000;
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private HikariConfig hikari = new HikariConfig();
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.bankcards.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Read-only transactions are spread round-robin over the replicas within the lag budget. Writes, statements
+// outside a read-only transaction, reads by a user who committed a write within the sticky window and
+// all reads while no replica is healthy go to the primary. Must sit behind a LazyConnectionDataSourceProxy
+// so the lookup happens at the first statement, after the transaction has been marked read-only
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    // A replica that streams from the primary and has replayed everything it received is current even if the
+    // primary has been idle for a while, which pg_last_xact_replay_timestamp() alone would report as lag. Without
+    // a streaming WAL receiver (primary unreachable, restoring from archive) the replica has replayed all it got
+    // but may be arbitrarily behind, so the lag is unknown
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000
+            END
+            """;
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Cache<String, Boolean> recentWriters;
+    private final long maxLagMs;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter primaryWrites;
+    private final Counter stickyReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaDataSources,
+                                    ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.maxLagMs = properties.getMaxLag();
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxStickyUsers())
+                .expireAfterWrite(Duration.ofMillis(properties.getStickyWindow()))
+                .build();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicaDataSources.forEach((name, dataSource) -> {
+            targets.put(name, dataSource);
+            replicas.add(new Replica(name, dataSource, meterRegistry));
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        this.primaryWrites = routingCounter(meterRegistry, PRIMARY, "write");
+        this.stickyReads = routingCounter(meterRegistry, PRIMARY, "sticky");
+        this.fallbackReads = routingCounter(meterRegistry, PRIMARY, "fallback");
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicaLag();
+        log.info("Read replica routing initialized: replicas={}, maxLag={}ms",
+                replicas.stream().map(Replica::getName).toList(), maxLagMs);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryWrites.increment();
+            rememberWriteOnCommit(user);
+            return PRIMARY;
+        }
+        if (user != null && recentWriters.getIfPresent(user) != null) {
+            stickyReads.increment();
+            return PRIMARY;
+        }
+
+        Replica replica = nextHealthyReplica();
+        if (replica == null) {
+            fallbackReads.increment();
+            return PRIMARY;
+        }
+        replica.getReads().increment();
+        return replica.getName();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.read-replicas.lag-check-interval:2000}")
+    public void checkReplicaLag() {
+        for (Replica replica : replicas) {
+            replica.update(measureLag(replica), maxLagMs);
+        }
+    }
+
+    @Override
+    public void destroy() throws SQLException {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource().isWrapperFor(HikariDataSource.class)) {
+                replica.getDataSource().unwrap(HikariDataSource.class).close();
+            }
+        }
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isHealthy()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // Only committed writes make the user sticky; a rolled back transaction left nothing to read back
+    private void rememberWriteOnCommit(String user) {
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    // Returns null when the lag is unknown: the replica is unreachable or has not replayed anything yet
+    private Double measureLag(Replica replica) {
+        try (Connection connection = replica.getDataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                double lagMs = resultSet.getDouble(1);
+                return resultSet.wasNull() ? null : lagMs;
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Lag check failed for replica {}: {}", replica.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("db.routing.connections")
+                .description("Connections routed by the read replica data source")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Getter
+    static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter reads;
+        private volatile boolean healthy;
+        private boolean checked;
+        private volatile double lagMs = Double.NaN;
+
+        private Replica(String name, DataSource dataSource, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reads = routingCounter(meterRegistry, name, "read");
+            Gauge.builder("db.replica.lag", this, Replica::getLagMs)
+                    .description("Replication lag of the read replica in milliseconds, NaN when unknown")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.healthy", this, replica -> replica.isHealthy() ? 1 : 0)
+                    .description("Whether the read replica currently receives read-only transactions")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        }
+
+        private void update(Double lag, long maxLagMs) {
+            boolean nowHealthy = lag != null && lag <= maxLagMs;
+            if (!checked || nowHealthy != healthy) {
+                if (nowHealthy) {
+                    log.info("Replica {} is within the lag budget ({}ms), routing reads to it", name, lag.longValue());
+                } else {
+                    log.warn("Replica {} {}, routing its reads to the primary",
+                            name, lag == null ? "is unreachable or lag is unknown" : "lags by " + lag.longValue() + "ms");
+                }
+            }
+            lagMs = lag != null ? lag : Double.NaN;
+            healthy = nowHealthy;
+            checked = true;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.bankcards.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.TaskScheduler;
@@ -9,27 +12,31 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 
+// Platform-thread mode only; with spring.threads.virtual.enabled Boot provides a virtual-thread scheduler instead.
+// One thread per @Scheduled method, so the paced archive loop or a long auto-processing run never delays the 200 ms
+// outbox relay or the throttle sync behind it
 @Slf4j
 @Configuration
+@ConditionalOnThreading(Threading.PLATFORM)
 public class SchedulingConfig {
 
     @Bean
-    public TaskScheduler taskScheduler() {
+    public TaskScheduler taskScheduler(@Value("${spring.task.scheduling.pool.size:9}") int poolSize) {
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
-        scheduler.setPoolSize(3);
-        scheduler.setThreadNamePrefix("token-cleanup-");
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
         scheduler.setWaitForTasksToCompleteOnShutdown(true);
         scheduler.setAwaitTerminationSeconds(30);
 
         scheduler.setRejectedExecutionHandler(new RejectedExecutionHandler() {
             @Override
             public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-                log.warn("Token cleanup task was rejected. Pool is full or shutting down.");
+                log.warn("Scheduled task was rejected. Pool is full or shutting down.");
             }
         });
 
         scheduler.initialize();
-        log.info("Task scheduler initialized with pool size: {}", scheduler.getPoolSize());
+        log.info("Task scheduler initialized with pool size: {}", poolSize);
 
         return scheduler;
     }
@@ -1,8 +1,10 @@
 package com.example.bankcards.config;
 
+import com.example.bankcards.security.BoundedPasswordEncoder;
 import com.example.bankcards.security.CustomAccessDeniedHandler;
 import com.example.bankcards.security.CustomAuthenticationEntryPoint;
 import com.example.bankcards.security.JwtAuthenticationFilter;
+import com.example.bankcards.security.PasswordHashingExecutor;
 import com.example.bankcards.security.UserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -35,6 +37,7 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final CustomAccessDeniedHandler customAccessDeniedHandler;
     private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -48,7 +51,10 @@ public class SecurityConfig {
                         .requestMatchers("/auth/**").permitAll()
 
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        // Health stays open for the Docker and load balancer checks; metrics, Prometheus and sqlstats
+                        // (including its DELETE reset) expose internals, so scrapers need an admin token
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN")
 
                         .requestMatchers("/admin/**").hasAuthority("ADMIN")
                         .requestMatchers("/user/**").hasAnyAuthority("USER", "ADMIN")
@@ -67,7 +73,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingExecutor);
     }
 
     @Bean
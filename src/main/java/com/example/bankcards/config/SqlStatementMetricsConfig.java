@@ -0,0 +1,58 @@
+package com.example.bankcards.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+// Per-request SQL statement counts without SQL logging: the DataSource that Hibernate, JdbcTemplate and Liquibase
+// inject is wrapped once, outermost, so the numbers are the same whether or not replica routing is enabled
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.sql-stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementMetricsConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    // Not ordered, so it runs after the ordered post-processors, including the virtual-thread connection limiter
+    // that has to see the bare Hikari pool
+    @Bean
+    public static BeanPostProcessor statementMetricsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource) {
+                    log.info("Counting SQL statements per request on the {} bean", beanName);
+                    return new StatementMetricsDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlStatementStatsEndpoint sqlStatementStatsEndpoint() {
+        return new SqlStatementStatsEndpoint();
+    }
+
+    // Ahead of the security filters, so the user lookup of the JWT filter is part of the request's count
+    @Bean
+    public FilterRegistrationBean<SqlStatementMetricsFilter> sqlStatementMetricsFilter(
+            MeterRegistry meterRegistry,
+            SqlStatementStatsEndpoint sqlStatementStatsEndpoint,
+            @Value("${app.sql-stats.response-headers:false}") boolean responseHeaders,
+            @Value("${app.sql-stats.statement-budget:0}") int statementBudget) {
+        FilterRegistrationBean<SqlStatementMetricsFilter> registration = new FilterRegistrationBean<>(
+                new SqlStatementMetricsFilter(meterRegistry, sqlStatementStatsEndpoint, responseHeaders, statementBudget));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
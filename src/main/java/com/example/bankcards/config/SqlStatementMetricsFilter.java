@@ -0,0 +1,108 @@
+package com.example.bankcards.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Counts the statements and database time of each request. Tags use the matched route pattern, like
+// http.server.requests, so path variables do not multiply the series
+@Slf4j
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementStatsEndpoint statsEndpoint;
+    private final boolean responseHeaders;
+    private final int statementBudget;
+
+    public SqlStatementMetricsFilter(MeterRegistry meterRegistry, SqlStatementStatsEndpoint statsEndpoint,
+                                     boolean responseHeaders, int statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statsEndpoint = statsEndpoint;
+        this.responseHeaders = responseHeaders;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.start();
+        HttpServletResponse target = responseHeaders ? new StatsHeaderResponse(response, stats) : response;
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            SqlStatementStats.stop();
+            if (responseHeaders && !response.isCommitted()) {
+                writeHeaders(response, stats);
+            }
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStats stats) {
+        String method = request.getMethod();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        Tags tags = Tags.of("method", method, "uri", uri);
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .baseUnit("statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("http.server.requests.sql.duration")
+                .description("Time per HTTP request spent executing SQL statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+        statsEndpoint.record(method + " " + uri, stats);
+
+        if (statementBudget > 0 && stats.getStatements() > statementBudget) {
+            log.warn("{} {} executed {} SQL statements in {}ms, over the budget of {}",
+                    method, request.getRequestURI(), stats.getStatements(),
+                    String.format(Locale.ROOT, "%.1f", stats.getMillis()), statementBudget);
+        }
+    }
+
+    private static void writeHeaders(HttpServletResponse response, SqlStatementStats stats) {
+        response.setHeader(STATEMENTS_HEADER, Integer.toString(stats.getStatements()));
+        response.setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3f", stats.getMillis()));
+    }
+
+    // Bodies larger than the buffer commit the response inside the chain, after which headers are ignored;
+    // the headers then carry the statements executed up to that point
+    private static class StatsHeaderResponse extends OnCommittedResponseWrapper {
+        private final SqlStatementStats stats;
+
+        private StatsHeaderResponse(HttpServletResponse response, SqlStatementStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders((HttpServletResponse) getResponse(), stats);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.bankcards.config;
+
+import lombok.Getter;
+
+// Statements executed by the current request thread. StatementMetricsDataSource adds to it, SqlStatementMetricsFilter
+// opens and closes it; statements from schedulers, the audit writer and other background threads are not counted
+@Getter
+public class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+
+    static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    static void record(long elapsedNanos) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.nanos += elapsedNanos;
+        }
+    }
+
+    public double getMillis() {
+        return nanos / 1_000_000.0;
+    }
+}
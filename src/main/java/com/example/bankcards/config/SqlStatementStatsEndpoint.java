@@ -0,0 +1,77 @@
+package com.example.bankcards.config;
+
+import lombok.Getter;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// /actuator/sqlstats: endpoints ordered by statements per request since startup or the last reset, the worst first
+@Endpoint(id = "sqlstats")
+public class SqlStatementStatsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final Map<String, EndpointTotals> totals = new ConcurrentHashMap<>();
+
+    void record(String endpoint, SqlStatementStats stats) {
+        totals.computeIfAbsent(endpoint, key -> new EndpointTotals()).add(stats);
+    }
+
+    @ReadOperation
+    public List<EndpointSqlStats> topOffenders(@Nullable Integer limit) {
+        return totals.entrySet().stream()
+                .map(entry -> new EndpointSqlStats(entry.getKey(), entry.getValue()))
+                .filter(stats -> stats.getRequests() > 0)
+                .sorted(Comparator.comparingDouble(EndpointSqlStats::getAvgStatements).reversed())
+                .limit(limit != null && limit > 0 ? limit : DEFAULT_LIMIT)
+                .toList();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        totals.clear();
+    }
+
+    private static class EndpointTotals {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+
+        private void add(SqlStatementStats stats) {
+            requests.increment();
+            statements.add(stats.getStatements());
+            nanos.add(stats.getNanos());
+            maxStatements.accumulateAndGet(stats.getStatements(), Math::max);
+        }
+    }
+
+    @Getter
+    public static class EndpointSqlStats {
+        private final String endpoint;
+        private final long requests;
+        private final long totalStatements;
+        private final double avgStatements;
+        private final long maxStatements;
+        private final double totalSqlTimeMs;
+        private final double avgSqlTimeMs;
+
+        private EndpointSqlStats(String endpoint, EndpointTotals totals) {
+            this.endpoint = endpoint;
+            this.requests = totals.requests.sum();
+            this.totalStatements = totals.statements.sum();
+            this.maxStatements = totals.maxStatements.get();
+            this.totalSqlTimeMs = totals.nanos.sum() / 1_000_000.0;
+            this.avgStatements = requests > 0 ? (double) totalStatements / requests : 0;
+            this.avgSqlTimeMs = requests > 0 ? totalSqlTimeMs / requests : 0;
+        }
+    }
+}
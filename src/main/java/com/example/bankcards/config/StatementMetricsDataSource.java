@@ -0,0 +1,72 @@
+package com.example.bankcards.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Times every execute* call on statements handed out by the target, so Hibernate and JdbcTemplate work is counted
+// alike. A batch is one statement because it is one round trip; time spent reading a result set is not included
+public class StatementMetricsDataSource extends DelegatingDataSource {
+
+    public StatementMetricsDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timingStatements(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timingStatements(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection timingStatements(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof CallableStatement statement) {
+                        return timed(statement, CallableStatement.class);
+                    }
+                    if (result instanceof PreparedStatement statement) {
+                        return timed(statement, PreparedStatement.class);
+                    }
+                    if (result instanceof Statement statement) {
+                        return timed(statement, Statement.class);
+                    }
+                    return result;
+                });
+    }
+
+    private static Object timed(Statement statement, Class<? extends Statement> type) {
+        return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (!method.getName().startsWith("execute")) {
+                        return invoke(statement, method, args);
+                    }
+                    long startTime = System.nanoTime();
+                    try {
+                        return invoke(statement, method, args);
+                    } finally {
+                        SqlStatementStats.record(System.nanoTime() - startTime);
+                    }
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.bankcards.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+// spring.threads.virtual.enabled switches Tomcat, @Async and @Scheduled onto virtual threads through
+// Boot's auto-configuration; this adds the JDBC cap that the platform pools used to provide implicitly
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    // Only physical pools are wrapped, so a routing data source in front of them does not take a second permit
+    @Bean
+    public static ConcurrencyLimitingPostProcessor concurrencyLimitingDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.datasource.max-concurrent-connections:0}") int maxConcurrent,
+            @Value("${app.datasource.acquire-timeout:${spring.datasource.hikari.connection-timeout:30000}}") long acquireTimeoutMs) {
+        return new ConcurrencyLimitingPostProcessor(meterRegistry, maxConcurrent, acquireTimeoutMs);
+    }
+
+    static DataSource limitConcurrency(HikariDataSource pool, String poolName, int maxConcurrent,
+                                       long acquireTimeoutMs, MeterRegistry meterRegistry) {
+        int permits = maxConcurrent > 0 ? maxConcurrent : pool.getMaximumPoolSize();
+        log.info("Limiting concurrent JDBC connections of {} to {} (acquire timeout {}ms)",
+                poolName, permits, acquireTimeoutMs);
+        return new ConcurrencyLimitingDataSource(pool, poolName, permits, acquireTimeoutMs, meterRegistry);
+    }
+
+    // Ordered so it runs before the unordered statement metrics post-processor, which would hide the pool type
+    @RequiredArgsConstructor
+    public static class ConcurrencyLimitingPostProcessor implements BeanPostProcessor, Ordered {
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final int maxConcurrent;
+        private final long acquireTimeoutMs;
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (bean instanceof HikariDataSource pool) {
+                return limitConcurrency(pool, beanName, maxConcurrent, acquireTimeoutMs, meterRegistry.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
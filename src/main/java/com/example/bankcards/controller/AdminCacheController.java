@@ -0,0 +1,73 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.ApiMessageResponse;
+import com.example.bankcards.dto.CacheRegionStatsResponse;
+import com.example.bankcards.service.ReferenceDataCacheService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/admin/cache")
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('ADMIN')")
+@Tag(name = "Admin Cache", description = "Second-level cache monitoring and eviction endpoints")
+@SecurityRequirement(name = "bearerAuth")
+public class AdminCacheController {
+
+    private final ReferenceDataCacheService referenceDataCacheService;
+
+    @GetMapping("/stats")
+    @Operation(
+        summary = "Get cache statistics",
+        description = "Hit, miss and put counts of the role cache regions of the serving instance since startup"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Access denied", content = @Content)
+    })
+    public ResponseEntity<List<CacheRegionStatsResponse>> getCacheStatistics() {
+        return ResponseEntity.ok(referenceDataCacheService.getStatistics());
+    }
+
+    @PostMapping("/roles/evict")
+    @Operation(
+        summary = "Evict cached roles",
+        description = "Drop cached roles, user role assignments and role lookups after they were changed directly in the database. " +
+                "Caches are local to each instance: only the instance that serves this request is evicted, " +
+                "others pick up role assignments within 5 minutes"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Role caches evicted"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Access denied", content = @Content)
+    })
+    public ResponseEntity<ApiMessageResponse> evictRoles() {
+        referenceDataCacheService.evictRoles();
+        log.info("Admin evicted role caches");
+
+        ApiMessageResponse response = ApiMessageResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK.value())
+                .message("Role caches evicted")
+                .build();
+        return ResponseEntity.ok(response);
+    }
+}
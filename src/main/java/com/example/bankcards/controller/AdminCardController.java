@@ -23,6 +23,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -33,6 +34,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.Map;
 import java.util.List;
 import java.util.Arrays;
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Slf4j
@@ -239,7 +241,9 @@ public class AdminCardController {
     @GetMapping("/block-requests")
     @Operation(
         summary = "Get all block requests",
-        description = "Retrieve all block requests with optional status filtering"
+        description = "Retrieve all block requests with optional status and creation date filtering. Archived requests are " +
+                "included for APPROVED/REJECTED, for a date range without a start or starting before the archive age, " +
+                "and when asked for. Pending requests are never archived"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Block requests retrieved successfully"),
@@ -249,14 +253,23 @@ public class AdminCardController {
     public ResponseEntity<PageResponse<BlockRequestResponse>> getAllBlockRequests(
             @Parameter(description = "Filter by status (PENDING, APPROVED, REJECTED)")
             @RequestParam(required = false) String status,
+            @Parameter(description = "Created at or after (ISO-8601)", example = "2025-01-01T00:00:00Z")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "Created before (ISO-8601)", example = "2025-02-01T00:00:00Z")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @Parameter(description = "Include archived requests in an unfiltered listing", example = "false")
+            @RequestParam(defaultValue = "false") boolean archived,
             @Parameter(description = "Page number", example = "0")
             @RequestParam(defaultValue = "0") @Min(0) int page,
             @Parameter(description = "Page size", example = "20")
             @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
 
         BlockRequestStatus requestStatus = parseBlockRequestStatus(status);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw InvalidParameterException.invalidParameter("from", from + ". Must be before 'to'");
+        }
         Pageable pageable = PageRequest.of(page, size);
-        Page<BlockRequestResponse> requests = blockRequestService.getAllBlockRequests(requestStatus, pageable);
+        Page<BlockRequestResponse> requests = blockRequestService.getAllBlockRequests(requestStatus, from, to, archived, pageable);
 
         return ResponseEntity.ok(createPageResponse(requests));
     }
@@ -288,6 +301,68 @@ public class AdminCardController {
         return ResponseEntity.ok(processedRequest);
     }
 
+    @PostMapping("/block-requests/batch-process")
+    @Operation(
+        summary = "Process block requests in bulk",
+        description = "Approve or reject many block requests with one decision. Requests that are not pending are skipped"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Block requests processed successfully",
+                    content = @Content(schema = @Schema(implementation = BlockRequestBatchProcessResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request or decision", content = @Content),
+        @ApiResponse(responseCode = "401", description = "User not authenticated", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Access denied", content = @Content)
+    })
+    public ResponseEntity<BlockRequestBatchProcessResponse> processBlockRequests(
+            @Parameter(description = "Request ids and processing decision", required = true)
+            @Valid @RequestBody BlockRequestBatchProcessRequest request,
+            Authentication authentication) {
+
+        String adminUsername = ((UserPrincipal) authentication.getPrincipal()).getUsername();
+        BlockRequestBatchProcessResponse response = blockRequestService.processBlockRequests(adminUsername, request);
+
+        log.info("Admin {} batch processed {} block requests: {}", adminUsername, response.getProcessedCount(), request.getDecision());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/block-requests/claim")
+    @Operation(
+        summary = "Claim next pending block requests",
+        description = "Reserve the oldest unclaimed pending block requests for the current admin for the claim lease. " +
+                "Concurrent admins always receive disjoint batches"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Block requests claimed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit", content = @Content),
+        @ApiResponse(responseCode = "401", description = "User not authenticated", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Access denied", content = @Content)
+    })
+    public ResponseEntity<List<BlockRequestResponse>> claimBlockRequests(
+            @Parameter(description = "Maximum number of requests to claim", example = "20")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit,
+            Authentication authentication) {
+
+        String adminUsername = ((UserPrincipal) authentication.getPrincipal()).getUsername();
+        return ResponseEntity.ok(blockRequestService.claimNextBlockRequests(adminUsername, limit));
+    }
+
+    @DeleteMapping("/block-requests/claims")
+    @Operation(
+        summary = "Release claimed block requests",
+        description = "Return all pending block requests claimed by the current admin to the queue"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Claims released successfully"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Access denied", content = @Content)
+    })
+    public ResponseEntity<Map<String, Object>> releaseBlockRequestClaims(Authentication authentication) {
+        String adminUsername = ((UserPrincipal) authentication.getPrincipal()).getUsername();
+        int released = blockRequestService.releaseBlockRequestClaims(adminUsername);
+
+        return ResponseEntity.ok(Map.of("releasedCount", released));
+    }
+
     @GetMapping("/block-requests/statistics")
     @Operation(
         summary = "Get block requests statistics",
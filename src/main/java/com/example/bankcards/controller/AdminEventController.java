@@ -0,0 +1,51 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.event.AdminEventStream;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Slf4j
+@RestController
+@RequestMapping("/admin/events")
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('ADMIN')")
+@Tag(name = "Admin Events", description = "Live feed of block request and card status changes")
+@SecurityRequirement(name = "bearerAuth")
+public class AdminEventController {
+
+    private final AdminEventStream adminEventStream;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Subscribe to admin events",
+        description = "Server-Sent Events stream of new block requests, processing decisions and card status changes. " +
+                "Reconnect with Last-Event-ID to receive missed events; a 'reset' event means they are no longer buffered " +
+                "or the reconnect reached another instance, whose feed only carries the changes committed there"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Access denied", content = @Content)
+    })
+    public SseEmitter subscribe(
+            @Parameter(description = "Id of the last event received before reconnecting", example = "3f2a9c1e-42")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        log.debug("Admin event stream subscription: lastEventId={}", lastEventId);
+        return adminEventStream.subscribe(lastEventId);
+    }
+}
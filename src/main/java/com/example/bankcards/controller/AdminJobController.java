@@ -0,0 +1,68 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.JobRunResponse;
+import com.example.bankcards.dto.PageResponse;
+import com.example.bankcards.service.JobLockService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/admin/jobs")
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('ADMIN')")
+@Tag(name = "Admin Jobs", description = "Scheduled job monitoring endpoints")
+@SecurityRequirement(name = "bearerAuth")
+@Validated
+public class AdminJobController {
+
+    private final JobLockService jobLockService;
+
+    @GetMapping("/runs")
+    @Operation(
+        summary = "Get scheduled job runs",
+        description = "Retrieve the history of scheduled job runs across all nodes, newest first"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Job runs retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Access denied", content = @Content)
+    })
+    public ResponseEntity<PageResponse<JobRunResponse>> getJobRuns(
+            @Parameter(description = "Filter by job name", example = "refresh-token-cleanup")
+            @RequestParam(required = false) String jobName,
+            @Parameter(description = "Page number", example = "0")
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+
+        Page<JobRunResponse> runs = jobLockService.getJobRuns(jobName, PageRequest.of(page, size));
+
+        return ResponseEntity.ok(new PageResponse<>(
+                runs.getContent(),
+                runs.getNumber(),
+                runs.getSize(),
+                runs.getTotalElements(),
+                runs.getTotalPages(),
+                runs.isLast()
+        ));
+    }
+}
@@ -9,6 +9,7 @@ import com.example.bankcards.entity.Role;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.exception.RefreshTokenNotFoundException;
 import com.example.bankcards.security.JwtProvider;
+import com.example.bankcards.security.LoginThrottle;
 import com.example.bankcards.security.RefreshTokenProvider;
 import com.example.bankcards.security.UserPrincipal;
 import com.example.bankcards.service.UserManagementService;
@@ -19,20 +20,23 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/auth")
@@ -45,6 +49,7 @@ public class AuthController {
     private final JwtProvider jwtProvider;
     private final RefreshTokenProvider refreshTokenProvider;
     private final UserManagementService userManagementService;
+    private final LoginThrottle loginThrottle;
 
     @PostMapping("/login")
     @Operation(
@@ -55,25 +60,42 @@ public class AuthController {
         @ApiResponse(responseCode = "200", description = "Login successful",
                     content = @Content(schema = @Schema(implementation = TokenResponse.class))),
         @ApiResponse(responseCode = "401", description = "Invalid credentials", content = @Content),
-        @ApiResponse(responseCode = "400", description = "Invalid request format", content = @Content)
+        @ApiResponse(responseCode = "400", description = "Invalid request format", content = @Content),
+        @ApiResponse(responseCode = "429", description = "Too many login attempts", content = @Content)
     })
-    public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest loginRequest,
+                                               HttpServletRequest request) {
         log.info("Login attempt for username: {}", loginRequest.getUsername());
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getUsername(),
-                        loginRequest.getPassword()
-                )
-        );
+        loginThrottle.checkAllowed(loginRequest.getUsername(), request.getRemoteAddr());
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.getUsername(),
+                            loginRequest.getPassword()
+                    )
+            );
+        } catch (InternalAuthenticationServiceException e) {
+            loginThrottle.releaseAttempt(loginRequest.getUsername());
+            throw e;
+        } catch (AuthenticationException e) {
+            // The failure reserved by checkAllowed stays counted
+            throw e;
+        } catch (RuntimeException e) {
+            loginThrottle.releaseAttempt(loginRequest.getUsername());
+            throw e;
+        }
+        loginThrottle.recordSuccess(loginRequest.getUsername());
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User user = userPrincipal.getUser();
 
-        String accessToken = jwtProvider.generateAccessToken(user.getUsername(), createClaimsForUser(user));
-        String refreshToken = refreshTokenProvider.createRefreshToken(user.getUsername());
+        String accessToken = jwtProvider.generateAccessToken(userPrincipal.getUsername(),
+                createClaims(userPrincipal.getRoleNames()));
+        String refreshToken = refreshTokenProvider.createRefreshToken(userPrincipal.getUsername());
 
         TokenResponse tokenResponse = new TokenResponse(accessToken, refreshToken);
         log.info("Login successful for user: {}", loginRequest.getUsername());
@@ -142,17 +164,16 @@ public class AuthController {
     })
     public ResponseEntity<Map<String, Object>> logoutAll(Authentication authentication) {
         if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
-            User user = userPrincipal.getUser();
-            refreshTokenProvider.revokeAllUserTokens(user);
+            refreshTokenProvider.revokeAllUserTokens(userPrincipal.getId());
 
             Map<String, Object> response = Map.of(
                     "message", "All sessions logged out successfully",
-                    "username", user.getUsername(),
+                    "username", userPrincipal.getUsername(),
                     "timestamp", LocalDateTime.now(),
                     "status", "success"
             );
 
-            log.info("All refresh tokens revoked for user: {}", user.getUsername());
+            log.info("All refresh tokens revoked for user: {}", userPrincipal.getUsername());
             return ResponseEntity.ok(response);
         }
 
@@ -177,12 +198,11 @@ public class AuthController {
     })
     public ResponseEntity<Map<String, Object>> getActiveSessions(Authentication authentication) {
         if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
-            User user = userPrincipal.getUser();
-            int activeSessionsCount = refreshTokenProvider.getActiveSessionsCount(user);
+            int activeSessionsCount = refreshTokenProvider.getActiveSessionsCount(userPrincipal.getId());
 
             Map<String, Object> response = Map.of(
                     "activeSessionsCount", activeSessionsCount,
-                    "username", user.getUsername(),
+                    "username", userPrincipal.getUsername(),
                     "timestamp", LocalDateTime.now()
             );
 
@@ -218,9 +238,12 @@ public class AuthController {
     }
 
     private Map<String, Object> createClaimsForUser(User user) {
-        String roles = user.getRoles().stream()
+        return createClaims(user.getRoles().stream()
                 .map(Role::getRoleName)
-                .collect(Collectors.joining(","));
-        return Map.of("roles", roles);
+                .toList());
+    }
+
+    private Map<String, Object> createClaims(Collection<String> roleNames) {
+        return Map.of("roles", String.join(",", roleNames));
     }
 }
@@ -125,7 +125,7 @@ public class UserCardController {
     @GetMapping("/block-requests")
     @Operation(
         summary = "Get my block requests",
-        description = "Retrieve paginated list of block requests for the authenticated user"
+        description = "Retrieve paginated list of block requests for the authenticated user, including archived requests"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Block requests retrieved successfully"),
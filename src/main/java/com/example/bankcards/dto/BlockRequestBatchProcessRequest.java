@@ -0,0 +1,22 @@
+package com.example.bankcards.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BlockRequestBatchProcessRequest {
+    @NotEmpty(message = "Request ids are required")
+    @Size(max = 5000, message = "At most 5000 block requests can be processed at once")
+    private List<@NotNull(message = "Request id must not be null") Long> requestIds;
+
+    @NotBlank(message = "Decision is required")
+    private String decision;
+
+    @Size(max = 500, message = "Admin comment must not exceed 500 characters")
+    private String adminComment;
+}
@@ -0,0 +1,17 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.enums.BlockRequestStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BlockRequestBatchProcessResponse {
+    private BlockRequestStatus status;
+    private int requestedCount;
+    private int processedCount;
+    private int blockedCardsCount;
+    private List<Long> skippedRequestIds;
+}
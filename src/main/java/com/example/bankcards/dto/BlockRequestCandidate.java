@@ -0,0 +1,17 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.enums.CardStatus;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class BlockRequestCandidate {
+    private final Long id;
+    private final String reason;
+    private final CardStatus cardStatus;
+    private final Long userId;
+    private final Instant createdAt;
+    private long recentUserRequests;
+    private long rejectedUserRequests;
+}
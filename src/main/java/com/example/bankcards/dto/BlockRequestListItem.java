@@ -0,0 +1,21 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.enums.BlockRequestStatus;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class BlockRequestListItem {
+    private final Long id;
+    private final Long cardId;
+    private final String encryptedCardNumber;
+    private final String reason;
+    private final BlockRequestStatus status;
+    private final Instant createdAt;
+    private final Instant processedAt;
+    private final String processedByAdmin;
+    private final String adminComment;
+    private final Long claimedByAdminId;
+    private final Instant claimExpiresAt;
+}
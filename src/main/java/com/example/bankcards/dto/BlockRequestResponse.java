@@ -16,4 +16,6 @@ public class BlockRequestResponse {
     private Instant processedAt;
     private String processedByAdmin;
     private String adminComment;
+    private Long claimedByAdminId;
+    private Instant claimExpiresAt;
 }
@@ -0,0 +1,13 @@
+package com.example.bankcards.dto;
+
+import lombok.Data;
+
+@Data
+public class CacheRegionStatsResponse {
+    private String region;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private Double hitRatio;
+    private Long elementCount;
+}
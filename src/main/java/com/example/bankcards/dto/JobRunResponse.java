@@ -0,0 +1,18 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.enums.JobRunStatus;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class JobRunResponse {
+    private Long id;
+    private String jobName;
+    private String nodeId;
+    private JobRunStatus status;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Long durationMs;
+    private String details;
+}
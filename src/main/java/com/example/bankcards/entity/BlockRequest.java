@@ -16,7 +16,8 @@ import java.time.Instant;
 @ToString
 public class BlockRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "block_requests_id_seq")
+    @SequenceGenerator(name = "block_requests_id_seq", sequenceName = "block_requests_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -47,6 +48,16 @@ public class BlockRequest {
     @Column(length = 500)
     private String adminComment;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "claimed_by_admin_id")
+    private User claimedByAdmin;
+
+    @Column
+    private Instant claimExpiresAt;
+
+    @Column
+    private Instant autoEvaluatedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = Instant.now();
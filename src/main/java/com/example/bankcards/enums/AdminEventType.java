@@ -0,0 +1,7 @@
+package com.example.bankcards.enums;
+
+public enum AdminEventType {
+    BLOCK_REQUEST_CREATED,
+    BLOCK_REQUEST_PROCESSED,
+    CARD_STATUS_CHANGED
+}
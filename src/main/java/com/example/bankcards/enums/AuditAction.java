@@ -0,0 +1,22 @@
+package com.example.bankcards.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum AuditAction {
+    CARD_CREATED("CARD"),
+    CARD_BLOCKED("CARD"),
+    CARD_ACTIVATED("CARD"),
+    CARD_DELETED("CARD"),
+    CARD_BALANCE_UPDATED("CARD"),
+    BLOCK_REQUEST_PROCESSED("BLOCK_REQUEST"),
+    USER_CREATED("USER"),
+    USER_ENABLED("USER"),
+    USER_DISABLED("USER"),
+    USER_ROLES_UPDATED("USER"),
+    USER_DELETED("USER");
+
+    private final String targetType;
+}
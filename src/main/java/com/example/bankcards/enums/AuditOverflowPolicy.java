@@ -0,0 +1,6 @@
+package com.example.bankcards.enums;
+
+public enum AuditOverflowPolicy {
+    BLOCK,
+    DROP
+}
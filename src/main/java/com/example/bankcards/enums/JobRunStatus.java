@@ -0,0 +1,7 @@
+package com.example.bankcards.enums;
+
+public enum JobRunStatus {
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,13 @@
+package com.example.bankcards.enums;
+
+public enum OutboxEventType {
+    CARD_CREATED,
+    CARD_BLOCKED,
+    CARD_ACTIVATED,
+    CARD_DELETED,
+    CARD_BALANCE_UPDATED,
+    TRANSFER_DEBITED,
+    TRANSFER_CREDITED,
+    BLOCK_REQUEST_CREATED,
+    BLOCK_REQUEST_PROCESSED
+}
@@ -0,0 +1,36 @@
+package com.example.bankcards.event;
+
+import com.example.bankcards.enums.AdminEventType;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+public class AdminEvent {
+    private final AdminEventType type;
+    private final String status;
+    private final List<Long> blockRequestIds;
+    private final List<Long> cardIds;
+    private final Instant occurredAt;
+
+    private AdminEvent(AdminEventType type, String status, List<Long> blockRequestIds, List<Long> cardIds) {
+        this.type = type;
+        this.status = status;
+        this.blockRequestIds = List.copyOf(blockRequestIds);
+        this.cardIds = List.copyOf(cardIds);
+        this.occurredAt = Instant.now();
+    }
+
+    public static AdminEvent blockRequestCreated(Long blockRequestId, Long cardId) {
+        return new AdminEvent(AdminEventType.BLOCK_REQUEST_CREATED, "PENDING", List.of(blockRequestId), List.of(cardId));
+    }
+
+    public static AdminEvent blockRequestsProcessed(String status, List<Long> blockRequestIds) {
+        return new AdminEvent(AdminEventType.BLOCK_REQUEST_PROCESSED, status, blockRequestIds, List.of());
+    }
+
+    public static AdminEvent cardStatusChanged(String status, List<Long> cardIds) {
+        return new AdminEvent(AdminEventType.CARD_STATUS_CHANGED, status, List.of(), cardIds);
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.bankcards.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Events are received only after the publishing transaction commits, so subscribers never see rolled back
+// decisions. Sends happen on a single dispatcher thread so a slow client cannot hold up the committing request.
+// The feed is per node: a subscriber receives the events committed on the node holding its stream, and event ids
+// carry a random per-process prefix. A reconnect that lands on another node, or on this one after a restart,
+// gets a reset instead of a replay of unrelated events with the same sequence number
+@Slf4j
+@Component
+public class AdminEventStream {
+
+    static final String RESET_EVENT = "reset";
+    private static final char ID_SEPARATOR = '-';
+
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+    private final AdminEvent[] events;
+    private final long emitterTimeoutMs;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "admin-event-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Counter publishedEvents;
+    private final Counter droppedSubscribers;
+
+    private long lastId = 0;
+
+    public AdminEventStream(MeterRegistry meterRegistry,
+                            @Value("${app.admin-events.buffer-size:1000}") int bufferSize,
+                            @Value("${app.admin-events.emitter-timeout:1800000}") long emitterTimeoutMs) {
+        this.events = new AdminEvent[bufferSize];
+        this.emitterTimeoutMs = emitterTimeoutMs;
+
+        this.publishedEvents = Counter.builder("admin.events.published")
+                .description("Admin events recorded after commit")
+                .register(meterRegistry);
+        this.droppedSubscribers = Counter.builder("admin.events.subscribers.dropped")
+                .description("Admin event subscribers removed after a failed send")
+                .register(meterRegistry);
+        Gauge.builder("admin.events.subscribers", emitters, List::size)
+                .description("Open admin event streams")
+                .register(meterRegistry);
+
+        log.info("Admin event stream initialized: bufferSize={}, emitterTimeout={}ms", bufferSize, emitterTimeoutMs);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEvent(AdminEvent event) {
+        publishedEvents.increment();
+        // Numbering on the dispatcher keeps a replay from also receiving the broadcast of the same event
+        dispatcher.execute(() -> broadcast(append(event), event));
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+
+        // Replay runs on the dispatcher so it cannot interleave with a broadcast of a newer event
+        dispatcher.execute(() -> {
+            if (replay(emitter, lastEventId)) {
+                emitters.add(emitter);
+            }
+        });
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${app.admin-events.heartbeat-interval:15000}")
+    public void heartbeat() {
+        if (!emitters.isEmpty()) {
+            dispatcher.execute(() -> emitters.forEach(emitter ->
+                    send(emitter, SseEmitter.event().comment("heartbeat"))));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        emitters.forEach(SseEmitter::complete);
+        dispatcher.shutdownNow();
+    }
+
+    synchronized long append(AdminEvent event) {
+        long id = ++lastId;
+        events[(int) (id % events.length)] = event;
+        return id;
+    }
+
+    String eventId(long id) {
+        return instanceId + ID_SEPARATOR + id;
+    }
+
+    // Returns null for an id this process did not issue: another node's, one from before a restart, or garbage
+    Long localSequence(String lastEventId) {
+        String prefix = instanceId + ID_SEPARATOR;
+        if (!lastEventId.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Returns null when events after lastEventId have already been overwritten and the client must reload
+    synchronized List<BufferedEvent> eventsAfter(long lastEventId) {
+        long oldestId = Math.max(1, lastId - events.length + 1);
+        if (lastEventId > lastId || lastEventId < oldestId - 1) {
+            return null;
+        }
+
+        List<BufferedEvent> result = new ArrayList<>((int) (lastId - lastEventId));
+        for (long id = lastEventId + 1; id <= lastId; id++) {
+            result.add(new BufferedEvent(id, events[(int) (id % events.length)]));
+        }
+        return result;
+    }
+
+    private boolean replay(SseEmitter emitter, String lastEventId) {
+        if (lastEventId == null) {
+            return send(emitter, SseEmitter.event().comment("connected"));
+        }
+
+        Long sequence = localSequence(lastEventId);
+        List<BufferedEvent> missed = sequence != null ? eventsAfter(sequence) : null;
+        if (missed == null) {
+            log.debug("Last-Event-ID {} is not buffered on this node, asking the client to reload", lastEventId);
+            return send(emitter, SseEmitter.event().id(eventId(currentId())).name(RESET_EVENT).data(""));
+        }
+        for (BufferedEvent buffered : missed) {
+            if (!send(emitter, toSse(buffered.getId(), buffered.getEvent()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void broadcast(long id, AdminEvent event) {
+        for (SseEmitter emitter : emitters) {
+            send(emitter, toSse(id, event));
+        }
+    }
+
+    private boolean send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            if (emitters.remove(emitter)) {
+                droppedSubscribers.increment();
+            }
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toSse(long id, AdminEvent event) {
+        return SseEmitter.event()
+                .id(eventId(id))
+                .name(event.getType().name())
+                .data(event, MediaType.APPLICATION_JSON);
+    }
+
+    private synchronized long currentId() {
+        return lastId;
+    }
+
+    @Getter
+    static class BufferedEvent {
+        private final long id;
+        private final AdminEvent event;
+
+        private BufferedEvent(long id, AdminEvent event) {
+            this.id = id;
+            this.event = event;
+        }
+    }
+}
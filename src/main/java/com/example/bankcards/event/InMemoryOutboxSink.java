@@ -0,0 +1,48 @@
+package com.example.bankcards.event;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// For tests and local runs: keeps every delivered event in the heap and, like a well-behaved consumer,
+// ignores redeliveries of an id it has already seen
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final Map<Long, OutboxEvent> events = new LinkedHashMap<>();
+    private long duplicates;
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> batch) {
+        for (OutboxEvent event : batch) {
+            if (events.putIfAbsent(event.getId(), event) != null) {
+                duplicates++;
+            }
+        }
+    }
+
+    public synchronized List<OutboxEvent> getEvents() {
+        return new ArrayList<>(events.values());
+    }
+
+    public synchronized List<OutboxEvent> getEventsForCard(Long cardId) {
+        return events.values().stream()
+                .filter(event -> OutboxEvent.AGGREGATE_CARD.equals(event.getAggregateType())
+                        && event.getAggregateId().equals(cardId))
+                .toList();
+    }
+
+    public synchronized long getDuplicates() {
+        return duplicates;
+    }
+
+    public synchronized void clear() {
+        events.clear();
+        duplicates = 0;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.bankcards.event;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// One JSON object per line, appended to a single file. A batch is encoded in memory and written with one
+// write call, then optionally forced to disk before the relay deletes its rows
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "sink", havingValue = "ndjson", matchIfMissing = true)
+public class NdjsonFileOutboxSink implements OutboxSink, DisposableBean {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final boolean fsync;
+    private final FileChannel channel;
+
+    public NdjsonFileOutboxSink(ObjectMapper objectMapper,
+                                @Value("${app.outbox.ndjson.path:outbox/events.ndjson}") String path,
+                                @Value("${app.outbox.ndjson.fsync:true}") boolean fsync) throws IOException {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(path).toAbsolutePath();
+        this.fsync = fsync;
+        Files.createDirectories(this.path.getParent());
+        this.channel = FileChannel.open(this.path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        log.info("Outbox events are appended to {} (fsync={})", this.path, fsync);
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(encode(events));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append outbox events to " + path, e);
+        }
+    }
+
+    @Override
+    public synchronized void destroy() throws IOException {
+        channel.close();
+    }
+
+    private byte[] encode(List<OutboxEvent> events) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(events.size() * 256);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            for (OutboxEvent event : events) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", event.getId());
+                generator.writeStringField("aggregateType", event.getAggregateType());
+                generator.writeNumberField("aggregateId", event.getAggregateId());
+                generator.writeStringField("type", event.getType().name());
+                generator.writeStringField("occurredAt", event.getOccurredAt().toString());
+                generator.writeFieldName("payload");
+                generator.writeRawValue(event.getPayload());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.bankcards.event;
+
+import com.example.bankcards.enums.OutboxEventType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+// id is assigned on insert and doubles as the idempotency key downstream; payload is a JSON document
+@Getter
+@AllArgsConstructor
+public class OutboxEvent {
+    public static final String AGGREGATE_CARD = "CARD";
+
+    private final Long id;
+    private final String aggregateType;
+    private final Long aggregateId;
+    private final OutboxEventType type;
+    private final String payload;
+    private final Instant occurredAt;
+
+    public static OutboxEvent forCard(OutboxEventType type, Long cardId, String payload) {
+        return new OutboxEvent(null, AGGREGATE_CARD, cardId, type, payload, null);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.bankcards.event;
+
+import java.util.List;
+
+// Receives each relayed batch in id order; the rows are deleted only after publish returns,
+// so a failure or crash redelivers the batch and consumers dedupe by event id
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events);
+}
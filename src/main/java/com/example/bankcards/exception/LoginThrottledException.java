@@ -0,0 +1,17 @@
+package com.example.bankcards.exception;
+
+import lombok.Getter;
+
+@Getter
+public class LoginThrottledException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public static LoginThrottledException tooManyAttempts(long retryAfterSeconds) {
+        return new LoginThrottledException("Too many login attempts, please retry later", retryAfterSeconds);
+    }
+}
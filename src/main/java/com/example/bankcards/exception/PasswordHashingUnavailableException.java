@@ -0,0 +1,21 @@
+package com.example.bankcards.exception;
+
+import lombok.Getter;
+
+@Getter
+public class PasswordHashingUnavailableException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public PasswordHashingUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public static PasswordHashingUnavailableException saturated(long retryAfterSeconds) {
+        return new PasswordHashingUnavailableException("Authentication service is busy, please retry later", retryAfterSeconds);
+    }
+
+    public static PasswordHashingUnavailableException timedOut(long retryAfterSeconds) {
+        return new PasswordHashingUnavailableException("Authentication request timed out, please retry later", retryAfterSeconds);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.dto.BlockRequestListItem;
+import com.example.bankcards.enums.BlockRequestStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Listings over block_requests and block_requests_archive together. Plain JDBC so the WHERE clause only holds the
+// filters actually given: "param IS NULL OR column = param" predicates stop matching the indexes once PostgreSQL
+// switches the prepared statement to a generic plan
+@Repository
+@RequiredArgsConstructor
+public class BlockRequestListingRepository {
+
+    private static final String HOT_SELECT = """
+            SELECT br.id, br.card_id, c.encrypted_number, br.reason, br.status, br.created_at, br.processed_at,
+                   pa.username AS processed_by_admin, br.admin_comment, br.claimed_by_admin_id, br.claim_expires_at
+            FROM block_requests br
+            JOIN cards c ON c.id = br.card_id
+            LEFT JOIN users pa ON pa.id = br.processed_by_admin_id
+            """;
+
+    // Archived requests are processed, so they never carry a claim
+    private static final String ARCHIVE_SELECT = """
+            SELECT br.id, br.card_id, c.encrypted_number, br.reason, br.status, br.created_at, br.processed_at,
+                   pa.username AS processed_by_admin, br.admin_comment, NULL::bigint AS claimed_by_admin_id,
+                   NULL::timestamptz AS claim_expires_at
+            FROM block_requests_archive br
+            JOIN cards c ON c.id = br.card_id
+            LEFT JOIN users pa ON pa.id = br.processed_by_admin_id
+            """;
+
+    private static final String ORDER_BY = "ORDER BY created_at DESC, id DESC";
+
+    private static final RowMapper<BlockRequestListItem> ROW_MAPPER = (rs, rowNum) -> new BlockRequestListItem(
+            rs.getLong("id"),
+            rs.getLong("card_id"),
+            rs.getString("encrypted_number"),
+            rs.getString("reason"),
+            BlockRequestStatus.valueOf(rs.getString("status")),
+            instant(rs, "created_at"),
+            instant(rs, "processed_at"),
+            rs.getString("processed_by_admin"),
+            rs.getString("admin_comment"),
+            rs.getObject("claimed_by_admin_id", Long.class),
+            instant(rs, "claim_expires_at"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Every filter is optional. Each table returns at most offset + size rows in listing order, so both halves can
+    // stop early on their created_at indexes instead of the union being sorted as a whole
+    public Page<BlockRequestListItem> findListItemsWithArchive(BlockRequestStatus status, Long userId,
+                                                               Instant from, Instant to, Pageable pageable) {
+        List<String> predicates = new ArrayList<>();
+        List<Object> filterArgs = new ArrayList<>();
+        if (status != null) {
+            predicates.add("br.status = ?");
+            filterArgs.add(status.name());
+        }
+        if (userId != null) {
+            predicates.add("br.user_id = ?");
+            filterArgs.add(userId);
+        }
+        if (from != null) {
+            predicates.add("br.created_at >= ?");
+            filterArgs.add(OffsetDateTime.ofInstant(from, ZoneOffset.UTC));
+        }
+        if (to != null) {
+            predicates.add("br.created_at < ?");
+            filterArgs.add(OffsetDateTime.ofInstant(to, ZoneOffset.UTC));
+        }
+        String where = predicates.isEmpty() ? "" : "WHERE " + String.join(" AND ", predicates) + "\n";
+        long branchLimit = pageable.getOffset() + pageable.getPageSize();
+
+        String listSql = "SELECT * FROM (\n"
+                + "(" + HOT_SELECT + where + "ORDER BY br.created_at DESC, br.id DESC LIMIT ?)\n"
+                + "UNION ALL\n"
+                + "(" + ARCHIVE_SELECT + where + "ORDER BY br.created_at DESC, br.id DESC LIMIT ?)\n"
+                + ") listing\n" + ORDER_BY + " LIMIT ? OFFSET ?";
+        List<Object> listArgs = new ArrayList<>(filterArgs);
+        listArgs.add(branchLimit);
+        listArgs.addAll(filterArgs);
+        listArgs.add(branchLimit);
+        listArgs.add(pageable.getPageSize());
+        listArgs.add(pageable.getOffset());
+        List<BlockRequestListItem> content = jdbcTemplate.query(listSql, ROW_MAPPER, listArgs.toArray());
+
+        String countSql = "SELECT (SELECT COUNT(*) FROM block_requests br " + where + ")"
+                + " + (SELECT COUNT(*) FROM block_requests_archive br " + where + ")";
+        List<Object> countArgs = new ArrayList<>(filterArgs);
+        countArgs.addAll(filterArgs);
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> jdbcTemplate.queryForObject(countSql, Long.class, countArgs.toArray()));
+    }
+
+    // Archived rows stay part of the totals, so an archive run does not change the statistics
+    public Map<BlockRequestStatus, Long> countByStatusWithArchive() {
+        Map<BlockRequestStatus, Long> counts = new EnumMap<>(BlockRequestStatus.class);
+        jdbcTemplate.query("""
+                SELECT status, SUM(n) AS n FROM (
+                    SELECT status, COUNT(*) AS n FROM block_requests GROUP BY status
+                    UNION ALL
+                    SELECT status, COUNT(*) AS n FROM block_requests_archive GROUP BY status
+                ) counts
+                GROUP BY status
+                """, rs -> {
+            counts.put(BlockRequestStatus.valueOf(rs.getString("status")), rs.getLong("n"));
+        });
+        return counts;
+    }
+
+    private static Instant instant(ResultSet rs, String column) throws SQLException {
+        OffsetDateTime value = rs.getObject(column, OffsetDateTime.class);
+        return value != null ? value.toInstant() : null;
+    }
+}
@@ -1,32 +1,182 @@
 package com.example.bankcards.repository;
 
+import com.example.bankcards.dto.BlockRequestCandidate;
+import com.example.bankcards.dto.BlockRequestListItem;
 import com.example.bankcards.entity.BlockRequest;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.enums.BlockRequestStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BlockRequestRepository extends JpaRepository<BlockRequest, Long> {
 
-    Page<BlockRequest> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
+    // Listing rows are read as projections joined in one statement; mapping entities would load the lazy
+    // card and processing admin per row, and each card eagerly pulls its owner and roles on top
+    String LIST_ITEM_SELECT = "SELECT new com.example.bankcards.dto.BlockRequestListItem(" +
+            "br.id, c.id, c.encryptedNumber, br.reason, br.status, br.createdAt, br.processedAt, " +
+            "pa.username, br.adminComment, br.claimedByAdmin.id, br.claimExpiresAt) " +
+            "FROM BlockRequest br JOIN br.card c LEFT JOIN br.processedByAdmin pa ";
 
-    Page<BlockRequest> findByStatusOrderByCreatedAtDesc(BlockRequestStatus status, Pageable pageable);
+    @Query(value = LIST_ITEM_SELECT + "WHERE br.user = :user ORDER BY br.createdAt DESC, br.id DESC",
+            countQuery = "SELECT COUNT(br) FROM BlockRequest br WHERE br.user = :user")
+    Page<BlockRequestListItem> findListItemsByUser(@Param("user") User user, Pageable pageable);
 
-    Optional<BlockRequest> findByCardAndStatus(Card card, BlockRequestStatus status);
+    @Query(value = LIST_ITEM_SELECT + "WHERE br.status = :status ORDER BY br.createdAt DESC, br.id DESC",
+            countQuery = "SELECT COUNT(br) FROM BlockRequest br WHERE br.status = :status")
+    Page<BlockRequestListItem> findListItemsByStatus(@Param("status") BlockRequestStatus status, Pageable pageable);
+
+    @Query(value = LIST_ITEM_SELECT + "ORDER BY br.createdAt DESC, br.id DESC",
+            countQuery = "SELECT COUNT(br) FROM BlockRequest br")
+    Page<BlockRequestListItem> findAllListItems(Pageable pageable);
+
+    @Query(value = LIST_ITEM_SELECT + "WHERE br.createdAt >= :from AND br.createdAt < :to " +
+            "ORDER BY br.createdAt DESC, br.id DESC",
+            countQuery = "SELECT COUNT(br) FROM BlockRequest br WHERE br.createdAt >= :from AND br.createdAt < :to")
+    Page<BlockRequestListItem> findListItemsInRange(@Param("from") Instant from,
+                                                    @Param("to") Instant to,
+                                                    Pageable pageable);
 
-    boolean existsByCardAndStatus(Card card, BlockRequestStatus status);
+    @Query(value = LIST_ITEM_SELECT + "WHERE br.status = :status AND br.createdAt >= :from AND br.createdAt < :to " +
+            "ORDER BY br.createdAt DESC, br.id DESC",
+            countQuery = "SELECT COUNT(br) FROM BlockRequest br WHERE br.status = :status " +
+                    "AND br.createdAt >= :from AND br.createdAt < :to")
+    Page<BlockRequestListItem> findListItemsByStatusInRange(@Param("status") BlockRequestStatus status,
+                                                            @Param("from") Instant from,
+                                                            @Param("to") Instant to,
+                                                            Pageable pageable);
+
+    // Moves one chunk of old processed requests in a single statement; SKIP LOCKED leaves rows that a
+    // concurrent decision or claim release is still touching for the next chunk. The declared table keeps
+    // Hibernate from treating the statement as touching every table and clearing the second-level cache
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "block_requests"))
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM block_requests
+                WHERE id IN (
+                    SELECT id FROM block_requests
+                    WHERE status <> 'PENDING' AND processed_at < :cutoff
+                    ORDER BY processed_at
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING id, card_id, user_id, reason, status, created_at, processed_at,
+                          processed_by_admin_id, admin_comment
+            )
+            INSERT INTO block_requests_archive (id, card_id, user_id, reason, status, created_at, processed_at,
+                                                processed_by_admin_id, admin_comment)
+            SELECT id, card_id, user_id, reason, status, created_at, processed_at, processed_by_admin_id, admin_comment
+            FROM moved
+            """, nativeQuery = true)
+    int archiveProcessedChunk(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    Optional<BlockRequest> findByCardAndStatus(Card card, BlockRequestStatus status);
 
     List<BlockRequest> findByUserAndStatus(User user, BlockRequestStatus status);
 
+    // Locks the pending rows so a concurrent single or batch decision cannot process them twice;
+    // requests under another admin's live claim are left alone
+    @Query(value = """
+            SELECT br.id, br.card_id FROM block_requests br
+            WHERE br.id IN (:ids) AND br.status = 'PENDING'
+              AND (br.claim_expires_at IS NULL OR br.claim_expires_at <= now() OR br.claimed_by_admin_id = :adminId)
+            ORDER BY br.id
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<Object[]> lockPendingIdsWithCardIds(@Param("ids") Collection<Long> ids, @Param("adminId") Long adminId);
+
+    // Read without a lock so the service can lock the cards before the requests
+    @Query("SELECT br.card.id FROM BlockRequest br WHERE br.id = :id")
+    Optional<Long> findCardIdById(@Param("id") Long id);
+
+    @Query("SELECT DISTINCT br.card.id FROM BlockRequest br WHERE br.id IN :ids AND br.status = 'PENDING'")
+    List<Long> findPendingCardIds(@Param("ids") Collection<Long> ids);
+
+    // Single decisions take the same row lock as lockPendingIdsWithCardIds, so a decision that waited
+    // for a concurrent one sees its committed status instead of overwriting it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT br FROM BlockRequest br WHERE br.id = :id")
+    Optional<BlockRequest> findByIdForUpdate(@Param("id") Long id);
+
+    // Oldest unclaimed first; SKIP LOCKED lets concurrent claimers walk past each other's rows instead of queueing
+    @Query(value = """
+            WITH next AS (
+                SELECT id FROM block_requests
+                WHERE status = 'PENDING' AND (claim_expires_at IS NULL OR claim_expires_at <= now())
+                ORDER BY created_at, id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ), claimed AS (
+                UPDATE block_requests br
+                SET claimed_by_admin_id = :adminId, claim_expires_at = now() + :leaseMs * interval '1 millisecond'
+                FROM next
+                WHERE br.id = next.id
+                RETURNING br.id
+            )
+            SELECT id FROM claimed
+            """, nativeQuery = true)
+    List<Long> claimNextPending(@Param("adminId") Long adminId, @Param("limit") int limit, @Param("leaseMs") long leaseMs);
+
+    @Query("SELECT br FROM BlockRequest br JOIN FETCH br.card WHERE br.id IN :ids ORDER BY br.createdAt, br.id")
+    List<BlockRequest> findAllWithCardByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE BlockRequest br SET br.claimedByAdmin = null, br.claimExpiresAt = null " +
+            "WHERE br.claimedByAdmin = :admin AND br.status = :status")
+    int releaseClaims(@Param("admin") User admin, @Param("status") BlockRequestStatus status);
+
+    @Modifying
+    @Query("UPDATE BlockRequest br SET br.status = :status, br.processedAt = :processedAt, " +
+            "br.processedByAdmin = :admin, br.adminComment = :adminComment, " +
+            "br.claimedByAdmin = null, br.claimExpiresAt = null WHERE br.id IN :ids")
+    int applyDecision(@Param("ids") Collection<Long> ids,
+                      @Param("status") BlockRequestStatus status,
+                      @Param("processedAt") Instant processedAt,
+                      @Param("admin") User admin,
+                      @Param("adminComment") String adminComment);
+
+    // Pending requests no rule run has looked at yet. Requests under a live claim are left to the admin holding it
+    // and come back once the claim is released or expires
+    @Query("SELECT new com.example.bankcards.dto.BlockRequestCandidate(br.id, br.reason, c.status, br.user.id, br.createdAt) " +
+            "FROM BlockRequest br JOIN br.card c " +
+            "WHERE br.status = com.example.bankcards.enums.BlockRequestStatus.PENDING AND br.autoEvaluatedAt IS NULL " +
+            "AND (br.claimExpiresAt IS NULL OR br.claimExpiresAt <= :now) " +
+            "ORDER BY br.createdAt, br.id")
+    List<BlockRequestCandidate> findUnevaluatedPendingCandidates(@Param("now") Instant now, Pageable pageable);
+
+    // Requests claimed since they were read stay unmarked, so they are evaluated again after the claim
+    @Modifying
+    @Transactional
+    @Query("UPDATE BlockRequest br SET br.autoEvaluatedAt = :now " +
+            "WHERE br.id IN :ids AND br.status = com.example.bankcards.enums.BlockRequestStatus.PENDING " +
+            "AND (br.claimExpiresAt IS NULL OR br.claimExpiresAt <= :now)")
+    int markAutoEvaluated(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Query("SELECT br.user.id, " +
+            "SUM(CASE WHEN br.createdAt >= :since THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN br.status = com.example.bankcards.enums.BlockRequestStatus.REJECTED THEN 1 ELSE 0 END) " +
+            "FROM BlockRequest br WHERE br.user.id IN :userIds GROUP BY br.user.id")
+    List<Object[]> summarizeHistoryByUserIds(@Param("userIds") Collection<Long> userIds, @Param("since") Instant since);
+
     @Query("SELECT COUNT(br) FROM BlockRequest br WHERE br.status = :status")
     long countByStatus(@Param("status") BlockRequestStatus status);
 }
@@ -5,10 +5,12 @@ import com.example.bankcards.entity.User;
 import com.example.bankcards.enums.CardStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +30,13 @@ public interface CardRepository extends JpaRepository<Card, Long>, JpaSpecificat
     List<Card> findActiveCardsByUsername(@Param("username") String username);
 
     boolean existsByEncryptedNumber(String encryptedNumber);
+
+    // For changes that append outbox events without updating the card. NO KEY UPDATE still lets other
+    // transactions insert rows referencing the card
+    @Query(value = "SELECT id FROM cards WHERE id IN (:ids) ORDER BY id FOR NO KEY UPDATE", nativeQuery = true)
+    List<Long> lockIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Card c SET c.status = :status WHERE c.id IN :ids AND c.status <> :status")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("status") CardStatus status);
 }
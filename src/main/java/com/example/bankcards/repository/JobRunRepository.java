@@ -0,0 +1,15 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.JobRun;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    Page<JobRun> findAllByOrderByStartedAtDesc(Pageable pageable);
+
+    Page<JobRun> findByJobNameOrderByStartedAtDesc(String jobName, Pageable pageable);
+}
@@ -0,0 +1,76 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.enums.OutboxEventType;
+import com.example.bankcards.event.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+// Plain JDBC: events are written as one multi-row insert and relayed rows are locked, read and deleted
+// in bulk, none of which needs entity state
+@Repository
+@RequiredArgsConstructor
+public class OutboxEventRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload)
+            VALUES (?, ?, ?, CAST(? AS jsonb))
+            """;
+
+    // Locks the oldest rows no other relay holds, then cuts each card's events at its first row outside the
+    // batch. Below the batch's highest id such a row can only be one another relay has locked, and delivering
+    // past it would reorder that card's events; the probe walks the aggregate index once per card, not per row
+    private static final String LOCK_NEXT_BATCH_SQL = """
+            WITH batch AS (
+                SELECT id, aggregate_type, aggregate_id, event_type, payload, occurred_at
+                FROM outbox_events
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), aggregates AS MATERIALIZED (
+                SELECT a.aggregate_type, a.aggregate_id, (
+                    SELECT o.id FROM outbox_events o
+                    WHERE o.aggregate_type = a.aggregate_type AND o.aggregate_id = a.aggregate_id
+                      AND o.id NOT IN (SELECT id FROM batch)
+                    ORDER BY o.id
+                    LIMIT 1
+                ) AS first_outside_id
+                FROM (SELECT DISTINCT aggregate_type, aggregate_id FROM batch) a
+            )
+            SELECT b.id, b.aggregate_type, b.aggregate_id, b.event_type, b.payload::text AS payload, b.occurred_at
+            FROM batch b
+            JOIN aggregates a ON a.aggregate_type = b.aggregate_type AND a.aggregate_id = b.aggregate_id
+            WHERE a.first_outside_id IS NULL OR b.id < a.first_outside_id
+            ORDER BY b.id
+            """;
+
+    private static final RowMapper<OutboxEvent> ROW_MAPPER = (rs, rowNum) -> new OutboxEvent(
+            rs.getLong("id"),
+            rs.getString("aggregate_type"),
+            rs.getLong("aggregate_id"),
+            OutboxEventType.valueOf(rs.getString("event_type")),
+            rs.getString("payload"),
+            rs.getObject("occurred_at", OffsetDateTime.class).toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events.stream()
+                .map(event -> new Object[]{
+                        event.getAggregateType(), event.getAggregateId(), event.getType().name(), event.getPayload()})
+                .toList());
+    }
+
+    // Must run inside a transaction: the row locks are what keeps concurrent relays off this batch
+    public List<OutboxEvent> lockNextBatch(int limit) {
+        return jdbcTemplate.query(LOCK_NEXT_BATCH_SQL, ROW_MAPPER, limit);
+    }
+
+    public int deleteByIds(List<Long> ids) {
+        return jdbcTemplate.update("DELETE FROM outbox_events WHERE id = ANY(?)", (Object) ids.toArray(Long[]::new));
+    }
+}
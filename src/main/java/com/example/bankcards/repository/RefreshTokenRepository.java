@@ -2,15 +2,17 @@ package com.example.bankcards.repository;
 
 import com.example.bankcards.entity.RefreshToken;
 import com.example.bankcards.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -33,15 +35,45 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
 
     @Modifying
     @Transactional
-    @Query("DELETE FROM RefreshToken r WHERE r.revoked = true AND r.expiresAt < :expiryTime")
-    void deleteExpiredAndRevoked(@Param("expiryTime") Instant expiryTime);
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.user.id = :userId AND r.revoked = false")
+    void revokeAllByUserId(@Param("userId") Long userId);
 
-    @Query("SELECT COUNT(r) FROM RefreshToken r WHERE r.revoked = true AND r.expiresAt < :expiryTime")
-    int countExpiredAndRevoked(@Param("expiryTime") Instant expiryTime);
+    // Without a declared table a native update evicts the whole second-level cache
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Query(value = """
+            DELETE FROM refresh_tokens
+            WHERE id IN (
+                SELECT id FROM refresh_tokens
+                WHERE revoked = true AND expires_at < :expiryTime
+                LIMIT :limit
+            )
+            """, nativeQuery = true)
+    int deleteExpiredAndRevokedChunk(@Param("expiryTime") Instant expiryTime, @Param("limit") int limit);
 
-    @Query("SELECT COUNT(r) FROM RefreshToken r WHERE r.user = :user AND r.revoked = false AND r.expiresAt > :now")
-    int countActiveByUser(@Param("user") User user, @Param("now") Instant now);
+    @Query("SELECT COUNT(r) FROM RefreshToken r WHERE r.user.id = :userId AND r.revoked = false AND r.expiresAt > :now")
+    int countActiveByUserId(@Param("userId") Long userId, @Param("now") Instant now);
 
-    @Query("SELECT r FROM RefreshToken r WHERE r.user = :user AND r.revoked = false AND r.expiresAt > :now ORDER BY r.createdAt DESC")
-    List<RefreshToken> findActiveByUser(@Param("user") User user, @Param("now") Instant now);
+    @Query(value = """
+            WITH revoked AS (
+                UPDATE refresh_tokens SET revoked = true
+                WHERE id IN (
+                    SELECT id FROM refresh_tokens
+                    WHERE user_id = :userId AND revoked = false AND expires_at > :now
+                    ORDER BY created_at DESC, id DESC
+                    OFFSET :keep
+                )
+                RETURNING id
+            ), inserted AS (
+                INSERT INTO refresh_tokens (user_id, token_hash, expires_at, created_at, revoked)
+                VALUES (:userId, :tokenHash, :expiresAt, :now, false)
+            )
+            SELECT COUNT(*) FROM revoked
+            """, nativeQuery = true)
+    int revokeExcessAndInsert(@Param("userId") Long userId,
+                              @Param("tokenHash") String tokenHash,
+                              @Param("expiresAt") Instant expiresAt,
+                              @Param("now") Instant now,
+                              @Param("keep") int keep);
 }
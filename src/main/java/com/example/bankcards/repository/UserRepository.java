@@ -2,6 +2,8 @@ package com.example.bankcards.repository;
 
 import com.example.bankcards.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,4 +12,12 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Integer> {
 
     Optional<User> findByUsername(String username);
+
+    // Reads the roles from user_roles instead of the user-roles cache region, which another node may hold stale:
+    // a principal built from it would stay cached for a further app.principal-cache.ttl
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.username = :username")
+    Optional<User> findWithRolesByUsername(@Param("username") String username);
+
+    @Query(value = "SELECT id FROM users WHERE username = :username FOR NO KEY UPDATE", nativeQuery = true)
+    Optional<Long> lockIdByUsername(@Param("username") String username);
 }
\ No newline at end of file
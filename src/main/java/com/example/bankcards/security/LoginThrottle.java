@@ -0,0 +1,227 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.exception.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Checked before AuthenticationManager so throttled attempts never reach the user lookup or BCrypt.
+// Per-IP counters count every attempt. Per-username counters count failures: each admitted attempt reserves a
+// failure in the same step as the limit check, so concurrent guesses cannot overshoot, and a success clears it
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    private static final int BUCKETS_PER_WINDOW = 10;
+    private static final String IP_PREFIX = "ip:";
+    private static final String USERNAME_PREFIX = "user:";
+    // A full map is trimmed by a tenth at once, so the sort is paid once per many new keys rather than per key
+    private static final int EVICTION_FRACTION = 10;
+
+    private final ConcurrentHashMap<String, SlidingWindowCounter> counters = new ConcurrentHashMap<>();
+    private volatile Map<String, Long> remoteCounts = Map.of();
+    // Successful logins not yet published by LoginThrottleSync, so other nodes drop their counts for the username too.
+    // Only collected once the sync is running, a single node would keep them forever
+    private final Set<String> pendingResets = ConcurrentHashMap.newKeySet();
+    private volatile boolean publishResets;
+
+    private final boolean enabled;
+    private final long bucketMs;
+    private final long maxAttemptsPerIp;
+    private final long maxFailuresPerUsername;
+    private final int maxTrackedKeys;
+    private final Counter ipRejections;
+    private final Counter usernameRejections;
+    private final Counter evictions;
+
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${app.login-throttle.enabled:true}") boolean enabled,
+                         @Value("${app.login-throttle.window:300000}") long windowMs,
+                         @Value("${app.login-throttle.max-attempts-per-ip:50}") long maxAttemptsPerIp,
+                         @Value("${app.login-throttle.max-failures-per-username:5}") long maxFailuresPerUsername,
+                         @Value("${app.login-throttle.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this.enabled = enabled;
+        this.bucketMs = Math.max(1, windowMs / BUCKETS_PER_WINDOW);
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+        this.maxFailuresPerUsername = maxFailuresPerUsername;
+        this.maxTrackedKeys = maxTrackedKeys;
+
+        this.ipRejections = Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected by the throttle")
+                .tag("reason", "ip")
+                .register(meterRegistry);
+        this.usernameRejections = Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected by the throttle")
+                .tag("reason", "username")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("auth.login.throttle.evicted")
+                .description("Live throttle counters dropped because max-tracked-keys was reached")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.keys", counters, Map::size)
+                .description("Usernames and client addresses currently tracked by the login throttle")
+                .register(meterRegistry);
+
+        log.info("Login throttle initialized: enabled={}, window={}ms, maxAttemptsPerIp={}, maxFailuresPerUsername={}",
+                enabled, windowMs, maxAttemptsPerIp, maxFailuresPerUsername);
+    }
+
+    public void checkAllowed(String username, String clientIp) {
+        checkAllowed(username, clientIp, System.currentTimeMillis());
+    }
+
+    void checkAllowed(String username, String clientIp, long nowMs) {
+        if (!enabled) {
+            return;
+        }
+
+        String ipKey = IP_PREFIX + clientIp;
+        String usernameKey = usernameKey(username);
+
+        if (!tryIncrement(usernameKey, maxFailuresPerUsername, nowMs)) {
+            usernameRejections.increment();
+            log.warn("Login throttled for username: {}", username);
+            throw LoginThrottledException.tooManyAttempts(retryAfterSeconds(usernameKey, nowMs));
+        }
+        if (!tryIncrement(ipKey, maxAttemptsPerIp, nowMs)) {
+            release(usernameKey, nowMs);
+            ipRejections.increment();
+            log.warn("Login throttled for client address: {}", clientIp);
+            throw LoginThrottledException.tooManyAttempts(retryAfterSeconds(ipKey, nowMs));
+        }
+    }
+
+    // For attempts that ended without a verdict on the password, e.g. the hashing pool was saturated
+    public void releaseAttempt(String username) {
+        releaseAttempt(username, System.currentTimeMillis());
+    }
+
+    void releaseAttempt(String username, long nowMs) {
+        if (enabled) {
+            release(usernameKey(username), nowMs);
+        }
+    }
+
+    public void recordSuccess(String username) {
+        String usernameKey = usernameKey(username);
+        counters.remove(usernameKey);
+        if (remoteCounts.containsKey(usernameKey)) {
+            Map<String, Long> counts = new HashMap<>(remoteCounts);
+            counts.remove(usernameKey);
+            remoteCounts = Map.copyOf(counts);
+        }
+        if (publishResets) {
+            pendingResets.add(usernameKey);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.login-throttle.window:300000}")
+    public void evictExpired() {
+        long nowMs = System.currentTimeMillis();
+        counters.entrySet().removeIf(entry -> entry.getValue().isExpired(nowMs));
+    }
+
+    Map<String, Long> snapshotLocalCounts() {
+        long nowMs = System.currentTimeMillis();
+        Map<String, Long> snapshot = new HashMap<>();
+        counters.forEach((key, counter) -> {
+            long count = counter.count(nowMs);
+            if (count > 0) {
+                snapshot.put(key, count);
+            }
+        });
+        return snapshot;
+    }
+
+    void updateRemoteCounts(Map<String, Long> counts) {
+        // A reset that is still unpublished was not seen by the query that produced these counts
+        Map<String, Long> current = new HashMap<>(counts);
+        current.keySet().removeAll(pendingResets);
+        this.remoteCounts = Map.copyOf(current);
+    }
+
+    void startPublishingResets() {
+        this.publishResets = true;
+    }
+
+    Set<String> drainPendingResets() {
+        Set<String> drained = new HashSet<>();
+        for (String key : pendingResets) {
+            pendingResets.remove(key);
+            drained.add(key);
+        }
+        return drained;
+    }
+
+    void applyRemoteResets(Collection<String> keys) {
+        keys.forEach(counters::remove);
+    }
+
+    private boolean tryIncrement(String key, long limit, long nowMs) {
+        return counterFor(key, nowMs).tryIncrement(nowMs, limit - remoteCounts.getOrDefault(key, 0L));
+    }
+
+    private void release(String key, long nowMs) {
+        SlidingWindowCounter counter = counters.get(key);
+        if (counter != null) {
+            counter.decrement(nowMs);
+        }
+    }
+
+    private SlidingWindowCounter counterFor(String key, long nowMs) {
+        SlidingWindowCounter counter = counters.get(key);
+        if (counter == null) {
+            // Bounded so a flood of random usernames cannot grow the map without limit. New keys are still tracked:
+            // the least recently hit counters make room, so throttling keeps working during exactly such a flood
+            if (counters.size() >= maxTrackedKeys) {
+                evictOldest(nowMs);
+            }
+            counter = counters.computeIfAbsent(key, k -> new SlidingWindowCounter(BUCKETS_PER_WINDOW, bucketMs));
+        }
+        return counter;
+    }
+
+    private synchronized void evictOldest(long nowMs) {
+        if (counters.size() < maxTrackedKeys) {
+            return;
+        }
+        counters.entrySet().removeIf(entry -> entry.getValue().isExpired(nowMs));
+
+        int excess = counters.size() - (maxTrackedKeys - Math.max(1, maxTrackedKeys / EVICTION_FRACTION));
+        if (excess <= 0) {
+            return;
+        }
+        // Slots are copied before sorting: counters keep changing while the sort runs
+        List<String> oldest = counters.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().lastActiveSlot()))
+                .sorted(Map.Entry.comparingByValue())
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList();
+        oldest.forEach(counters::remove);
+        evictions.increment(oldest.size());
+        log.warn("Login throttle tracks {} keys, evicted {} least recently used", maxTrackedKeys, oldest.size());
+    }
+
+    private long retryAfterSeconds(String key, long nowMs) {
+        SlidingWindowCounter counter = counters.get(key);
+        long waitMs = counter != null ? counter.millisUntilDecrease(nowMs) : bucketMs * BUCKETS_PER_WINDOW;
+        return Math.max(1, (waitMs + 999) / 1000);
+    }
+
+    private String usernameKey(String username) {
+        return USERNAME_PREFIX + username.toLowerCase(Locale.ROOT);
+    }
+}
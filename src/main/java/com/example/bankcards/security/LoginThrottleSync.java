@@ -0,0 +1,115 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.service.JobLockService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Each node publishes its own window counts and adds up the other nodes' counts, so the effective
+// limit is shared across replicas with at most one sync interval of lag. A successful login is published
+// as a reset: counter rows written before it are ignored and the other nodes clear their local counters
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.login-throttle.sync", name = "enabled", havingValue = "true")
+public class LoginThrottleSync {
+
+    private final LoginThrottle loginThrottle;
+    private final JdbcTemplate jdbcTemplate;
+    private final JobLockService jobLockService;
+
+    @Value("${app.login-throttle.window:300000}")
+    private long windowMs;
+
+    private Timestamp lastSeenReset = new Timestamp(0);
+
+    @PostConstruct
+    void init() {
+        loginThrottle.startPublishingResets();
+    }
+
+    @Scheduled(fixedDelayString = "${app.login-throttle.sync.interval:5000}")
+    public void sync() {
+        try {
+            String nodeId = jobLockService.getNodeId();
+            publishResets(nodeId);
+            loginThrottle.applyRemoteResets(fetchRemoteResets(nodeId));
+            publishLocalCounts(nodeId);
+            loginThrottle.updateRemoteCounts(fetchRemoteCounts(nodeId));
+        } catch (Exception e) {
+            log.warn("Failed to sync login throttle counters: {}", e.getMessage());
+        }
+    }
+
+    private void publishResets(String nodeId) {
+        List<Object[]> rows = new ArrayList<>();
+        loginThrottle.drainPendingResets().forEach(key -> rows.add(new Object[]{key, nodeId}));
+
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO login_throttle_resets (throttle_key, node_id, reset_at)
+                    VALUES (?, ?, now())
+                    ON CONFLICT (throttle_key) DO UPDATE
+                    SET node_id = EXCLUDED.node_id, reset_at = EXCLUDED.reset_at
+                    """, rows);
+        }
+        jdbcTemplate.update("DELETE FROM login_throttle_resets WHERE reset_at < now() - ? * interval '1 millisecond'",
+                windowMs);
+    }
+
+    private List<String> fetchRemoteResets(String nodeId) {
+        List<String> keys = new ArrayList<>();
+        jdbcTemplate.query("""
+                SELECT throttle_key, reset_at FROM login_throttle_resets
+                WHERE node_id <> ? AND reset_at > ?
+                """, rs -> {
+            keys.add(rs.getString("throttle_key"));
+            Timestamp resetAt = rs.getTimestamp("reset_at");
+            if (resetAt.after(lastSeenReset)) {
+                lastSeenReset = resetAt;
+            }
+        }, nodeId, lastSeenReset);
+        return keys;
+    }
+
+    private void publishLocalCounts(String nodeId) {
+        List<Object[]> rows = new ArrayList<>();
+        loginThrottle.snapshotLocalCounts().forEach((key, count) -> rows.add(new Object[]{key, nodeId, count}));
+
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO login_throttle_counters (throttle_key, node_id, attempts, updated_at)
+                    VALUES (?, ?, ?, now())
+                    ON CONFLICT (throttle_key, node_id) DO UPDATE
+                    SET attempts = EXCLUDED.attempts, updated_at = EXCLUDED.updated_at
+                    """, rows);
+        }
+        jdbcTemplate.update("DELETE FROM login_throttle_counters WHERE updated_at < now() - ? * interval '1 millisecond'",
+                windowMs);
+    }
+
+    private Map<String, Long> fetchRemoteCounts(String nodeId) {
+        Map<String, Long> counts = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT c.throttle_key, SUM(c.attempts) AS attempts FROM login_throttle_counters c
+                LEFT JOIN login_throttle_resets r ON r.throttle_key = c.throttle_key
+                WHERE c.node_id <> ? AND c.updated_at >= now() - ? * interval '1 millisecond'
+                  AND (r.reset_at IS NULL OR c.updated_at > r.reset_at)
+                GROUP BY c.throttle_key
+                """, rs -> {
+            counts.put(rs.getString("throttle_key"), rs.getLong("attempts"));
+        }, nodeId, windowMs);
+        return counts;
+    }
+}
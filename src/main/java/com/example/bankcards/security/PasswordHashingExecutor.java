@@ -0,0 +1,140 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class PasswordHashingExecutor {
+
+    private static final String METRIC_PREFIX = "auth.password.hashing";
+    private static final List<String> OPERATIONS = List.of("encode", "matches");
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final long retryAfterSeconds;
+    private final Map<String, Timer> timers;
+    private final Counter rejectedCounter;
+
+    // Callers block on the result, so on platform threads every queued or running task holds a Tomcat thread for
+    // up to the timeout. The queue is capped so hashing can tie up at most half of server.tomcat.threads.max and
+    // the other requests keep being served while logins pile up
+    @Autowired
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Value("${app.password-hashing.pool-size:0}") int poolSize,
+                                   @Value("${app.password-hashing.queue-capacity:100}") int queueCapacity,
+                                   @Value("${app.password-hashing.timeout:5000}") long timeoutMs,
+                                   @Value("${app.password-hashing.retry-after:2}") long retryAfterSeconds,
+                                   @Value("${server.tomcat.threads.max:200}") int servletThreads,
+                                   @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this(meterRegistry, poolSize, virtualThreads ? queueCapacity
+                        : queueCapacityWithinServletBudget(queueCapacity, threads(poolSize), servletThreads),
+                timeoutMs, retryAfterSeconds);
+    }
+
+    PasswordHashingExecutor(MeterRegistry meterRegistry, int poolSize, int queueCapacity, long timeoutMs,
+                            long retryAfterSeconds) {
+        int threads = threads(poolSize);
+
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMs = timeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.timers = OPERATIONS.stream().collect(Collectors.toUnmodifiableMap(Function.identity(),
+                operation -> Timer.builder(METRIC_PREFIX)
+                        .description("Time spent hashing or verifying passwords")
+                        .tag("operation", operation)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry)));
+
+        Gauge.builder(METRIC_PREFIX + ".queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Password hashing tasks rejected because the executor was saturated or timed out")
+                .register(meterRegistry);
+
+        log.info("Password hashing executor initialized: threads={}, queueCapacity={}, timeout={}ms",
+                threads, queueCapacity, timeoutMs);
+    }
+
+    public <T> T execute(String operation, Callable<T> task) {
+        Timer timer = timers.get(operation);
+        if (timer == null) {
+            throw new IllegalArgumentException("Unknown password hashing operation: " + operation);
+        }
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Password hashing executor saturated, rejecting {} request", operation);
+            throw PasswordHashingUnavailableException.saturated(retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            log.warn("Password hashing {} request timed out after {}ms", operation, timeoutMs);
+            throw PasswordHashingUnavailableException.timedOut(retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw PasswordHashingUnavailableException.timedOut(retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    static int queueCapacityWithinServletBudget(int queueCapacity, int threads, int servletThreads) {
+        int budget = Math.max(1, servletThreads / 2 - threads);
+        if (queueCapacity <= budget) {
+            return queueCapacity;
+        }
+        log.warn("Password hashing queue capacity {} lowered to {} so waiting requests hold at most half of {} "
+                + "servlet threads", queueCapacity, budget, servletThreads);
+        return budget;
+    }
+
+    private static int threads(int poolSize) {
+        return poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
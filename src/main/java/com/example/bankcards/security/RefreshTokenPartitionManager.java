@@ -0,0 +1,149 @@
+package com.example.bankcards.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenPartitionManager {
+
+    private static final String PARTITION_PREFIX = "refresh_tokens_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${jwt.refresh.expiration}")
+    private long refreshExpirationMs;
+
+    @Value("${app.token-cleanup.partition-premake-days:3}")
+    private int premakeDays;
+
+    private volatile Boolean partitioned;
+
+    public boolean isPartitioned() {
+        if (partitioned == null) {
+            Boolean exists = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('refresh_tokens'))",
+                    Boolean.class);
+            partitioned = Boolean.TRUE.equals(exists);
+        }
+        return partitioned;
+    }
+
+    // Inserts fail once no partition covers the day, so partitions are created ahead on their own schedule rather
+    // than by cleanup, whose lease may be held elsewhere or whose interval may be long. CREATE is idempotent, so
+    // every node does it without a lease; a node losing a creation race picks the partition up on the next run
+    @EventListener(ApplicationReadyEvent.class)
+    public void premakeOnStartup() {
+        premakePartitions();
+    }
+
+    @Scheduled(fixedDelayString = "${app.token-cleanup.partition-premake-interval:3600000}",
+            initialDelayString = "${app.token-cleanup.partition-premake-interval:3600000}")
+    public void premakeScheduled() {
+        premakePartitions();
+    }
+
+    private void premakePartitions() {
+        try {
+            if (isPartitioned()) {
+                ensurePartitions();
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to pre-create refresh token partitions: {}", e.getMessage());
+        }
+    }
+
+    public int ensurePartitions() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        long daysAhead = Math.ceilDiv(refreshExpirationMs, 86_400_000L) + premakeDays;
+        int created = 0;
+
+        for (long i = 0; i <= daysAhead; i++) {
+            LocalDate day = today.plusDays(i);
+            String name = partitionName(day);
+            if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name)) {
+                continue;
+            }
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF refresh_tokens FOR VALUES FROM ('%s') TO ('%s')",
+                    name, day, day.plusDays(1)));
+            created++;
+        }
+
+        if (created > 0) {
+            log.info("Created {} refresh token partitions up to {}", created, today.plusDays(daysAhead));
+        }
+        return created;
+    }
+
+    // Everything in a partition whose upper bound has passed is expired, so the whole partition can go at once.
+    // DETACH ... CONCURRENTLY cannot run inside a transaction block, so this relies on auto-commit
+    public TokenCleanupResult dropExpiredPartitions() {
+        long startTime = System.currentTimeMillis();
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        long rowsRemoved = 0;
+        int dropped = 0;
+
+        for (String name : listPartitions()) {
+            LocalDate day = parsePartitionDay(name);
+            if (day == null || !day.plusDays(1).isBefore(today)) {
+                continue;
+            }
+
+            jdbcTemplate.execute("ALTER TABLE refresh_tokens DETACH PARTITION " + name + " CONCURRENTLY");
+            Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + name, Long.class);
+            jdbcTemplate.execute("DROP TABLE " + name);
+
+            rowsRemoved += rows != null ? rows : 0;
+            dropped++;
+            log.debug("Dropped refresh token partition {} with {} rows", name, rows);
+        }
+
+        return TokenCleanupResult.builder()
+                .mode("partitioned")
+                .rowsRemoved(rowsRemoved)
+                .partitionsDropped(dropped)
+                .durationMs(System.currentTimeMillis() - startTime)
+                .build();
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass('refresh_tokens')
+                ORDER BY c.relname
+                """, String.class);
+    }
+
+    private String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+    }
+
+    private LocalDate parsePartitionDay(String name) {
+        if (!name.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            log.warn("Skipping refresh token partition with unexpected name: {}", name);
+            return null;
+        }
+    }
+}
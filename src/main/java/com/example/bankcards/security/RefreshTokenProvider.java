@@ -1,7 +1,6 @@
 package com.example.bankcards.security;
 
 import com.example.bankcards.entity.RefreshToken;
-import com.example.bankcards.entity.User;
 import com.example.bankcards.exception.DatabaseOperationException;
 import com.example.bankcards.exception.RefreshTokenExpiredException;
 import com.example.bankcards.exception.UserNotFoundException;
@@ -17,7 +16,6 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
-import java.util.Collections;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -29,6 +27,7 @@ public class RefreshTokenProvider {
 
     private final RefreshTokenRepository refreshTokenRepository;
     private final UserRepository userRepository;
+    private final RefreshTokenPartitionManager partitionManager;
 
     @Value("${jwt.refresh.expiration}")
     private long refreshExpirationMs;
@@ -36,26 +35,34 @@ public class RefreshTokenProvider {
     @Value("${app.max-sessions-per-user:5}")
     private int maxSessionsPerUser;
 
+    @Value("#{'${app.token-cleanup.mode:chunked}' == 'partitioned'}")
+    private boolean partitionedCleanup;
+
+    @Value("${app.token-cleanup.chunk-size:1000}")
+    private int cleanupChunkSize;
+
+    @Value("${app.token-cleanup.chunk-pause:100}")
+    private long cleanupChunkPauseMs;
+
+    // Two statements per login: the users row lock serializes concurrent logins of the same user,
+    // then one statement revokes the oldest sessions beyond the limit and inserts the new token
     @Transactional
     public String createRefreshToken(String username) {
-        User user = userRepository.findByUsername(username)
+        Long userId = userRepository.lockIdByUsername(username)
                 .orElseThrow(() -> UserNotFoundException.byUsername(username));
 
-        enforceSessionLimit(user);
-
         String token = UUID.randomUUID().toString();
-        String tokenHash = hashToken(token);
-
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(user)
-                .tokenHash(tokenHash)
-                .expiresAt(Instant.now().plusMillis(refreshExpirationMs))
-                .build();
+        Instant now = Instant.now();
+        int sessionsToKeep = Math.max(0, maxSessionsPerUser - 1);
 
         try {
-            refreshTokenRepository.save(refreshToken);
-            log.info("Created new refresh token for user: {}, active sessions: {}",
-                    username, getActiveSessionsCount(user));
+            int revokedCount = refreshTokenRepository.revokeExcessAndInsert(
+                    userId, hashToken(token), now.plusMillis(refreshExpirationMs), now, sessionsToKeep);
+
+            if (revokedCount > 0) {
+                log.info("Enforced session limit for user: {}, revoked {} old sessions", username, revokedCount);
+            }
+            log.info("Created new refresh token for user: {}", username);
         } catch (Exception e) {
             throw new DatabaseOperationException("Failed to create refresh token", e);
         }
@@ -63,30 +70,9 @@ public class RefreshTokenProvider {
         return token;
     }
 
+    // Read-write on purpose: read-only transactions may go to a replica, and a token issued or revoked moments ago
+    // must be seen by /auth/refresh. The caller is not authenticated yet, so sticky routing cannot cover it
     @Transactional
-    public void enforceSessionLimit(User user) {
-        Instant now = Instant.now();
-        int activeSessionsCount = refreshTokenRepository.countActiveByUser(user, now);
-
-        if (activeSessionsCount >= maxSessionsPerUser) {
-            var activeTokens = refreshTokenRepository.findActiveByUser(user, now);
-            Collections.reverse(activeTokens);
-
-            int tokensToRevoke = activeSessionsCount - maxSessionsPerUser + 1;
-
-            for (int i = 0; i < tokensToRevoke && i < activeTokens.size(); i++) {
-                RefreshToken oldToken = activeTokens.get(i);
-                oldToken.setRevoked(true);
-                refreshTokenRepository.save(oldToken);
-                log.info("Revoked old refresh token for user: {} due to session limit", user.getUsername());
-            }
-
-            log.info("Enforced session limit for user: {}, revoked {} old sessions",
-                    user.getUsername(), tokensToRevoke);
-        }
-    }
-
-    @Transactional(readOnly = true)
     public Optional<RefreshToken> findByToken(String token) {
         String tokenHash = hashToken(token);
         return refreshTokenRepository.findByTokenHashAndRevokedFalseWithUser(tokenHash);
@@ -111,31 +97,62 @@ public class RefreshTokenProvider {
     }
 
     @Transactional
-    public void revokeAllUserTokens(User user) {
-        refreshTokenRepository.revokeAllByUser(user);
+    public void revokeAllUserTokens(Long userId) {
+        refreshTokenRepository.revokeAllByUserId(userId);
     }
 
-    public int getActiveSessionsCount(User user) {
-        return refreshTokenRepository.countActiveByUser(user, Instant.now());
+    public int getActiveSessionsCount(Long userId) {
+        return refreshTokenRepository.countActiveByUserId(userId, Instant.now());
     }
 
-    @Transactional
-    public int cleanupExpiredTokens() {
+    // Each chunk commits on its own so row locks and WAL stay bounded; the pause lets replicas and vacuum keep up
+    public TokenCleanupResult cleanupExpiredTokens() {
+        if (partitionedCleanup && partitionManager.isPartitioned()) {
+            return partitionManager.dropExpiredPartitions();
+        }
+
+        long startTime = System.currentTimeMillis();
         Instant cutoffTime = Instant.now();
+        long rowsRemoved = 0;
+        int chunks = 0;
 
-        int deletedCount = refreshTokenRepository.countExpiredAndRevoked(cutoffTime);
+        while (true) {
+            int deleted = refreshTokenRepository.deleteExpiredAndRevokedChunk(cutoffTime, cleanupChunkSize);
+            if (deleted == 0) {
+                break;
+            }
+            rowsRemoved += deleted;
+            chunks++;
+            log.debug("Deleted chunk {} with {} expired and revoked refresh tokens", chunks, deleted);
 
-        if (deletedCount > 0) {
-            refreshTokenRepository.deleteExpiredAndRevoked(cutoffTime);
-            log.debug("Deleted {} expired and revoked refresh tokens", deletedCount);
-        } else {
-            log.debug("No expired tokens found for cleanup");
+            if (deleted < cleanupChunkSize || !pauseBetweenChunks()) {
+                break;
+            }
         }
 
-        return deletedCount;
+        return TokenCleanupResult.builder()
+                .mode("chunked")
+                .rowsRemoved(rowsRemoved)
+                .chunks(chunks)
+                .durationMs(System.currentTimeMillis() - startTime)
+                .build();
+    }
+
+    private boolean pauseBetweenChunks() {
+        if (cleanupChunkPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(cleanupChunkPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Refresh token cleanup interrupted, remaining rows will be removed on the next run");
+            return false;
+        }
     }
 
-    private String hashToken(String token) {
+    String hashToken(String token) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
@@ -145,7 +162,7 @@ public class RefreshTokenProvider {
         }
     }
 
-    private String bytesToHex(byte[] bytes) {
+    String bytesToHex(byte[] bytes) {
         StringBuilder result = new StringBuilder();
         for (byte b : bytes) {
             result.append(String.format("%02x", b));
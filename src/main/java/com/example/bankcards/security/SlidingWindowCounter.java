@@ -0,0 +1,121 @@
+package com.example.bankcards.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Each bucket packs its time slot into the high bits and the hit count into the low bits,
+// so rolling a bucket over to a new slot and counting in it is a single CAS
+class SlidingWindowCounter {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLongArray buckets;
+    private final long bucketMs;
+
+    SlidingWindowCounter(int bucketCount, long bucketMs) {
+        this.buckets = new AtomicLongArray(bucketCount);
+        this.bucketMs = bucketMs;
+    }
+
+    void increment(long nowMs) {
+        long slot = nowMs / bucketMs;
+        int index = (int) (slot % buckets.length());
+
+        while (true) {
+            long current = buckets.get(index);
+            long count = current & COUNT_MASK;
+            long updated = (current >>> COUNT_BITS) == slot
+                    ? (slot << COUNT_BITS) | Math.min(count + 1, COUNT_MASK)
+                    : (slot << COUNT_BITS) | 1;
+            if (buckets.compareAndSet(index, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    // Counts a hit only while the window total stays below the limit. Concurrent callers in the same slot race on one
+    // bucket, so the failed CAS re-reads the total and the limit cannot be overshot
+    boolean tryIncrement(long nowMs, long limit) {
+        long slot = nowMs / bucketMs;
+        int index = (int) (slot % buckets.length());
+
+        while (true) {
+            long current = buckets.get(index);
+            if (count(nowMs) >= limit) {
+                return false;
+            }
+            long count = current & COUNT_MASK;
+            long updated = (current >>> COUNT_BITS) == slot
+                    ? (slot << COUNT_BITS) | Math.min(count + 1, COUNT_MASK)
+                    : (slot << COUNT_BITS) | 1;
+            if (buckets.compareAndSet(index, current, updated)) {
+                return true;
+            }
+        }
+    }
+
+    // Takes back one hit from the newest live bucket, e.g. a reservation whose attempt ended without a verdict
+    void decrement(long nowMs) {
+        long oldestLiveSlot = nowMs / bucketMs - buckets.length() + 1;
+
+        while (true) {
+            int newest = -1;
+            long newestValue = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                long value = buckets.get(i);
+                if ((value & COUNT_MASK) > 0 && (value >>> COUNT_BITS) >= oldestLiveSlot
+                        && (newest < 0 || (value >>> COUNT_BITS) > (newestValue >>> COUNT_BITS))) {
+                    newest = i;
+                    newestValue = value;
+                }
+            }
+            if (newest < 0 || buckets.compareAndSet(newest, newestValue, newestValue - 1)) {
+                return;
+            }
+        }
+    }
+
+    long count(long nowMs) {
+        long slot = nowMs / bucketMs;
+        long oldestLiveSlot = slot - buckets.length() + 1;
+        long total = 0;
+
+        for (int i = 0; i < buckets.length(); i++) {
+            long value = buckets.get(i);
+            if ((value >>> COUNT_BITS) >= oldestLiveSlot) {
+                total += value & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+
+    long millisUntilDecrease(long nowMs) {
+        long slot = nowMs / bucketMs;
+        long oldestLiveSlot = slot - buckets.length() + 1;
+        long oldestUsedSlot = slot;
+
+        for (int i = 0; i < buckets.length(); i++) {
+            long value = buckets.get(i);
+            long bucketSlot = value >>> COUNT_BITS;
+            if ((value & COUNT_MASK) > 0 && bucketSlot >= oldestLiveSlot && bucketSlot < oldestUsedSlot) {
+                oldestUsedSlot = bucketSlot;
+            }
+        }
+        return (oldestUsedSlot + buckets.length()) * bucketMs - nowMs;
+    }
+
+    long lastActiveSlot() {
+        long lastSlot = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            long value = buckets.get(i);
+            if ((value & COUNT_MASK) > 0) {
+                lastSlot = Math.max(lastSlot, value >>> COUNT_BITS);
+            }
+        }
+        return lastSlot;
+    }
+
+    boolean isExpired(long nowMs) {
+        return count(nowMs) == 0;
+    }
+}
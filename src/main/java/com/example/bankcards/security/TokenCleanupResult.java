@@ -0,0 +1,14 @@
+package com.example.bankcards.security;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class TokenCleanupResult {
+    private final String mode;
+    private final long rowsRemoved;
+    private final int chunks;
+    private final int partitionsDropped;
+    private final long durationMs;
+}
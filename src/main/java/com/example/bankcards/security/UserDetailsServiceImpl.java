@@ -11,15 +11,21 @@ import org.springframework.stereotype.Service;
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository, UserPrincipalCache userPrincipalCache) {
         this.userRepository = userRepository;
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        return userPrincipalCache.get(username, this::loadPrincipal);
+    }
+
+    private UserPrincipal loadPrincipal(String username) {
+        User user = userRepository.findWithRolesByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        return new UserPrincipal(user);
+        return UserPrincipal.from(user);
     }
 }
@@ -1,36 +1,41 @@
 package com.example.bankcards.security;
 
+import com.example.bankcards.entity.Role;
 import com.example.bankcards.entity.User;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import java.util.Collection;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Getter
-@AllArgsConstructor
 public class UserPrincipal implements UserDetails {
-    private final User user;
-
-    @Override
-    public Collection<? extends GrantedAuthority> getAuthorities() {
-        return user.getRoles()
-                .stream()
-                .map(role -> new SimpleGrantedAuthority(role.getRoleName()))
-                .collect(Collectors.toSet());
-    }
-
-    @Override
-    public String getPassword() {
-        return user.getPasswordHash();
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final boolean enabled;
+    private final Set<String> roleNames;
+    private final Set<GrantedAuthority> authorities;
+
+    private UserPrincipal(Long id, String username, String password, boolean enabled, Set<String> roleNames) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.enabled = enabled;
+        this.roleNames = roleNames;
+        this.authorities = roleNames.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toUnmodifiableSet());
     }
 
-    @Override
-    public String getUsername() {
-        return user.getUsername();
+    public static UserPrincipal from(User user) {
+        Set<String> roleNames = user.getRoles()
+                .stream()
+                .map(Role::getRoleName)
+                .collect(Collectors.toUnmodifiableSet());
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getPasswordHash(), user.isEnabled(), roleNames);
     }
 
     @Override
@@ -40,16 +45,11 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public boolean isAccountNonLocked() {
-        return user.isEnabled();
+        return enabled;
     }
 
     @Override
     public boolean isCredentialsNonExpired() {
         return true;
     }
-
-    @Override
-    public boolean isEnabled() {
-        return user.isEnabled();
-    }
 }
@@ -0,0 +1,76 @@
+package com.example.bankcards.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class UserPrincipalCache {
+
+    private static final String CACHE_NAME = "userPrincipals";
+
+    private final Cache<String, UserPrincipal> cache;
+
+    @Autowired
+    public UserPrincipalCache(MeterRegistry meterRegistry,
+                              @Value("${app.principal-cache.max-size:10000}") long maxSize,
+                              @Value("${app.principal-cache.ttl:300000}") long ttlMs) {
+        this(meterRegistry, maxSize, ttlMs, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    // Tests pass a manual ticker and a same-thread executor so expiry and size eviction are deterministic
+    UserPrincipalCache(MeterRegistry meterRegistry, long maxSize, long ttlMs, Ticker ticker, Executor executor) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("User principal cache initialized: maxSize={}, ttl={}ms", maxSize, ttlMs);
+    }
+
+    public UserPrincipal get(String username, Function<String, UserPrincipal> loader) {
+        return cache.get(username, loader);
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+
+        // A concurrent request may reload the old state before the surrounding transaction commits
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(username);
+                }
+            });
+        }
+        log.debug("Evicted cached principal for user: {}", username);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.enums.AuditAction;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Multi-producer, single-consumer ring of preallocated slots. A producer claims a sequence with one CAS,
+// fills the slot in place and publishes it by storing the sequence in the slot's marker; the consumer reads
+// the contiguous published run and frees those slots only once they have been written to the database, so
+// nothing is allocated per record and a batch that fails to write is still there to retry
+final class AuditRingBuffer {
+
+    private final Slot[] slots;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+
+    AuditRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(requestedCapacity - 1, 1)) << 1;
+        this.slots = new Slot[capacity];
+        this.published = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+            published.set(i, -1);
+        }
+    }
+
+    // Returns false without waiting when every slot is still waiting to be written
+    boolean tryPublish(long occurredAt, String actor, AuditAction action, Long targetId, String details) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= slots.length) {
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) sequence & mask;
+        slots[index].set(occurredAt, actor, action, targetId, details);
+        published.set(index, sequence);
+        return true;
+    }
+
+    // Consumer only: adds up to max published slots, oldest first, without freeing them
+    int peek(List<Slot> batch, int max) {
+        long next = consumed;
+        int count = 0;
+        while (count < max && published.get((int) next & mask) == next) {
+            batch.add(slots[(int) next & mask]);
+            next++;
+            count++;
+        }
+        return count;
+    }
+
+    // Consumer only: hands the oldest count slots back to the producers
+    void release(int count) {
+        long next = consumed;
+        for (long sequence = next; sequence < next + count; sequence++) {
+            slots[(int) sequence & mask].clear();
+        }
+        consumed = next + count;
+    }
+
+    int size() {
+        return (int) (claimed.get() - consumed);
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    @Getter
+    static final class Slot {
+        private long occurredAt;
+        private String actor;
+        private AuditAction action;
+        private Long targetId;
+        private String details;
+
+        private void set(long occurredAt, String actor, AuditAction action, Long targetId, String details) {
+            this.occurredAt = occurredAt;
+            this.actor = actor;
+            this.action = action;
+            this.targetId = targetId;
+            this.details = details;
+        }
+
+        // Drops the strings so a quiet buffer does not keep old details reachable
+        private void clear() {
+            this.actor = null;
+            this.targetId = null;
+            this.details = null;
+        }
+    }
+}
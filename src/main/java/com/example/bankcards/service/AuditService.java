@@ -0,0 +1,311 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.enums.AuditAction;
+import com.example.bankcards.enums.AuditOverflowPolicy;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Request threads only copy the record into the ring buffer; a single writer thread inserts whatever has
+// accumulated as one batch in one transaction, so a burst costs one commit instead of one per action.
+// Records made inside a transaction are published after it commits and never for a rolled back change.
+// The writer has its own one-connection pool: a publish blocked on a full buffer runs in afterCommit, still
+// holding its request's connection, and must not wait for a writer that queues for the same pool
+@Slf4j
+@Service
+public class AuditService implements SmartLifecycle {
+
+    static final String SYSTEM_ACTOR = "system";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO audit_log (occurred_at, actor, action, target_type, target_id, details)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+    private static final int MAX_DETAILS_LENGTH = 1000;
+    private static final long BLOCKED_PUBLISH_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditRingBuffer ringBuffer;
+    private final boolean enabled;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final int batchSize;
+    private final long idleWaitNanos;
+    private final long retryDelayMs;
+    private final long shutdownTimeoutMs;
+    private final Counter publishedRecords;
+    private final Counter droppedRecords;
+    private final Counter blockedPublishes;
+    private final Counter writtenRecords;
+    private final Counter failedWrites;
+    private final Timer writeTimer;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public AuditService(DataSourceProperties dataSourceProperties,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.audit.enabled:true}") boolean enabled,
+                        @Value("${app.audit.buffer-size:16384}") int bufferSize,
+                        @Value("${app.audit.overflow:block}") AuditOverflowPolicy overflowPolicy,
+                        @Value("${app.audit.block-timeout:1000}") long blockTimeoutMs,
+                        @Value("${app.audit.batch-size:500}") int batchSize,
+                        @Value("${app.audit.idle-wait:5}") long idleWaitMs,
+                        @Value("${app.audit.retry-delay:1000}") long retryDelayMs,
+                        @Value("${app.audit.shutdown-timeout:10000}") long shutdownTimeoutMs) {
+        this(writerPool(dataSourceProperties, meterRegistry), meterRegistry, enabled, bufferSize, overflowPolicy,
+                blockTimeoutMs, batchSize, idleWaitMs, retryDelayMs, shutdownTimeoutMs);
+    }
+
+    private AuditService(HikariDataSource writerPool, MeterRegistry meterRegistry, boolean enabled, int bufferSize,
+                         AuditOverflowPolicy overflowPolicy, long blockTimeoutMs, int batchSize, long idleWaitMs,
+                         long retryDelayMs, long shutdownTimeoutMs) {
+        this(new JdbcTemplate(writerPool), new DataSourceTransactionManager(writerPool), meterRegistry, enabled,
+                bufferSize, overflowPolicy, blockTimeoutMs, batchSize, idleWaitMs, retryDelayMs, shutdownTimeoutMs);
+    }
+
+    AuditService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                 boolean enabled, int bufferSize, AuditOverflowPolicy overflowPolicy, long blockTimeoutMs, int batchSize,
+                 long idleWaitMs, long retryDelayMs, long shutdownTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ringBuffer = new AuditRingBuffer(bufferSize);
+        this.enabled = enabled;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+        this.batchSize = batchSize;
+        this.idleWaitNanos = TimeUnit.MILLISECONDS.toNanos(idleWaitMs);
+        this.retryDelayMs = retryDelayMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+
+        this.publishedRecords = Counter.builder("audit.records.published")
+                .description("Audit records accepted into the ring buffer")
+                .register(meterRegistry);
+        this.droppedRecords = Counter.builder("audit.records.dropped")
+                .description("Audit records lost because the ring buffer was full")
+                .register(meterRegistry);
+        this.blockedPublishes = Counter.builder("audit.records.blocked")
+                .description("Publishes that had to wait for the writer to free ring buffer space")
+                .register(meterRegistry);
+        this.writtenRecords = Counter.builder("audit.records.written")
+                .description("Audit records inserted into audit_log")
+                .register(meterRegistry);
+        this.failedWrites = Counter.builder("audit.write.failures")
+                .description("Audit batches that failed to insert and were retried")
+                .register(meterRegistry);
+        this.writeTimer = Timer.builder("audit.write.duration")
+                .description("Time to insert and commit one audit batch")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.size", ringBuffer, AuditRingBuffer::size)
+                .description("Audit records waiting in the ring buffer")
+                .register(meterRegistry);
+    }
+
+    public void record(AuditAction action, Long targetId, String details) {
+        if (!enabled) {
+            return;
+        }
+        String actor = currentActor();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(actor, action, targetId, details);
+                }
+            });
+        } else {
+            publish(actor, action, targetId, details);
+        }
+    }
+
+    void publish(String actor, AuditAction action, Long targetId, String details) {
+        long occurredAt = System.currentTimeMillis();
+        if (ringBuffer.tryPublish(occurredAt, actor, action, targetId, details)) {
+            publishedRecords.increment();
+            return;
+        }
+        if (overflowPolicy == AuditOverflowPolicy.DROP) {
+            dropped(action, targetId);
+            return;
+        }
+
+        blockedPublishes.increment();
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        while (!ringBuffer.tryPublish(occurredAt, actor, action, targetId, details)) {
+            if (!running || (blockTimeoutNanos > 0 && System.nanoTime() - deadline > 0)) {
+                dropped(action, targetId);
+                return;
+            }
+            LockSupport.parkNanos(BLOCKED_PUBLISH_PARK_NANOS);
+        }
+        publishedRecords.increment();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || !enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Audit writer started: bufferSize={}, batchSize={}, overflow={}",
+                ringBuffer.capacity(), batchSize, overflowPolicy);
+    }
+
+    // Waits for the writer to drain what is already buffered, up to the shutdown timeout
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+        }
+        int remaining = ringBuffer.size();
+        if (remaining > 0) {
+            log.error("Audit writer stopped with {} records still buffered, they are lost", remaining);
+        } else {
+            log.info("Audit writer stopped, buffer drained");
+        }
+        if (jdbcTemplate.getDataSource() instanceof HikariDataSource writerPool) {
+            writerPool.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stops after the web server, so requests that were still in flight get their records written
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void runWriter() {
+        List<AuditRingBuffer.Slot> batch = new ArrayList<>(batchSize);
+        long stopDeadline = Long.MAX_VALUE;
+        while (!Thread.currentThread().isInterrupted()) {
+            if (!running && stopDeadline == Long.MAX_VALUE) {
+                stopDeadline = System.currentTimeMillis() + shutdownTimeoutMs;
+            }
+            batch.clear();
+            int count = ringBuffer.peek(batch, batchSize);
+            if (count == 0) {
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(idleWaitNanos);
+                continue;
+            }
+            if (writeBatch(batch)) {
+                ringBuffer.release(count);
+            } else if (System.currentTimeMillis() > stopDeadline) {
+                return;
+            } else {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(retryDelayMs));
+            }
+        }
+    }
+
+    private boolean writeBatch(List<AuditRingBuffer.Slot> batch) {
+        try {
+            writeTimer.record(() -> transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            AuditRingBuffer.Slot slot = batch.get(i);
+                            ps.setTimestamp(1, Timestamp.from(Instant.ofEpochMilli(slot.getOccurredAt())));
+                            ps.setString(2, slot.getActor());
+                            ps.setString(3, slot.getAction().name());
+                            ps.setString(4, slot.getAction().getTargetType());
+                            if (slot.getTargetId() != null) {
+                                ps.setLong(5, slot.getTargetId());
+                            } else {
+                                ps.setNull(5, Types.BIGINT);
+                            }
+                            ps.setString(6, truncate(slot.getDetails()));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    })));
+            writtenRecords.increment(batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            failedWrites.increment();
+            log.error("Failed to write {} audit records, retrying in {}ms: {}", batch.size(), retryDelayMs, e.getMessage());
+            return false;
+        }
+    }
+
+    // Same database and credentials as the main pool. Opens its connection on the first batch
+    private static HikariDataSource writerPool(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("audit-writer");
+        pool.setMaximumPoolSize(1);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+
+    private void dropped(AuditAction action, Long targetId) {
+        droppedRecords.increment();
+        log.warn("Audit buffer full, dropped record: action={}, targetId={}", action, targetId);
+    }
+
+    private static String truncate(String details) {
+        return details != null && details.length() > MAX_DETAILS_LENGTH ? details.substring(0, MAX_DETAILS_LENGTH) : details;
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return SYSTEM_ACTOR;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.repository.BlockRequestRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Keeps block_requests down to pending and recently processed rows so its indexes stay small;
+// each chunk is its own short transaction and chunks are paced to leave room for foreground writes
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "app.block-requests.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BlockRequestArchiveService {
+
+    private static final String JOB_NAME = "block-request-archive";
+
+    private final BlockRequestRepository blockRequestRepository;
+    private final JobLockService jobLockService;
+    private final Counter archivedRows;
+    private final long archiveAgeMs;
+    private final int chunkSize;
+    private final long chunkPauseMs;
+    private final long lockAtMostForMs;
+    private final long lockAtLeastForMs;
+
+    public BlockRequestArchiveService(BlockRequestRepository blockRequestRepository,
+                                      JobLockService jobLockService,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.block-requests.archive.age:7776000000}") long archiveAgeMs,
+                                      @Value("${app.block-requests.archive.chunk-size:1000}") int chunkSize,
+                                      @Value("${app.block-requests.archive.chunk-pause:100}") long chunkPauseMs,
+                                      @Value("${app.jobs.block-request-archive.lock-at-most-for:3600000}") long lockAtMostForMs,
+                                      @Value("${app.jobs.block-request-archive.lock-at-least-for:60000}") long lockAtLeastForMs) {
+        this.blockRequestRepository = blockRequestRepository;
+        this.jobLockService = jobLockService;
+        this.archiveAgeMs = archiveAgeMs;
+        this.chunkSize = chunkSize;
+        this.chunkPauseMs = chunkPauseMs;
+        this.lockAtMostForMs = lockAtMostForMs;
+        this.lockAtLeastForMs = lockAtLeastForMs;
+        this.archivedRows = Counter.builder("block.requests.archived")
+                .description("Processed block requests moved to the archive table")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.block-requests.archive.interval:3600000}")
+    public void archiveProcessedRequests() {
+        try {
+            jobLockService.runExclusively(JOB_NAME,
+                    Duration.ofMillis(lockAtMostForMs), Duration.ofMillis(lockAtLeastForMs), this::runArchive);
+        } catch (Exception e) {
+            log.error("Error during block request archival: {}", e.getMessage(), e);
+        }
+    }
+
+    String runArchive() {
+        long startTime = System.currentTimeMillis();
+        Instant cutoff = Instant.now().minusMillis(archiveAgeMs);
+        long moved = 0;
+        int chunks = 0;
+
+        while (true) {
+            int archived = blockRequestRepository.archiveProcessedChunk(cutoff, chunkSize);
+            if (archived == 0) {
+                break;
+            }
+            moved += archived;
+            chunks++;
+            archivedRows.increment(archived);
+
+            if (archived < chunkSize || !pauseBetweenChunks()) {
+                break;
+            }
+        }
+
+        if (moved > 0) {
+            log.info("Archived {} processed block requests older than {} in {} chunks, {}ms",
+                    moved, cutoff, chunks, System.currentTimeMillis() - startTime);
+        }
+        return String.format("rows=%d, chunks=%d", moved, chunks);
+    }
+
+    private boolean pauseBetweenChunks() {
+        if (chunkPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(chunkPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Block request archival interrupted, remaining rows will be moved on the next run");
+            return false;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.BlockRequestAutoProcessingProperties;
+import com.example.bankcards.dto.BlockRequestBatchProcessResponse;
+import com.example.bankcards.dto.BlockRequestCandidate;
+import com.example.bankcards.enums.BlockRequestStatus;
+import com.example.bankcards.repository.BlockRequestRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Rules are compiled once at startup. Each run reads pending requests not yet marked as evaluated, so progress is
+// shared by all nodes and survives restarts, and unmatched requests are not re-read. Matches are applied with the
+// same set-based path as a batch decision
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "app.block-requests.auto-processing", name = "enabled", havingValue = "true")
+public class BlockRequestAutoProcessor {
+
+    private static final String JOB_NAME = "block-request-auto-processing";
+
+    private final BlockRequestRepository blockRequestRepository;
+    private final BlockRequestService blockRequestService;
+    private final JobLockService jobLockService;
+    private final BlockRequestAutoProcessingProperties properties;
+    private final List<CompiledRule> rules;
+    private final boolean historyNeeded;
+    private final Timer evaluationTimer;
+    private final MeterRegistry meterRegistry;
+
+    public BlockRequestAutoProcessor(BlockRequestRepository blockRequestRepository,
+                                     BlockRequestService blockRequestService,
+                                     JobLockService jobLockService,
+                                     BlockRequestAutoProcessingProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.blockRequestRepository = blockRequestRepository;
+        this.blockRequestService = blockRequestService;
+        this.jobLockService = jobLockService;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.rules = properties.getRules().stream().map(this::compile).toList();
+        this.historyNeeded = properties.getRules().stream()
+                .anyMatch(rule -> rule.getMaxRecentRequests() != null || rule.getMaxRejectedRequests() != null);
+        this.evaluationTimer = Timer.builder("block.requests.auto.evaluation")
+                .description("Time spent evaluating rules against a batch of pending block requests")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+
+        log.info("Block request auto-processing enabled with {} rules: {}", rules.size(),
+                rules.stream().map(CompiledRule::getName).collect(Collectors.joining(", ")));
+    }
+
+    @Scheduled(fixedDelayString = "${app.block-requests.auto-processing.interval:15000}")
+    public void run() {
+        if (rules.isEmpty()) {
+            return;
+        }
+        try {
+            long lockMs = Math.max(properties.getInterval() * 10, 60_000);
+            jobLockService.runExclusively(JOB_NAME, Duration.ofMillis(lockMs), Duration.ZERO, this::processPending);
+        } catch (Exception e) {
+            log.error("Error during block request auto-processing: {}", e.getMessage(), e);
+        }
+    }
+
+    String processPending() {
+        int evaluated = 0;
+        int processed = 0;
+
+        while (true) {
+            List<BlockRequestCandidate> batch = blockRequestRepository.findUnevaluatedPendingCandidates(
+                    Instant.now(), PageRequest.of(0, properties.getBatchSize()));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            processed += processBatch(batch);
+            evaluated += batch.size();
+
+            // Decided requests are no longer pending; the rest drop out of the next read once marked
+            blockRequestRepository.markAutoEvaluated(
+                    batch.stream().map(BlockRequestCandidate::getId).toList(), Instant.now());
+
+            if (batch.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+
+        if (processed > 0) {
+            log.info("Auto-processed {} of {} newly evaluated block requests", processed, evaluated);
+        }
+        return String.format("evaluated=%d, processed=%d", evaluated, processed);
+    }
+
+    private int processBatch(List<BlockRequestCandidate> batch) {
+        if (historyNeeded) {
+            loadUserHistory(batch);
+        }
+
+        Map<CompiledRule, List<Long>> matches = new LinkedHashMap<>();
+        evaluationTimer.record(() -> {
+            for (BlockRequestCandidate candidate : batch) {
+                for (CompiledRule rule : rules) {
+                    if (rule.getPredicate().test(candidate)) {
+                        matches.computeIfAbsent(rule, r -> new ArrayList<>()).add(candidate.getId());
+                        break;
+                    }
+                }
+            }
+        });
+
+        int processed = 0;
+        for (Map.Entry<CompiledRule, List<Long>> entry : matches.entrySet()) {
+            CompiledRule rule = entry.getKey();
+            BlockRequestBatchProcessResponse response = blockRequestService.processBlockRequestsAutomatically(
+                    entry.getValue(), rule.getStatus(), rule.getComment());
+
+            Counter.builder("block.requests.auto.rule.hits")
+                    .description("Block requests decided by an auto-processing rule")
+                    .tag("rule", rule.getName())
+                    .tag("status", rule.getStatus().name())
+                    .register(meterRegistry)
+                    .increment(response.getProcessedCount());
+            processed += response.getProcessedCount();
+        }
+        return processed;
+    }
+
+    private void loadUserHistory(List<BlockRequestCandidate> batch) {
+        Set<Long> userIds = new HashSet<>();
+        batch.forEach(candidate -> userIds.add(candidate.getUserId()));
+
+        Instant since = Instant.now().minus(Duration.ofDays(properties.getHistoryDays()));
+        Map<Long, long[]> history = new LinkedHashMap<>();
+        for (Object[] row : blockRequestRepository.summarizeHistoryByUserIds(userIds, since)) {
+            history.put(((Number) row[0]).longValue(),
+                    new long[]{((Number) row[1]).longValue(), ((Number) row[2]).longValue()});
+        }
+
+        // The candidate is one of its user's recent requests itself; it only counts the others
+        for (BlockRequestCandidate candidate : batch) {
+            long[] counts = history.getOrDefault(candidate.getUserId(), new long[2]);
+            long self = candidate.getCreatedAt().isBefore(since) ? 0 : 1;
+            candidate.setRecentUserRequests(Math.max(0, counts[0] - self));
+            candidate.setRejectedUserRequests(counts[1]);
+        }
+    }
+
+    private CompiledRule compile(BlockRequestAutoProcessingProperties.Rule rule) {
+        if (rule.getName() == null || rule.getName().isBlank()) {
+            throw new IllegalStateException("Auto-processing rule must have a name");
+        }
+
+        BlockRequestStatus status;
+        try {
+            status = BlockRequestService.parseDecision(rule.getDecision());
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Invalid decision in auto-processing rule '" + rule.getName() + "'", e);
+        }
+
+        Predicate<BlockRequestCandidate> predicate = candidate -> true;
+        if (rule.getReasonPattern() != null) {
+            Pattern pattern = Pattern.compile(rule.getReasonPattern(), Pattern.CASE_INSENSITIVE);
+            predicate = predicate.and(candidate -> candidate.getReason() != null && pattern.matcher(candidate.getReason()).find());
+        }
+        if (!rule.getCardStatuses().isEmpty()) {
+            Set<?> statuses = Set.copyOf(rule.getCardStatuses());
+            predicate = predicate.and(candidate -> statuses.contains(candidate.getCardStatus()));
+        }
+        if (rule.getMaxRecentRequests() != null) {
+            long max = rule.getMaxRecentRequests();
+            predicate = predicate.and(candidate -> candidate.getRecentUserRequests() <= max);
+        }
+        if (rule.getMaxRejectedRequests() != null) {
+            long max = rule.getMaxRejectedRequests();
+            predicate = predicate.and(candidate -> candidate.getRejectedUserRequests() <= max);
+        }
+
+        String comment = rule.getComment() != null ? rule.getComment() : "Auto-processed by rule '" + rule.getName() + "'";
+        return new CompiledRule(rule.getName(), status, comment, predicate);
+    }
+
+    @Getter
+    private static class CompiledRule {
+        private final String name;
+        private final BlockRequestStatus status;
+        private final String comment;
+        private final Predicate<BlockRequestCandidate> predicate;
+
+        private CompiledRule(String name, BlockRequestStatus status, String comment, Predicate<BlockRequestCandidate> predicate) {
+            this.name = name;
+            this.status = status;
+            this.comment = comment;
+            this.predicate = predicate;
+        }
+    }
+}
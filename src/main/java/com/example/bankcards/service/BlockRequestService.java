@@ -4,24 +4,39 @@ import com.example.bankcards.dto.*;
 import com.example.bankcards.entity.BlockRequest;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.AuditAction;
 import com.example.bankcards.enums.BlockRequestStatus;
 import com.example.bankcards.enums.CardStatus;
+import com.example.bankcards.enums.OutboxEventType;
+import com.example.bankcards.event.AdminEvent;
 import com.example.bankcards.exception.InvalidDecisionException;
 import com.example.bankcards.exception.BlockRequestException;
 import com.example.bankcards.exception.UserNotFoundException;
 import com.example.bankcards.exception.CardNotFoundException;
+import com.example.bankcards.repository.BlockRequestListingRepository;
 import com.example.bankcards.repository.BlockRequestRepository;
 import com.example.bankcards.repository.CardRepository;
 import com.example.bankcards.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -30,14 +45,27 @@ public class BlockRequestService {
 
     private static final String DECISION_APPROVE = "approve";
     private static final String DECISION_REJECT = "reject";
+    private static final String PENDING_UNIQUE_CONSTRAINT = "uq_block_requests_card_pending";
+    private static final Instant OPEN_RANGE_END = Instant.parse("9999-12-31T00:00:00Z");
 
     private final BlockRequestRepository blockRequestRepository;
+    private final BlockRequestListingRepository blockRequestListingRepository;
     private final CardRepository cardRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
+    private final AuditService auditService;
+
+    @Value("${app.block-requests.claim-lease:900000}")
+    private long claimLeaseMs;
+
+    @Value("${app.block-requests.archive.age:7776000000}")
+    private long archiveAgeMs;
 
     @Transactional
     public BlockRequestResponse createBlockRequest(String username, Long cardId, BlockRequestCreateRequest request) {
         User user = findUserByUsername(username);
+        lockCards(List.of(cardId));
         Card card = findCardByIdAndUser(cardId, username);
 
         validateCardForBlockRequest(card);
@@ -49,24 +77,45 @@ public class BlockRequestService {
                 .status(BlockRequestStatus.PENDING)
                 .build();
 
-        BlockRequest savedRequest = blockRequestRepository.save(blockRequest);
+        BlockRequest savedRequest = savePendingRequest(blockRequest);
         log.info("Block request created: id={}, cardId={}, user={}", savedRequest.getId(), cardId, username);
+        eventPublisher.publishEvent(AdminEvent.blockRequestCreated(savedRequest.getId(), cardId));
+        outboxService.blockRequestChanged(OutboxEventType.BLOCK_REQUEST_CREATED,
+                savedRequest.getId(), cardId, BlockRequestStatus.PENDING);
 
         return mapToBlockRequestResponse(savedRequest);
     }
 
+    // A user's own history always includes archived requests; both halves are limited to one user
     @Transactional(readOnly = true)
     public Page<BlockRequestResponse> getUserBlockRequests(String username, Pageable pageable) {
         User user = findUserByUsername(username);
-        Page<BlockRequest> requests = blockRequestRepository.findByUserOrderByCreatedAtDesc(user, pageable);
-        return requests.map(this::mapToBlockRequestResponse);
+        return blockRequestListingRepository.findListItemsWithArchive(null, user.getId(), null, null, pageable)
+                .map(this::mapToBlockRequestResponse);
     }
 
     @Transactional(readOnly = true)
     public Page<BlockRequestResponse> getAllBlockRequests(BlockRequestStatus status, Pageable pageable) {
-        Page<BlockRequest> requests = (status != null)
-                ? blockRequestRepository.findByStatusOrderByCreatedAtDesc(status, pageable)
-                : blockRequestRepository.findAll(pageable);
+        return getAllBlockRequests(status, null, null, false, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<BlockRequestResponse> getAllBlockRequests(BlockRequestStatus status, Instant from, Instant to,
+                                                          boolean includeArchived, Pageable pageable) {
+        Page<BlockRequestListItem> requests;
+        if (readsArchive(status, from, to, includeArchived)) {
+            requests = blockRequestListingRepository.findListItemsWithArchive(status, null, from, to, pageable);
+        } else if (from != null || to != null) {
+            Instant rangeFrom = from != null ? from : Instant.EPOCH;
+            Instant rangeTo = to != null ? to : OPEN_RANGE_END;
+            requests = status != null
+                    ? blockRequestRepository.findListItemsByStatusInRange(status, rangeFrom, rangeTo, pageable)
+                    : blockRequestRepository.findListItemsInRange(rangeFrom, rangeTo, pageable);
+        } else if (status != null) {
+            requests = blockRequestRepository.findListItemsByStatus(status, pageable);
+        } else {
+            requests = blockRequestRepository.findAllListItems(pageable);
+        }
 
         return requests.map(this::mapToBlockRequestResponse);
     }
@@ -74,24 +123,81 @@ public class BlockRequestService {
     @Transactional
     public BlockRequestResponse processBlockRequest(String adminUsername, Long requestId, BlockRequestProcessRequest request) {
         User admin = findUserByUsername(adminUsername);
-        BlockRequest blockRequest = findBlockRequestById(requestId);
+        blockRequestRepository.findCardIdById(requestId).ifPresent(cardId -> lockCards(List.of(cardId)));
+        BlockRequest blockRequest = lockBlockRequestById(requestId);
 
-        validateBlockRequestForProcessing(blockRequest);
+        validateBlockRequestForProcessing(blockRequest, admin);
 
         updateBlockRequestWithDecision(blockRequest, admin, request);
         BlockRequest savedRequest = blockRequestRepository.save(blockRequest);
 
         log.info("Block request processed: id={}, status={}, admin={}",
                 savedRequest.getId(), savedRequest.getStatus(), adminUsername);
+        eventPublisher.publishEvent(AdminEvent.blockRequestsProcessed(
+                savedRequest.getStatus().name(), List.of(savedRequest.getId())));
+        outboxService.blockRequestChanged(OutboxEventType.BLOCK_REQUEST_PROCESSED,
+                savedRequest.getId(), savedRequest.getCard().getId(), savedRequest.getStatus());
+        auditService.record(AuditAction.BLOCK_REQUEST_PROCESSED, savedRequest.getId(),
+                auditDetails(savedRequest.getCard().getId(), savedRequest.getStatus()));
 
         return mapToBlockRequestResponse(savedRequest);
     }
 
+    // One locking read plus two set-based updates in a single transaction, however many requests are in the batch.
+    // Requests that do not exist or are no longer pending are skipped and reported back
+    @Transactional
+    public BlockRequestBatchProcessResponse processBlockRequests(String adminUsername, BlockRequestBatchProcessRequest request) {
+        BlockRequestStatus status = parseDecision(request.getDecision());
+        User admin = findUserByUsername(adminUsername);
+
+        BlockRequestBatchProcessResponse response =
+                applyDecisionToPending(request.getRequestIds(), status, admin, request.getAdminComment());
+
+        log.info("Block requests batch processed: status={}, processed={}, cardsBlocked={}, skipped={}, admin={}",
+                status, response.getProcessedCount(), response.getBlockedCardsCount(),
+                response.getSkippedRequestIds().size(), adminUsername);
+        return response;
+    }
+
+    // Used by the rules engine: same transition and card blocking as an admin decision, with no admin recorded
+    @Transactional
+    public BlockRequestBatchProcessResponse processBlockRequestsAutomatically(Collection<Long> requestIds,
+                                                                             BlockRequestStatus status,
+                                                                             String comment) {
+        return applyDecisionToPending(requestIds, status, null, comment);
+    }
+
+    @Transactional
+    public List<BlockRequestResponse> claimNextBlockRequests(String adminUsername, int limit) {
+        User admin = findUserByUsername(adminUsername);
+
+        List<Long> claimedIds = blockRequestRepository.claimNextPending(admin.getId(), limit, claimLeaseMs);
+        if (claimedIds.isEmpty()) {
+            return List.of();
+        }
+
+        log.info("Admin {} claimed {} block requests", adminUsername, claimedIds.size());
+        return blockRequestRepository.findAllWithCardByIdIn(claimedIds)
+                .stream()
+                .map(this::mapToBlockRequestResponse)
+                .toList();
+    }
+
+    @Transactional
+    public int releaseBlockRequestClaims(String adminUsername) {
+        User admin = findUserByUsername(adminUsername);
+        int released = blockRequestRepository.releaseClaims(admin, BlockRequestStatus.PENDING);
+
+        log.info("Admin {} released {} block request claims", adminUsername, released);
+        return released;
+    }
+
     @Transactional(readOnly = true)
     public Map<String, Object> getBlockRequestsStatistics() {
-        long pendingCount = blockRequestRepository.countByStatus(BlockRequestStatus.PENDING);
-        long approvedCount = blockRequestRepository.countByStatus(BlockRequestStatus.APPROVED);
-        long rejectedCount = blockRequestRepository.countByStatus(BlockRequestStatus.REJECTED);
+        Map<BlockRequestStatus, Long> counts = blockRequestListingRepository.countByStatusWithArchive();
+        long pendingCount = counts.getOrDefault(BlockRequestStatus.PENDING, 0L);
+        long approvedCount = counts.getOrDefault(BlockRequestStatus.APPROVED, 0L);
+        long rejectedCount = counts.getOrDefault(BlockRequestStatus.REJECTED, 0L);
         long totalCount = pendingCount + approvedCount + rejectedCount;
 
         return Map.of(
@@ -112,49 +218,152 @@ public class BlockRequestService {
                 .orElseThrow(() -> new CardNotFoundException("Card not found or does not belong to user"));
     }
 
-    private BlockRequest findBlockRequestById(Long requestId) {
-        return blockRequestRepository.findById(requestId)
+    private BlockRequest lockBlockRequestById(Long requestId) {
+        return blockRequestRepository.findByIdForUpdate(requestId)
                 .orElseThrow(() -> new BlockRequestException("Block request not found"));
     }
 
+    // Every change that appends outbox events for a card holds the card's row lock, so concurrent changes to it draw
+    // their outbox ids in commit order (see OutboxService). Rejections and repeated approvals do not update the card,
+    // so the lock is taken explicitly, and always before the block request locks
+    private void lockCards(Collection<Long> cardIds) {
+        if (!cardIds.isEmpty()) {
+            cardRepository.lockIds(cardIds);
+        }
+    }
+
     private void validateCardForBlockRequest(Card card) {
         if (card.getStatus() == CardStatus.BLOCKED) {
             throw new BlockRequestException("Card is already blocked");
         }
+    }
 
-        if (blockRequestRepository.existsByCardAndStatus(card, BlockRequestStatus.PENDING)) {
-            throw new BlockRequestException("Block request for this card is already pending");
+    // A second pending request for the same card is rejected by uq_block_requests_card_pending,
+    // which also covers concurrent submissions that a pre-insert check would let through. Sequence ids
+    // defer the INSERT to the flush, so it is flushed here where the violation can still be mapped
+    private BlockRequest savePendingRequest(BlockRequest blockRequest) {
+        try {
+            return blockRequestRepository.saveAndFlush(blockRequest);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && PENDING_UNIQUE_CONSTRAINT.equals(violation.getConstraintName())) {
+                throw new BlockRequestException("Block request for this card is already pending", e);
+            }
+            throw e;
         }
     }
 
-    private void validateBlockRequestForProcessing(BlockRequest blockRequest) {
+    private void validateBlockRequestForProcessing(BlockRequest blockRequest, User admin) {
         if (blockRequest.getStatus() != BlockRequestStatus.PENDING) {
             throw new BlockRequestException("Block request has already been processed");
         }
+
+        User claimedBy = blockRequest.getClaimedByAdmin();
+        if (claimedBy != null && !claimedBy.getId().equals(admin.getId())
+                && blockRequest.getClaimExpiresAt() != null && blockRequest.getClaimExpiresAt().isAfter(Instant.now())) {
+            throw new BlockRequestException("Block request is claimed by another admin");
+        }
     }
 
     private void updateBlockRequestWithDecision(BlockRequest blockRequest, User admin, BlockRequestProcessRequest request) {
         blockRequest.setProcessedAt(Instant.now());
         blockRequest.setProcessedByAdmin(admin);
         blockRequest.setAdminComment(request.getAdminComment());
+        blockRequest.setClaimedByAdmin(null);
+        blockRequest.setClaimExpiresAt(null);
 
-        String decision = request.getDecision();
+        BlockRequestStatus status = parseDecision(request.getDecision());
+        blockRequest.setStatus(status);
 
-        if (DECISION_APPROVE.equalsIgnoreCase(decision)) {
-            blockRequest.setStatus(BlockRequestStatus.APPROVED);
+        if (status == BlockRequestStatus.APPROVED) {
             blockCardIfNotAlreadyBlocked(blockRequest.getCard(), admin.getUsername());
-        } else if (DECISION_REJECT.equalsIgnoreCase(decision)) {
-            blockRequest.setStatus(BlockRequestStatus.REJECTED);
-        } else {
-            throw new InvalidDecisionException("Invalid decision. Use '" + DECISION_APPROVE + "' or '" + DECISION_REJECT + "'");
         }
     }
 
+    private BlockRequestBatchProcessResponse applyDecisionToPending(Collection<Long> requestIds,
+                                                                    BlockRequestStatus status,
+                                                                    User admin,
+                                                                    String comment) {
+        Set<Long> requestedIds = new LinkedHashSet<>(requestIds);
+        Long adminId = admin != null ? admin.getId() : null;
+        lockCards(blockRequestRepository.findPendingCardIds(requestedIds));
+
+        Map<Long, Long> pendingCardIds = new LinkedHashMap<>();
+        for (Object[] row : blockRequestRepository.lockPendingIdsWithCardIds(requestedIds, adminId)) {
+            pendingCardIds.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        List<Long> pendingIds = List.copyOf(pendingCardIds.keySet());
+        Set<Long> cardIds = new LinkedHashSet<>(pendingCardIds.values());
+
+        int processedCount = 0;
+        int blockedCardsCount = 0;
+        if (!pendingIds.isEmpty()) {
+            processedCount = blockRequestRepository.applyDecision(pendingIds, status, Instant.now(), admin, comment);
+            if (status == BlockRequestStatus.APPROVED) {
+                blockedCardsCount = cardRepository.updateStatusByIds(cardIds, CardStatus.BLOCKED);
+                eventPublisher.publishEvent(AdminEvent.cardStatusChanged(CardStatus.BLOCKED.name(), List.copyOf(cardIds)));
+            }
+            eventPublisher.publishEvent(AdminEvent.blockRequestsProcessed(status.name(), pendingIds));
+            appendBatchOutboxEvents(pendingCardIds, cardIds, status);
+        }
+
+        List<Long> skippedIds = new ArrayList<>(requestedIds);
+        skippedIds.removeAll(new HashSet<>(pendingIds));
+
+        return new BlockRequestBatchProcessResponse(status, requestedIds.size(), processedCount, blockedCardsCount, skippedIds);
+    }
+
+    // Same per-card order as a single decision: the card status change, then the processed request.
+    // CARD_BLOCKED is also emitted for cards that were already blocked; it carries the resulting status
+    private void appendBatchOutboxEvents(Map<Long, Long> pendingCardIds, Set<Long> cardIds, BlockRequestStatus status) {
+        if (status == BlockRequestStatus.APPROVED) {
+            cardIds.forEach(cardId ->
+                    outboxService.cardStatusChanged(OutboxEventType.CARD_BLOCKED, cardId, CardStatus.BLOCKED));
+        }
+        pendingCardIds.forEach((requestId, cardId) -> {
+            outboxService.blockRequestChanged(OutboxEventType.BLOCK_REQUEST_PROCESSED, requestId, cardId, status);
+            auditService.record(AuditAction.BLOCK_REQUEST_PROCESSED, requestId, auditDetails(cardId, status));
+        });
+    }
+
+    private static String auditDetails(Long cardId, BlockRequestStatus status) {
+        return "cardId=" + cardId + ", decision=" + status;
+    }
+
+    // Pending requests are never archived. APPROVED/REJECTED listings are the processing history and always
+    // include the archive, as does a range without a lower bound or one starting before the archive age: archived
+    // rows were processed before it, so they were created before it too. Only the unfiltered listing and ranges
+    // within the archive age stay on the hot table unless the caller passes archived=true
+    private boolean readsArchive(BlockRequestStatus status, Instant from, Instant to, boolean includeArchived) {
+        if (status == BlockRequestStatus.PENDING) {
+            return false;
+        }
+        if (includeArchived || status != null) {
+            return true;
+        }
+        if (from == null && to == null) {
+            return false;
+        }
+        return from == null || from.isBefore(Instant.now().minusMillis(archiveAgeMs));
+    }
+
+    static BlockRequestStatus parseDecision(String decision) {
+        if (DECISION_APPROVE.equalsIgnoreCase(decision)) {
+            return BlockRequestStatus.APPROVED;
+        }
+        if (DECISION_REJECT.equalsIgnoreCase(decision)) {
+            return BlockRequestStatus.REJECTED;
+        }
+        throw new InvalidDecisionException("Invalid decision. Use '" + DECISION_APPROVE + "' or '" + DECISION_REJECT + "'");
+    }
+
     private void blockCardIfNotAlreadyBlocked(Card card, String adminUsername) {
         if (card.getStatus() != CardStatus.BLOCKED) {
             card.setStatus(CardStatus.BLOCKED);
             cardRepository.save(card);
             log.info("Card blocked by admin: cardId={}, admin={}", card.getId(), adminUsername);
+            eventPublisher.publishEvent(AdminEvent.cardStatusChanged(CardStatus.BLOCKED.name(), List.of(card.getId())));
+            outboxService.cardChanged(OutboxEventType.CARD_BLOCKED, card);
         }
     }
 
@@ -180,6 +389,37 @@ public class BlockRequestService {
         }
 
         response.setAdminComment(blockRequest.getAdminComment());
+
+        if (blockRequest.getClaimedByAdmin() != null) {
+            response.setClaimedByAdminId(blockRequest.getClaimedByAdmin().getId());
+            response.setClaimExpiresAt(blockRequest.getClaimExpiresAt());
+        }
+        return response;
+    }
+
+    private BlockRequestResponse mapToBlockRequestResponse(BlockRequestListItem item) {
+        BlockRequestResponse response = new BlockRequestResponse();
+        response.setId(item.getId());
+        response.setCardId(item.getCardId());
+
+        try {
+            response.setCardMaskedNumber(Card.maskedNumberOf(item.getEncryptedCardNumber()));
+        } catch (Exception e) {
+            log.error("Error getting masked card number for card ID {}: {}", item.getCardId(), e.getMessage());
+            response.setCardMaskedNumber("**** **** **** ****");
+        }
+
+        response.setReason(item.getReason());
+        response.setStatus(item.getStatus());
+        response.setCreatedAt(item.getCreatedAt());
+        response.setProcessedAt(item.getProcessedAt());
+        response.setProcessedByAdmin(item.getProcessedByAdmin());
+        response.setAdminComment(item.getAdminComment());
+
+        if (item.getClaimedByAdminId() != null) {
+            response.setClaimedByAdminId(item.getClaimedByAdminId());
+            response.setClaimExpiresAt(item.getClaimExpiresAt());
+        }
         return response;
     }
 }
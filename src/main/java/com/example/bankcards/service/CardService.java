@@ -3,7 +3,10 @@ package com.example.bankcards.service;
 import com.example.bankcards.dto.*;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.AuditAction;
 import com.example.bankcards.enums.CardStatus;
+import com.example.bankcards.enums.OutboxEventType;
+import com.example.bankcards.event.AdminEvent;
 import com.example.bankcards.exception.CardNotFoundException;
 import com.example.bankcards.exception.CardOperationException;
 import com.example.bankcards.exception.TransferException;
@@ -13,6 +16,7 @@ import com.example.bankcards.repository.UserRepository;
 import com.example.bankcards.util.CardEncryptor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -32,6 +36,9 @@ public class CardService {
     private final CardRepository cardRepository;
     private final UserRepository userRepository;
     private final CardEncryptor cardEncryptor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
+    private final AuditService auditService;
 
     @Transactional
     public CardResponse createCardForUser(String username, AdminCreateCardRequest request) {
@@ -44,6 +51,8 @@ public class CardService {
         Card savedCard = cardRepository.save(card);
 
         log.info("Created new card for user: {}, cardId: {}", username, savedCard.getId());
+        outboxService.cardChanged(OutboxEventType.CARD_CREATED, savedCard);
+        auditService.record(AuditAction.CARD_CREATED, savedCard.getId(), "owner=" + username);
         return mapToCardResponse(savedCard);
     }
 
@@ -67,16 +76,24 @@ public class CardService {
         Card savedCard = cardRepository.save(card);
 
         log.info("Card blocked: cardId={}", cardId);
+        outboxService.cardChanged(OutboxEventType.CARD_BLOCKED, savedCard);
+        auditService.record(AuditAction.CARD_BLOCKED, cardId, null);
+        eventPublisher.publishEvent(AdminEvent.cardStatusChanged(CardStatus.BLOCKED.name(), List.of(cardId)));
         return mapToCardResponse(savedCard);
     }
 
     @Transactional
     public CardResponse activateCard(Long cardId) {
+        // Locked even when the card is already active and nothing is updated: the outbox event still needs the lock
+        cardRepository.lockIds(List.of(cardId));
         Card card = findCardById(cardId);
         card.setStatus(CardStatus.ACTIVE);
         Card savedCard = cardRepository.save(card);
 
         log.info("Card activated: cardId={}", cardId);
+        outboxService.cardChanged(OutboxEventType.CARD_ACTIVATED, savedCard);
+        auditService.record(AuditAction.CARD_ACTIVATED, cardId, null);
+        eventPublisher.publishEvent(AdminEvent.cardStatusChanged(CardStatus.ACTIVE.name(), List.of(cardId)));
         return mapToCardResponse(savedCard);
     }
 
@@ -87,6 +104,8 @@ public class CardService {
 
         cardRepository.delete(card);
         log.info("Card deleted: cardId={}", cardId);
+        outboxService.cardChanged(OutboxEventType.CARD_DELETED, card);
+        auditService.record(AuditAction.CARD_DELETED, cardId, "owner=" + card.getUser().getUsername());
     }
 
     @Transactional(readOnly = true)
@@ -105,11 +124,15 @@ public class CardService {
 
     @Transactional
     public CardResponse updateCardBalance(Long cardId, BigDecimal newBalance) {
+        cardRepository.lockIds(List.of(cardId));
         Card card = findCardById(cardId);
+        BigDecimal oldBalance = card.getBalance();
         card.setBalance(newBalance);
         Card savedCard = cardRepository.save(card);
 
         log.info("Card balance updated by admin: cardId={}, newBalance={}", cardId, newBalance);
+        outboxService.cardChanged(OutboxEventType.CARD_BALANCE_UPDATED, savedCard);
+        auditService.record(AuditAction.CARD_BALANCE_UPDATED, cardId, "balance " + oldBalance + " -> " + newBalance);
         return mapToCardResponse(savedCard);
     }
 
@@ -126,6 +149,7 @@ public class CardService {
 
         log.info("Transfer completed: transactionId={}, from={}, to={}, amount={}",
                 transactionId, request.getFromCardNumber(), request.getToCardNumber(), request.getAmount());
+        outboxService.transferCompleted(transactionId, fromCard, toCard, request.getAmount());
 
         return createTransferResponse(transactionId, fromCard, toCard, request);
     }
@@ -343,7 +367,7 @@ public class CardService {
         return PageRequest.of(filter.getPage(), filter.getSize(), sort);
     }
 
-    private CardResponse mapToCardResponse(Card card) {
+    CardResponse mapToCardResponse(Card card) {
         try {
             CardResponse response = new CardResponse();
             response.setId(card.getId());
@@ -0,0 +1,454 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.DataGeneratorProperties;
+import com.example.bankcards.enums.BlockRequestStatus;
+import com.example.bankcards.enums.CardStatus;
+import com.example.bankcards.security.RefreshTokenPartitionManager;
+import com.example.bankcards.util.CardEncryptor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// java -jar bank-cards.jar --spring.profiles.active=datagen --app.datagen.users=2500000
+// Streams users, roles, cards, block requests and refresh tokens into PostgreSQL with COPY and exits. Every row of a
+// user is derived from a random generator seeded with app.datagen.seed and the user's ordinal, so chunks can be
+// rendered (and card numbers encrypted) in parallel while the same seed always produces the same dataset
+@Slf4j
+@Service
+@Profile("datagen")
+@RequiredArgsConstructor
+public class DataGenerator implements ApplicationRunner {
+
+    private static final String[] FIRST_NAMES = {
+            "ALEXANDER", "ANNA", "DMITRY", "ELENA", "IVAN", "MARIA", "MIKHAIL", "NATALIA", "OLGA", "PAVEL",
+            "SERGEY", "SOFIA", "TATIANA", "VICTOR", "YULIA", "ANDREY", "EKATERINA", "NIKOLAY", "IRINA", "ARTEM"
+    };
+    private static final String[] LAST_NAMES = {
+            "IVANOV", "SMIRNOV", "KUZNETSOV", "POPOV", "VASILIEV", "PETROV", "SOKOLOV", "MIKHAILOV", "NOVIKOV",
+            "FEDOROV", "MOROZOV", "VOLKOV", "ALEKSEEV", "LEBEDEV", "SEMENOV", "EGOROV", "PAVLOV", "KOZLOV"
+    };
+    private static final String[] BLOCK_REASONS = {
+            "Card lost", "Card stolen", "Suspicious transactions on the card", "Card damaged", "Card no longer needed"
+    };
+    private static final String[] REJECT_COMMENTS = {
+            "Transactions confirmed by the customer", "Duplicate request", "Customer withdrew the request"
+    };
+    private static final String APPROVE_COMMENT = "Card blocked";
+    private static final long MAX_BALANCE_CENTS = 50_000_000;
+    private static final long BLOCK_REQUEST_HISTORY_SECONDS = Duration.ofDays(90).toSeconds();
+    private static final long EXPIRED_TOKEN_HISTORY_SECONDS = Duration.ofDays(30).toSeconds();
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneOffset.UTC);
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final CardEncryptor cardEncryptor;
+    private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenPartitionManager partitionManager;
+    private final DataGeneratorProperties properties;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Value("${jwt.refresh.expiration}")
+    private long refreshExpirationMs;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            generate();
+        } catch (Exception e) {
+            log.error("Data generation failed, nothing was committed", e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(applicationContext, () -> code));
+    }
+
+    public void generate() throws Exception {
+        if (properties.getUsers() < 1 || properties.getCardsPerUser() < 1 || properties.getRefreshTokensPerUser() < 0) {
+            throw new IllegalArgumentException("app.datagen.users and cards-per-user must be positive");
+        }
+        Integer existing = jdbcTemplate.queryForObject("SELECT count(*) FROM users WHERE username LIKE ?",
+                Integer.class, properties.getUsernamePrefix() + "%");
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException(existing + " users with prefix '" + properties.getUsernamePrefix()
+                    + "' already exist; use a fresh database or another app.datagen.username-prefix");
+        }
+
+        // Partitions only exist from today on, so a partitioned table gets live tokens only
+        boolean partitioned = partitionManager.isPartitioned();
+        if (partitioned) {
+            partitionManager.ensurePartitions();
+        }
+
+        long users = properties.getUsers();
+        Layout layout = layout(
+                reserveIds("users_id_seq", users),
+                reserveIds("cards_id_seq", users * maxCardsPerUser()),
+                reserveIds("block_requests_id_seq", users * maxCardsPerUser()),
+                reserveIds("refresh_tokens_id_seq", users * maxTokensPerUser()),
+                roleId("USER"), roleId("ADMIN"),
+                passwordEncoder.encode(properties.getPassword()),
+                LocalDate.now(ZoneOffset.UTC).atStartOfDay(ZoneOffset.UTC).toEpochSecond(),
+                partitioned);
+
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        log.info("Generating {} users with seed {} on {} threads", users, properties.getSeed(), threads);
+        long startTime = System.currentTimeMillis();
+        long rows = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (Connection connection = dataSource.getConnection()) {
+            boolean foreignKeyChecksSkipped = properties.isSkipForeignKeyChecks() && skipForeignKeyChecks(connection);
+            connection.setAutoCommit(false);
+            try {
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                rows += copy(copyManager, executor, threads, layout, "users",
+                        "COPY users (id, username, password_hash, enabled) FROM STDIN", this::writeUser);
+                rows += copy(copyManager, executor, threads, layout, "user_roles",
+                        "COPY user_roles (user_id, role_id) FROM STDIN", this::writeUserRoles);
+                rows += copy(copyManager, executor, threads, layout, "cards",
+                        "COPY cards (id, encrypted_number, card_holder_name, status, balance, user_id, expiration_month, "
+                                + "expiration_year) FROM STDIN", this::writeCards);
+                rows += copy(copyManager, executor, threads, layout, "block_requests",
+                        "COPY block_requests (id, card_id, user_id, reason, status, created_at, processed_at, "
+                                + "processed_by_admin_id, admin_comment) FROM STDIN", this::writeBlockRequests);
+                rows += copy(copyManager, executor, threads, layout, "refresh_tokens",
+                        "COPY refresh_tokens (id, token_hash, expires_at, created_at, revoked, user_id) FROM STDIN",
+                        this::writeRefreshTokens);
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+                if (foreignKeyChecksSkipped) {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("RESET session_replication_role");
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        jdbcTemplate.execute("ANALYZE users; ANALYZE user_roles; ANALYZE cards; ANALYZE block_requests; ANALYZE refresh_tokens");
+
+        long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+        log.info("Generated {} rows in {}ms ({} rows/s); users log in with the configured app.datagen.password",
+                rows, elapsed, rows * 1000 / elapsed);
+    }
+
+    // Foreign keys are enforced by triggers that fire per copied row and cost more than the COPY itself. Every
+    // reference points at a row generated before it, so they can be skipped like pg_restore --disable-triggers does;
+    // this takes a superuser (or SET privilege on the parameter), otherwise the checks stay on
+    private boolean skipForeignKeyChecks(Connection connection) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET session_replication_role = replica");
+            return true;
+        } catch (SQLException e) {
+            log.warn("Foreign key checks stay on, session_replication_role cannot be changed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    Layout layout(long userBase, long cardBase, long blockRequestBase, long tokenBase, long userRoleId, long adminRoleId,
+                  String passwordHash, long anchorEpochSecond, boolean partitioned) {
+        int adminEvery = properties.getAdminRatio() > 0 ? (int) Math.max(1, Math.round(1 / properties.getAdminRatio())) : 0;
+        return new Layout(properties.getSeed(), properties.getUsers(), userBase, cardBase, blockRequestBase, tokenBase,
+                userRoleId, adminRoleId, adminEvery, passwordHash, anchorEpochSecond,
+                refreshExpirationMs / 1000, partitioned);
+    }
+
+    // The table sequences step by 50 for Hibernate's pooled optimizer (015), so nextval per row would burn 50 ids each.
+    // Ids are assigned here instead and the sequence is moved past the whole range before the first row is written
+    private long reserveIds(String sequence, long count) {
+        Long last = jdbcTemplate.queryForObject(
+                "SELECT setval(?::regclass, (SELECT last_value FROM " + sequence + ") + ?)", Long.class, sequence, count);
+        return last - count;
+    }
+
+    private long roleId(String roleName) {
+        return jdbcTemplate.queryForObject("SELECT id FROM roles WHERE role_name = ?", Long.class, roleName);
+    }
+
+    private int maxCardsPerUser() {
+        return properties.getCardsPerUser() * 2 - 1;
+    }
+
+    private int maxTokensPerUser() {
+        return properties.getRefreshTokensPerUser() * 2;
+    }
+
+    // Chunks of users are rendered on the pool and written in order; at most two chunks per thread are held in memory
+    private long copy(CopyManager copyManager, ExecutorService executor, int threads, Layout layout, String table,
+                      String sql, RowWriter writer) throws Exception {
+        long startTime = System.currentTimeMillis();
+        CopyIn copyIn = copyManager.copyIn(sql);
+        try {
+            Deque<Future<byte[]>> chunks = new ArrayDeque<>();
+            for (int from = 0; from < layout.users; from += properties.getChunkSize()) {
+                int chunkFrom = from;
+                int chunkTo = Math.min(from + properties.getChunkSize(), layout.users);
+                chunks.add(executor.submit(() -> render(layout, chunkFrom, chunkTo, writer)));
+                if (chunks.size() >= threads * 2) {
+                    byte[] chunk = chunks.poll().get();
+                    copyIn.writeToCopy(chunk, 0, chunk.length);
+                }
+            }
+            while (!chunks.isEmpty()) {
+                byte[] chunk = chunks.poll().get();
+                copyIn.writeToCopy(chunk, 0, chunk.length);
+            }
+            long rows = copyIn.endCopy();
+            long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+            log.info("Copied {} rows into {} in {}ms ({} rows/s)", rows, table, elapsed, rows * 1000 / elapsed);
+            return rows;
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    byte[] render(Layout layout, int fromOrdinal, int toOrdinal, RowWriter writer) throws Exception {
+        StringBuilder out = new StringBuilder((toOrdinal - fromOrdinal) * 256);
+        for (int ordinal = fromOrdinal; ordinal < toOrdinal; ordinal++) {
+            writer.write(layout, plan(layout, ordinal), out);
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    void writeUser(Layout layout, UserPlan user, StringBuilder out) {
+        out.append(user.id).append('\t')
+                .append(properties.getUsernamePrefix()).append(String.format("%08d", user.ordinal + 1)).append('\t')
+                .append(layout.passwordHash).append('\t')
+                .append(user.enabled ? 't' : 'f').append('\n');
+    }
+
+    void writeUserRoles(Layout layout, UserPlan user, StringBuilder out) {
+        out.append(user.id).append('\t').append(layout.userRoleId).append('\n');
+        if (user.admin) {
+            out.append(user.id).append('\t').append(layout.adminRoleId).append('\n');
+        }
+    }
+
+    void writeCards(Layout layout, UserPlan user, StringBuilder out) throws Exception {
+        for (CardPlan card : user.cards) {
+            out.append(card.id).append('\t')
+                    .append(cardEncryptor.encrypt(cardNumber(card.id))).append('\t')
+                    .append(user.holderName).append('\t')
+                    .append(card.status.name()).append('\t')
+                    .append(card.balanceCents / 100).append('.').append(String.format("%02d", card.balanceCents % 100)).append('\t')
+                    .append(user.id).append('\t')
+                    .append(card.expirationMonth).append('\t')
+                    .append(card.expirationYear).append('\n');
+        }
+    }
+
+    void writeBlockRequests(Layout layout, UserPlan user, StringBuilder out) {
+        for (CardPlan card : user.cards) {
+            BlockRequestPlan request = card.blockRequest;
+            if (request == null) {
+                continue;
+            }
+            boolean processed = request.status != BlockRequestStatus.PENDING;
+            out.append(request.id).append('\t')
+                    .append(card.id).append('\t')
+                    .append(user.id).append('\t')
+                    .append(request.reason).append('\t')
+                    .append(request.status.name()).append('\t')
+                    .append(TIMESTAMP.format(Instant.ofEpochSecond(request.createdAt))).append("+00").append('\t')
+                    .append(processed ? TIMESTAMP.format(Instant.ofEpochSecond(request.processedAt)) + "+00" : "\\N").append('\t')
+                    .append(processed && request.adminId != null ? request.adminId.toString() : "\\N").append('\t')
+                    .append(processed ? request.adminComment : "\\N").append('\n');
+        }
+    }
+
+    void writeRefreshTokens(Layout layout, UserPlan user, StringBuilder out) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (TokenPlan token : user.tokens) {
+            // Same hashing as RefreshTokenProvider, over a UUID nobody holds, so the rows only add realistic volume
+            byte[] hash = digest.digest(token.token.toString().getBytes(StandardCharsets.UTF_8));
+            out.append(token.id).append('\t')
+                    .append(HEX.formatHex(hash)).append('\t')
+                    .append(TIMESTAMP.format(Instant.ofEpochSecond(token.createdAt + layout.refreshTtlSeconds))).append('\t')
+                    .append(TIMESTAMP.format(Instant.ofEpochSecond(token.createdAt))).append('\t')
+                    .append(token.revoked ? 't' : 'f').append('\t')
+                    .append(user.id).append('\n');
+        }
+    }
+
+    // Everything random about a user is drawn here in a fixed order, so every table pass sees the same user
+    UserPlan plan(Layout layout, int ordinal) {
+        SplittableRandom random = new SplittableRandom(userSeed(layout.seed, ordinal));
+        int maxCards = maxCardsPerUser();
+        int maxTokens = maxTokensPerUser();
+        int anchorYear = LocalDate.ofEpochDay(layout.anchorEpochSecond / 86_400).getYear();
+
+        long userId = layout.userBase + 1 + ordinal;
+        boolean enabled = random.nextDouble() >= properties.getDisabledUserRatio();
+        boolean admin = layout.adminEvery > 0 && ordinal % layout.adminEvery == 0;
+        String holderName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+
+        int cardCount = 1 + random.nextInt(maxCards);
+        List<CardPlan> cards = new ArrayList<>(cardCount);
+        for (int k = 0; k < cardCount; k++) {
+            long slot = (long) ordinal * maxCards + k;
+            double statusRoll = random.nextDouble();
+            CardStatus status = statusRoll < 0.9 ? CardStatus.ACTIVE : statusRoll < 0.97 ? CardStatus.BLOCKED : CardStatus.EXPIRED;
+            long balanceCents = random.nextLong(MAX_BALANCE_CENTS);
+            int month = 1 + random.nextInt(12);
+            int year = status == CardStatus.EXPIRED ? anchorYear - 1 - random.nextInt(3) : anchorYear + 1 + random.nextInt(5);
+
+            BlockRequestPlan blockRequest = null;
+            if (status == CardStatus.BLOCKED || status == CardStatus.ACTIVE && random.nextDouble() < properties.getBlockRequestRatio()) {
+                BlockRequestStatus requestStatus = status == CardStatus.BLOCKED ? BlockRequestStatus.APPROVED
+                        : random.nextDouble() < properties.getPendingBlockRequestRatio() ? BlockRequestStatus.PENDING
+                        : BlockRequestStatus.REJECTED;
+                long age = 1 + random.nextLong(BLOCK_REQUEST_HISTORY_SECONDS);
+                long createdAt = layout.anchorEpochSecond - age;
+                Long adminId = layout.adminEvery > 0
+                        ? layout.userBase + 1 + (long) random.nextInt(layout.admins()) * layout.adminEvery : null;
+                blockRequest = new BlockRequestPlan(layout.blockRequestBase + 1 + slot, requestStatus,
+                        BLOCK_REASONS[random.nextInt(BLOCK_REASONS.length)], createdAt, createdAt + random.nextLong(age),
+                        adminId, requestStatus == BlockRequestStatus.APPROVED ? APPROVE_COMMENT
+                        : REJECT_COMMENTS[random.nextInt(REJECT_COMMENTS.length)]);
+            }
+            cards.add(new CardPlan(layout.cardBase + 1 + slot, status, balanceCents, month, year, blockRequest));
+        }
+
+        int tokenCount = maxTokens > 0 ? random.nextInt(maxTokens + 1) : 0;
+        List<TokenPlan> tokens = new ArrayList<>(tokenCount);
+        for (int k = 0; k < tokenCount; k++) {
+            UUID token = new UUID(random.nextLong(), random.nextLong());
+            boolean expired = !layout.partitioned && random.nextDouble() < properties.getExpiredRefreshTokenRatio();
+            long createdAt = expired
+                    ? layout.anchorEpochSecond - layout.refreshTtlSeconds - 1 - random.nextLong(EXPIRED_TOKEN_HISTORY_SECONDS)
+                    : layout.anchorEpochSecond - random.nextLong(layout.refreshTtlSeconds);
+            tokens.add(new TokenPlan(layout.tokenBase + 1 + (long) ordinal * maxTokens + k, token, createdAt,
+                    random.nextDouble() < 0.2));
+        }
+        return new UserPlan(userId, ordinal, enabled, admin, holderName, cards, tokens);
+    }
+
+    // 16 digits: a 4 prefix, the card id and a Luhn check digit, so numbers are unique and pass card number validation
+    static String cardNumber(long cardId) {
+        String body = "4" + String.format("%014d", cardId);
+        int sum = 0;
+        for (int i = 0; i < body.length(); i++) {
+            int digit = body.charAt(body.length() - 1 - i) - '0';
+            if (i % 2 == 0) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+        }
+        return body + (10 - sum % 10) % 10;
+    }
+
+    private static long userSeed(long seed, long ordinal) {
+        long z = seed + ordinal * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 31)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 29);
+    }
+
+    @FunctionalInterface
+    interface RowWriter {
+        void write(Layout layout, UserPlan user, StringBuilder out) throws Exception;
+    }
+
+    @RequiredArgsConstructor
+    static class Layout {
+        private final long seed;
+        private final int users;
+        private final long userBase;
+        private final long cardBase;
+        private final long blockRequestBase;
+        private final long tokenBase;
+        private final long userRoleId;
+        private final long adminRoleId;
+        private final int adminEvery;
+        private final String passwordHash;
+        private final long anchorEpochSecond;
+        private final long refreshTtlSeconds;
+        private final boolean partitioned;
+
+        private int admins() {
+            return (users + adminEvery - 1) / adminEvery;
+        }
+    }
+
+    @RequiredArgsConstructor
+    static class UserPlan {
+        private final long id;
+        private final int ordinal;
+        private final boolean enabled;
+        private final boolean admin;
+        private final String holderName;
+        private final List<CardPlan> cards;
+        private final List<TokenPlan> tokens;
+    }
+
+    @RequiredArgsConstructor
+    static class CardPlan {
+        private final long id;
+        private final CardStatus status;
+        private final long balanceCents;
+        private final int expirationMonth;
+        private final int expirationYear;
+        private final BlockRequestPlan blockRequest;
+    }
+
+    @RequiredArgsConstructor
+    static class BlockRequestPlan {
+        private final long id;
+        private final BlockRequestStatus status;
+        private final String reason;
+        private final long createdAt;
+        private final long processedAt;
+        private final Long adminId;
+        private final String adminComment;
+    }
+
+    @RequiredArgsConstructor
+    static class TokenPlan {
+        private final long id;
+        private final UUID token;
+        private final long createdAt;
+        private final boolean revoked;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.JobRunResponse;
+import com.example.bankcards.entity.JobRun;
+import com.example.bankcards.enums.JobRunStatus;
+import com.example.bankcards.repository.JobRunRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Lease-based locks instead of advisory locks: a session-level advisory lock would pin a pooled
+// connection for the whole job, while chunked jobs release their connection between transactions
+@Slf4j
+@Service
+public class JobLockService {
+
+    private static final int MAX_DETAILS_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobRunRepository jobRunRepository;
+    private final MeterRegistry meterRegistry;
+    @Getter
+    private final String nodeId;
+    private final Map<String, AtomicInteger> heldLocks = new ConcurrentHashMap<>();
+
+    public JobLockService(JdbcTemplate jdbcTemplate,
+                          JobRunRepository jobRunRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.jobs.node-id:}") String nodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobRunRepository = jobRunRepository;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        log.info("Job lock service initialized for node: {}", this.nodeId);
+    }
+
+    public boolean runExclusively(String jobName, Duration lockAtMostFor, Duration lockAtLeastFor, Supplier<String> job) {
+        if (!tryLock(jobName, lockAtMostFor)) {
+            log.debug("Skipping job {}: lock is held by another node", jobName);
+            Counter.builder("jobs.lock.skipped")
+                    .description("Scheduled job runs skipped because another node holds the lock")
+                    .tag("job", jobName)
+                    .register(meterRegistry)
+                    .increment();
+            return false;
+        }
+
+        AtomicInteger held = heldLocks.computeIfAbsent(jobName, this::registerHeldGauge);
+        held.set(1);
+        long startTime = System.nanoTime();
+        JobRun run = null;
+
+        try {
+            run = jobRunRepository.save(JobRun.builder()
+                    .jobName(jobName)
+                    .nodeId(nodeId)
+                    .status(JobRunStatus.RUNNING)
+                    .startedAt(Instant.now())
+                    .build());
+            String details = job.get();
+            finishRun(run, JobRunStatus.SUCCEEDED, details, startTime);
+            return true;
+        } catch (RuntimeException e) {
+            if (run != null) {
+                finishRun(run, JobRunStatus.FAILED, e.getMessage(), startTime);
+            }
+            throw e;
+        } finally {
+            Timer.builder("jobs.lock.held.duration")
+                    .description("Time a scheduled job held its cluster lock")
+                    .tag("job", jobName)
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(System.nanoTime() - startTime));
+            held.set(0);
+            unlock(jobName, lockAtLeastFor);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Page<JobRunResponse> getJobRuns(String jobName, Pageable pageable) {
+        Page<JobRun> runs = (jobName != null && !jobName.isBlank())
+                ? jobRunRepository.findByJobNameOrderByStartedAtDesc(jobName, pageable)
+                : jobRunRepository.findAllByOrderByStartedAtDesc(pageable);
+
+        return runs.map(this::mapToJobRunResponse);
+    }
+
+    // The lease is taken on the database clock so nodes with skewed clocks still agree on expiry
+    private boolean tryLock(String jobName, Duration lockAtMostFor) {
+        int updated = jdbcTemplate.update("""
+                INSERT INTO job_locks (name, locked_until, locked_at, locked_by)
+                VALUES (?, now() + ? * interval '1 millisecond', now(), ?)
+                ON CONFLICT (name) DO UPDATE
+                SET locked_until = EXCLUDED.locked_until, locked_at = EXCLUDED.locked_at, locked_by = EXCLUDED.locked_by
+                WHERE job_locks.locked_until <= now()
+                """, jobName, lockAtMostFor.toMillis(), nodeId);
+        return updated > 0;
+    }
+
+    // Keeping the lease for lockAtLeastFor stops another node from re-running a short job in the same interval
+    private void unlock(String jobName, Duration lockAtLeastFor) {
+        try {
+            jdbcTemplate.update("""
+                    UPDATE job_locks
+                    SET locked_until = GREATEST(now(), locked_at + ? * interval '1 millisecond')
+                    WHERE name = ? AND locked_by = ?
+                    """, lockAtLeastFor.toMillis(), jobName, nodeId);
+        } catch (Exception e) {
+            log.warn("Failed to release lock for job {}, it will expire on its own: {}", jobName, e.getMessage());
+        }
+    }
+
+    private void finishRun(JobRun run, JobRunStatus status, String details, long startTime) {
+        run.setStatus(status);
+        run.setFinishedAt(Instant.now());
+        run.setDurationMs(Duration.ofNanos(System.nanoTime() - startTime).toMillis());
+        run.setDetails(details != null && details.length() > MAX_DETAILS_LENGTH
+                ? details.substring(0, MAX_DETAILS_LENGTH)
+                : details);
+
+        try {
+            jobRunRepository.save(run);
+        } catch (Exception e) {
+            log.warn("Failed to record run of job {}: {}", run.getJobName(), e.getMessage());
+        }
+        Counter.builder("jobs.runs")
+                .description("Completed scheduled job runs")
+                .tag("job", run.getJobName())
+                .tag("status", status.name())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private AtomicInteger registerHeldGauge(String jobName) {
+        AtomicInteger held = new AtomicInteger();
+        Gauge.builder("jobs.lock.held", held, AtomicInteger::get)
+                .description("Whether this node currently holds the job lock")
+                .tag("job", jobName)
+                .register(meterRegistry);
+        return held;
+    }
+
+    private JobRunResponse mapToJobRunResponse(JobRun run) {
+        JobRunResponse response = new JobRunResponse();
+        response.setId(run.getId());
+        response.setJobName(run.getJobName());
+        response.setNodeId(run.getNodeId());
+        response.setStatus(run.getStatus());
+        response.setStartedAt(run.getStartedAt());
+        response.setFinishedAt(run.getFinishedAt());
+        response.setDurationMs(run.getDurationMs());
+        response.setDetails(run.getDetails());
+        return response;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + ":" + ProcessHandle.current().pid();
+    }
+}
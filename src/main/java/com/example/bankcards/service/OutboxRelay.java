@@ -0,0 +1,101 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.event.OutboxEvent;
+import com.example.bankcards.event.OutboxSink;
+import com.example.bankcards.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Drains the outbox in id order: each batch is locked with SKIP LOCKED, handed to the sink and deleted in one
+// transaction, so every node can run a relay without a job lock and without reordering a card's events.
+// Delivery is at least once; a failed batch is rolled back and retried on the next run
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "app.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter publishedEvents;
+    private final Counter failedBatches;
+    private final Timer batchTimer;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxSink outboxSink,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.outbox.relay.batch-size:1000}") int batchSize,
+                       @Value("${app.outbox.relay.max-batches-per-run:100}") int maxBatchesPerRun) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.publishedEvents = Counter.builder("outbox.events.published")
+                .description("Outbox events handed to the sink and deleted")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder("outbox.relay.failures")
+                .description("Outbox batches rolled back because the sink or the database failed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch.duration")
+                .description("Time to lock, publish and delete one non-empty outbox batch")
+                .register(meterRegistry);
+        log.info("Outbox relay initialized: sink={}, batchSize={}", outboxSink.getClass().getSimpleName(), batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval:200}")
+    public void relayPendingEvents() {
+        try {
+            drain();
+        } catch (Exception e) {
+            failedBatches.increment();
+            log.error("Outbox relay failed, the batch will be retried: {}", e.getMessage(), e);
+        }
+    }
+
+    // Stops after a short batch or maxBatchesPerRun so a long backlog does not hold a scheduler thread
+    int drain() {
+        int relayed = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int count = relayBatch();
+            relayed += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+        return relayed;
+    }
+
+    private int relayBatch() {
+        Timer.Sample sample = Timer.start();
+        Integer count = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.lockNextBatch(batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            outboxSink.publish(events);
+            outboxEventRepository.deleteByIds(events.stream().map(OutboxEvent::getId).toList());
+            return events.size();
+        });
+        int relayed = count != null ? count : 0;
+        if (relayed > 0) {
+            sample.stop(batchTimer);
+            publishedEvents.increment(relayed);
+            log.debug("Relayed {} outbox events", relayed);
+        }
+        return relayed;
+    }
+}
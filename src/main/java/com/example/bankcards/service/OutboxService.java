@@ -0,0 +1,132 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.enums.BlockRequestStatus;
+import com.example.bankcards.enums.CardStatus;
+import com.example.bankcards.enums.OutboxEventType;
+import com.example.bankcards.event.OutboxEvent;
+import com.example.bankcards.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Events are collected for the current transaction and inserted right before it commits, after the
+// entity changes have been flushed. Callers must hold the row lock of every card they append events for:
+// the card's own UPDATE takes it, otherwise CardRepository.lockIds. A concurrent change to the same card
+// then draws its outbox ids only after this one commits, and the id order of a card's events matches the
+// commit order the relay must preserve
+@Slf4j
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final Counter appendedEvents;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository,
+                         ObjectMapper objectMapper,
+                         EntityManager entityManager,
+                         MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.appendedEvents = Counter.builder("outbox.events.appended")
+                .description("Events written to the outbox together with the change they describe")
+                .register(meterRegistry);
+    }
+
+    public void cardChanged(OutboxEventType type, Card card) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("cardId", card.getId());
+        payload.put("userId", card.getUser() != null ? card.getUser().getId() : null);
+        payload.put("status", card.getStatus().name());
+        payload.put("balance", card.getBalance());
+        append(type, card.getId(), payload);
+    }
+
+    // Set-based status updates do not load the cards, so only the new status is known
+    public void cardStatusChanged(OutboxEventType type, Long cardId, CardStatus status) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("cardId", cardId);
+        payload.put("status", status.name());
+        append(type, cardId, payload);
+    }
+
+    // One event per card so each side lands in its own card's ordered stream; transactionId links the pair
+    public void transferCompleted(String transactionId, Card fromCard, Card toCard, BigDecimal amount) {
+        append(OutboxEventType.TRANSFER_DEBITED, fromCard.getId(), transferPayload(transactionId, fromCard, toCard, amount));
+        append(OutboxEventType.TRANSFER_CREDITED, toCard.getId(), transferPayload(transactionId, toCard, fromCard, amount));
+    }
+
+    public void blockRequestChanged(OutboxEventType type, Long blockRequestId, Long cardId, BlockRequestStatus status) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("blockRequestId", blockRequestId);
+        payload.put("cardId", cardId);
+        payload.put("status", status.name());
+        append(type, cardId, payload);
+    }
+
+    private Map<String, Object> transferPayload(String transactionId, Card card, Card counterparty, BigDecimal amount) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("transactionId", transactionId);
+        payload.put("cardId", card.getId());
+        payload.put("counterpartyCardId", counterparty.getId());
+        payload.put("amount", amount);
+        payload.put("balance", card.getBalance());
+        return payload;
+    }
+
+    private void append(OutboxEventType type, Long cardId, Map<String, Object> payload) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            throw new IllegalStateException("Outbox events must be written inside a read-write transaction");
+        }
+        pendingEvents().add(OutboxEvent.forCard(type, cardId, toJson(payload)));
+    }
+
+    // Kept as a synchronization rather than a bound resource so a REQUIRES_NEW transaction, which suspends
+    // the outer synchronizations, starts its own list
+    private List<OutboxEvent> pendingEvents() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEvents pending) {
+                return pending.events;
+            }
+        }
+        PendingEvents pending = new PendingEvents();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending.events;
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox payload", e);
+        }
+    }
+
+    private class PendingEvents implements TransactionSynchronization {
+        private final List<OutboxEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            entityManager.flush();
+            outboxEventRepository.insertAll(events);
+            appendedEvents.increment(events.size());
+            log.debug("Wrote {} outbox events", events.size());
+        }
+    }
+}
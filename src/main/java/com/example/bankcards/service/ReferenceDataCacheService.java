@@ -0,0 +1,76 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.CacheRegionStatsResponse;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.security.UserPrincipalCache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+// Roles and user_roles live in Hibernate's second-level cache, local to this instance. Changes made through JPA
+// keep it consistent on their own node, other nodes see new role assignments once user-roles expires (5 minutes).
+// Authentication does not read user-roles (UserRepository.findWithRolesByUsername), so there a role change is bound
+// by the principal cache TTL alone. evictRoles() is for rows edited directly in the database, e.g. by a migration
+// or by hand, and clears this node only
+@Slf4j
+@Service
+public class ReferenceDataCacheService {
+
+    static final String ROLES_REGION = "roles";
+    static final String USER_ROLES_REGION = "user-roles";
+    static final String ROLE_QUERIES_REGION = "role-queries";
+
+    private static final List<String> REGIONS = List.of(ROLES_REGION, USER_ROLES_REGION, ROLE_QUERIES_REGION);
+
+    private final SessionFactory sessionFactory;
+    private final UserPrincipalCache userPrincipalCache;
+
+    public ReferenceDataCacheService(EntityManagerFactory entityManagerFactory, UserPrincipalCache userPrincipalCache) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.userPrincipalCache = userPrincipalCache;
+    }
+
+    public void evictRoles() {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(Role.class);
+        cache.evictCollectionData(User.class.getName() + ".roles");
+        cache.evictQueryRegion(ROLE_QUERIES_REGION);
+        // Cached principals carry authorities built from the old roles
+        userPrincipalCache.evictAll();
+        log.info("Evicted cached roles, user roles and role lookups");
+    }
+
+    public List<CacheRegionStatsResponse> getStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        return REGIONS.stream()
+                .map(region -> mapToStatsResponse(region, statistics.getCacheRegionStatistics(region)))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private CacheRegionStatsResponse mapToStatsResponse(String region, CacheRegionStatistics regionStatistics) {
+        if (regionStatistics == null) {
+            return null;
+        }
+        long hits = regionStatistics.getHitCount();
+        long misses = regionStatistics.getMissCount();
+        long elements = regionStatistics.getElementCountInMemory();
+
+        CacheRegionStatsResponse response = new CacheRegionStatsResponse();
+        response.setRegion(region);
+        response.setHitCount(hits);
+        response.setMissCount(misses);
+        response.setPutCount(regionStatistics.getPutCount());
+        response.setHitRatio(hits + misses > 0 ? (double) hits / (hits + misses) : null);
+        response.setElementCount(elements >= 0 ? elements : null);
+        return response;
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.bankcards.service;
 
 import com.example.bankcards.security.RefreshTokenProvider;
+import com.example.bankcards.security.TokenCleanupResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,33 +12,77 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TokenCleanupService {
 
+    private static final String JOB_NAME = "refresh-token-cleanup";
+
     private final RefreshTokenProvider refreshTokenProvider;
+    private final JobLockService jobLockService;
+    private final MeterRegistry meterRegistry;
 
     @Value("${jwt.cleanup.interval}")
     private long cleanupIntervalMs;
 
+    @Value("${app.jobs.token-cleanup.lock-at-most-for:3600000}")
+    private long lockAtMostForMs;
+
+    @Value("${app.jobs.token-cleanup.lock-at-least-for:60000}")
+    private long lockAtLeastForMs;
+
     @Async
     @Scheduled(fixedRateString = "${jwt.cleanup.interval}")
     public void cleanupExpiredTokens() {
-        log.info("Starting cleanup of expired and revoked refresh tokens (interval: {}ms)", cleanupIntervalMs);
-
         try {
-            long startTime = System.currentTimeMillis();
-            int deletedCount = refreshTokenProvider.cleanupExpiredTokens();
-            long duration = System.currentTimeMillis() - startTime;
-
-            if (deletedCount > 0) {
-                log.info("Successfully cleaned up {} expired refresh tokens in {}ms", deletedCount, duration);
-            } else {
-                log.debug("No expired tokens found for cleanup, completed in {}ms", duration);
-            }
+            jobLockService.runExclusively(JOB_NAME,
+                    Duration.ofMillis(lockAtMostForMs), Duration.ofMillis(lockAtLeastForMs), this::runCleanup);
         } catch (Exception e) {
             log.error("Error during token cleanup: {}", e.getMessage(), e);
         }
     }
+
+    private String runCleanup() {
+        log.info("Starting cleanup of expired and revoked refresh tokens (interval: {}ms)", cleanupIntervalMs);
+
+        TokenCleanupResult result = refreshTokenProvider.cleanupExpiredTokens();
+        recordMetrics(result);
+
+        if (result.getRowsRemoved() > 0) {
+            log.info("Successfully cleaned up {} expired refresh tokens in {}ms (mode: {}, chunks: {}, partitions dropped: {})",
+                    result.getRowsRemoved(), result.getDurationMs(), result.getMode(),
+                    result.getChunks(), result.getPartitionsDropped());
+        } else {
+            log.debug("No expired tokens found for cleanup, completed in {}ms (mode: {})",
+                    result.getDurationMs(), result.getMode());
+        }
+
+        return String.format("mode=%s, rows=%d, chunks=%d, partitionsDropped=%d",
+                result.getMode(), result.getRowsRemoved(), result.getChunks(), result.getPartitionsDropped());
+    }
+
+    private void recordMetrics(TokenCleanupResult result) {
+        Timer.builder("auth.token.cleanup")
+                .description("Duration of refresh token cleanup runs")
+                .tag("mode", result.getMode())
+                .register(meterRegistry)
+                .record(result.getDurationMs(), TimeUnit.MILLISECONDS);
+        Counter.builder("auth.token.cleanup.rows")
+                .description("Refresh tokens removed by cleanup")
+                .tag("mode", result.getMode())
+                .register(meterRegistry)
+                .increment(result.getRowsRemoved());
+        Counter.builder("auth.token.cleanup.chunks")
+                .description("Delete chunks executed by cleanup")
+                .register(meterRegistry)
+                .increment(result.getChunks());
+        Counter.builder("auth.token.cleanup.partitions.dropped")
+                .description("Refresh token partitions dropped by cleanup")
+                .register(meterRegistry)
+                .increment(result.getPartitionsDropped());
+    }
 }
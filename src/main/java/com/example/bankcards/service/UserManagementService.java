@@ -3,10 +3,12 @@ package com.example.bankcards.service;
 import com.example.bankcards.dto.*;
 import com.example.bankcards.entity.Role;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.AuditAction;
 import com.example.bankcards.exception.*;
 import com.example.bankcards.repository.RefreshTokenRepository;
 import com.example.bankcards.repository.RoleRepository;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -27,8 +29,10 @@ public class UserManagementService {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final AuditService auditService;
 
-    @Transactional
+    // Not transactional: hashing waits on the bounded password executor and must not pin a pooled connection
     public UserResponse registerUser(RegisterRequest request) {
         log.info("Registering new user: {}", request.getUsername());
         return createUserInternal(request.getUsername(), request.getPassword(), true, false);
@@ -46,7 +50,6 @@ public class UserManagementService {
         return mapToUserResponse(user);
     }
 
-    @Transactional
     public UserResponse createUser(CreateUserRequest request) {
         log.info("Admin creating new user: {}", request.getUsername());
         return createUserInternal(request.getUsername(), request.getPassword(), request.isEnabled(), true);
@@ -61,7 +64,10 @@ public class UserManagementService {
         user.setRoles(newRoles);
 
         User savedUser = saveUser(user);
+        userPrincipalCache.evict(savedUser.getUsername());
         log.info("Roles updated for user: {}", user.getUsername());
+        auditService.record(AuditAction.USER_ROLES_UPDATED, savedUser.getId(),
+                "username=" + savedUser.getUsername() + ", roles=" + request.getRoles());
         return mapToUserResponse(savedUser);
     }
 
@@ -72,7 +78,9 @@ public class UserManagementService {
 
         try {
             userRepository.delete(user);
+            userPrincipalCache.evict(username);
             log.info("User {} deleted successfully", username);
+            auditService.record(AuditAction.USER_DELETED, user.getId(), "username=" + username);
         } catch (Exception e) {
             throw new DatabaseOperationException("Failed to delete user", e);
         }
@@ -87,6 +95,7 @@ public class UserManagementService {
         user.setEnabled(!wasEnabled);
 
         User savedUser = saveUser(user);
+        userPrincipalCache.evict(username);
 
         if (wasEnabled && !savedUser.isEnabled()) {
             refreshTokenRepository.revokeAllByUser(savedUser);
@@ -94,6 +103,8 @@ public class UserManagementService {
         }
 
         log.info("User {} status changed to: {}", username, savedUser.isEnabled() ? "enabled" : "disabled");
+        auditService.record(savedUser.isEnabled() ? AuditAction.USER_ENABLED : AuditAction.USER_DISABLED,
+                savedUser.getId(), "username=" + username);
         return mapToUserResponse(savedUser);
     }
 
@@ -114,6 +125,10 @@ public class UserManagementService {
             "User {} created by admin with ID: {}" :
             "User {} registered successfully with ID: {}";
         log.info(logMessage, savedUser.getUsername(), savedUser.getId());
+        if (isAdminCreated) {
+            auditService.record(AuditAction.USER_CREATED, savedUser.getId(),
+                    "username=" + savedUser.getUsername() + ", enabled=" + savedUser.isEnabled());
+        }
 
         return mapToUserResponse(savedUser);
     }
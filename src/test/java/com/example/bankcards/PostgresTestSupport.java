@@ -0,0 +1,62 @@
+package com.example.bankcards;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.UUID;
+
+// Database for the *IT tests run by mvn verify: one Testcontainers PostgreSQL shared by all test classes, or an
+// existing database given with -Dit.jdbc-url (and -Dit.jdbc-username / -Dit.jdbc-password) where Docker is not
+// available. Liquibase migrates it on context start. Tests are skipped when neither is available
+public final class PostgresTestSupport {
+
+    private static final String JDBC_URL = System.getProperty("it.jdbc-url", "");
+    private static final String POSTGRES_IMAGE = System.getProperty("it.postgres-image", "postgres:16-alpine");
+
+    private static PostgreSQLContainer<?> container;
+
+    private PostgresTestSupport() {
+    }
+
+    public static boolean isAvailable() {
+        return !JDBC_URL.isBlank() || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    public static synchronized void register(DynamicPropertyRegistry registry) {
+        if (!JDBC_URL.isBlank()) {
+            registry.add("spring.datasource.url", () -> JDBC_URL);
+            registry.add("spring.datasource.username", () -> System.getProperty("it.jdbc-username", "postgres"));
+            registry.add("spring.datasource.password", () -> System.getProperty("it.jdbc-password", "password"));
+            return;
+        }
+        // Stopped by the Testcontainers reaper when the test JVM exits
+        if (container == null) {
+            container = new PostgreSQLContainer<>(POSTGRES_IMAGE).withDatabaseName("bankdb");
+            container.start();
+        }
+        registry.add("spring.datasource.url", container::getJdbcUrl);
+        registry.add("spring.datasource.username", container::getUsername);
+        registry.add("spring.datasource.password", container::getPassword);
+    }
+
+    // The database is shared by all test classes and runs, so fixtures get unique names instead of a cleanup
+    public static String uniqueName(String prefix) {
+        return prefix + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public static long insertUser(JdbcTemplate jdbcTemplate, String username) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, password_hash, enabled) VALUES (?, 'not-a-hash', true) RETURNING id",
+                Long.class, username);
+    }
+
+    public static long insertCard(JdbcTemplate jdbcTemplate, long userId) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO cards (encrypted_number, card_holder_name, status, balance, user_id,
+                                   expiration_month, expiration_year)
+                VALUES (?, 'IT HOLDER', 'ACTIVE', 0, ?, 12, 2030) RETURNING id
+                """, Long.class, uniqueName("it-card"), userId);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.PostgresTestSupport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Only health is public; everything else under /actuator needs the ADMIN authority
+@EnabledIf("com.example.bankcards.PostgresTestSupport#isAvailable")
+@SpringBootTest(properties = {
+        "jwt.secret=integration-test-secret-key-of-at-least-256-bits",
+        "app.outbox.sink=memory",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@AutoConfigureMockMvc
+class ActuatorSecurityIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestSupport.register(registry);
+    }
+
+    @Test
+    void health_Anonymous_IsAllowed() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-SQL-Statements"));
+    }
+
+    @Test
+    void otherEndpoints_Anonymous_AreRejected() throws Exception {
+        mockMvc.perform(get("/actuator/sqlstats")).andExpect(status().isUnauthorized());
+        mockMvc.perform(delete("/actuator/sqlstats")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(authorities = "USER")
+    void otherEndpoints_User_AreForbidden() throws Exception {
+        mockMvc.perform(get("/actuator/sqlstats")).andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/sqlstats")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void otherEndpoints_Admin_AreAllowed() throws Exception {
+        mockMvc.perform(get("/actuator/sqlstats")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isOk());
+    }
+}
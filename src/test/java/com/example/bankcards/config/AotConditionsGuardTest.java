@@ -0,0 +1,139 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.event.NdjsonFileOutboxSink;
+import com.example.bankcards.service.BlockRequestArchiveService;
+import com.example.bankcards.service.OutboxRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class AotConditionsGuardTest {
+
+    private final MockEnvironment environment = new MockEnvironment();
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+    // The beans a build with default settings generates
+    @BeforeEach
+    void setUp() {
+        register(SchedulingConfig.class);
+        register(MethodMetricsAspect.class);
+        register(SqlStatementMetricsConfig.class);
+        register(NdjsonFileOutboxSink.class);
+        register(OutboxRelay.class);
+        register(BlockRequestArchiveService.class);
+    }
+
+    @Test
+    void findMismatches_DefaultsAtRuntime_ReportsNothing() {
+        // When
+        List<String> mismatches = AotConditionsGuard.findMismatches(environment, beanFactory);
+
+        // Then
+        assertEquals(List.of(), mismatches);
+    }
+
+    @Test
+    void findMismatches_ToggleDisabledOnlyAtRuntime_ReportsIt() {
+        // Given
+        environment.setProperty("app.block-requests.archive.enabled", "false");
+
+        // When
+        List<String> mismatches = AotConditionsGuard.findMismatches(environment, beanFactory);
+
+        // Then
+        assertEquals(List.of("app.block-requests.archive.enabled=false but BlockRequestArchiveService "
+                + "was built into the image"), mismatches);
+    }
+
+    @Test
+    void findMismatches_ToggleEnabledOnlyAtRuntime_ReportsMissingBeans() {
+        // Given
+        environment.setProperty("app.outbox.sink", "memory");
+        environment.setProperty("spring.threads.virtual.enabled", "true");
+
+        // When
+        List<String> mismatches = AotConditionsGuard.findMismatches(environment, beanFactory);
+
+        // Then
+        assertEquals(4, mismatches.size());
+        assertTrue(mismatches.contains("app.outbox.sink=memory but no InMemoryOutboxSink was built into the image"));
+        assertTrue(mismatches.contains("app.outbox.sink=memory but NdjsonFileOutboxSink was built into the image"));
+        assertTrue(mismatches.contains("spring.threads.virtual.enabled=true but no VirtualThreadConfig "
+                + "was built into the image"));
+        assertTrue(mismatches.contains("spring.threads.virtual.enabled=true but SchedulingConfig "
+                + "was built into the image"));
+    }
+
+    @Test
+    void findMismatches_DatagenProfileOnlyAtRuntime_ReportsMissingGenerator() {
+        // Given
+        environment.setActiveProfiles("datagen");
+
+        // When
+        List<String> mismatches = AotConditionsGuard.findMismatches(environment, beanFactory);
+
+        // Then
+        assertEquals(List.of("active profiles [datagen] but no DataGenerator was built into the image"), mismatches);
+    }
+
+    // Every conditional component of the application has to be checked, or a runtime change to it goes unnoticed
+    @Test
+    void conditionalBeans_CoverEveryConditionalComponent() {
+        // Given
+        // The default scanner drops components whose conditions do not match the current environment
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(MetadataReader metadataReader) {
+                return metadataReader.getAnnotationMetadata().isAnnotated(Component.class.getName());
+            }
+        };
+        Set<String> conditional = new TreeSet<>();
+
+        // When
+        for (BeanDefinition candidate : scanner.findCandidateComponents("com.example.bankcards")) {
+            AnnotationMetadata metadata = ((AnnotatedBeanDefinition) candidate).getMetadata();
+            if (metadata.isAnnotated(Conditional.class.getName())) {
+                conditional.add(candidate.getBeanClassName());
+            }
+        }
+
+        // Then
+        Set<String> checked = new TreeSet<>();
+        AotConditionsGuard.CONDITIONAL_BEANS.forEach(type -> checked.add(type.getName()));
+        assertEquals(conditional, checked);
+    }
+
+    @Test
+    void onApplicationEvent_WithoutAot_SkipsCheck() {
+        // Given
+        ApplicationPreparedEvent event = mock(ApplicationPreparedEvent.class);
+
+        // When
+        new AotConditionsGuard().onApplicationEvent(event);
+
+        // Then
+        verifyNoInteractions(event);
+    }
+
+    private void register(Class<?> beanType) {
+        beanFactory.registerBeanDefinition(beanType.getName(), new RootBeanDefinition(beanType));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.bankcards.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitingDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new ConcurrencyLimitingDataSource(targetDataSource, "test", 2, 50, meterRegistry);
+        lenient().when(targetDataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    }
+
+    @Test
+    void getConnection_AllPermitsTaken_TimesOut() throws SQLException {
+        // Given
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        // When & Then
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+        assertEquals(1.0, meterRegistry.get("jdbc.connections.limiter.timeouts").counter().count());
+        verify(targetDataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void close_ReleasesPermitOnce() throws SQLException {
+        // Given
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        // When
+        first.close();
+        first.close();
+
+        // Then
+        assertNotNull(dataSource.getConnection());
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_TargetFails_ReleasesPermit() throws SQLException {
+        // Given
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        // When & Then
+        for (int i = 0; i < 3; i++) {
+            assertThrows(SQLException.class, () -> dataSource.getConnection());
+        }
+        assertEquals(2.0, meterRegistry.get("jdbc.connections.limiter.available").gauge().value());
+    }
+
+    @Test
+    void connection_DelegatesCallsToTarget() throws SQLException {
+        // Given
+        Connection connection = dataSource.getConnection();
+
+        // When
+        connection.setAutoCommit(false);
+        connection.close();
+
+        // Then
+        Connection target = connection.unwrap(Connection.class);
+        verify(target).setAutoCommit(false);
+        verify(target).close();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.security.JwtProvider;
+import com.example.bankcards.util.CardEncryptor;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class MethodMetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MethodMetricsAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new MethodMetricsAspect(meterRegistry);
+    }
+
+    @Test
+    void record_SuccessfulCall_TimedWithClassAndMethodTags() throws Exception {
+        // Given
+        CardEncryptor encryptor = proxy(cardEncryptor());
+
+        // When
+        encryptor.encrypt("4111111111111111");
+
+        // Then
+        Timer timer = meterRegistry.get(MethodMetricsAspect.DURATION_METRIC)
+                .tags("layer", "util", "class", "CardEncryptor", "method", "encrypt", "outcome", "success", "exception", "none")
+                .timer();
+        assertEquals(1, timer.count());
+        assertEquals(0.0, meterRegistry.get(MethodMetricsAspect.ACTIVE_METRIC).tag("method", "encrypt").gauge().value());
+    }
+
+    @Test
+    void record_FailedCall_TimedAsErrorAndRethrown() {
+        // Given
+        CardEncryptor encryptor = proxy(cardEncryptor());
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> encryptor.decrypt("not base64!"));
+        Timer timer = meterRegistry.get(MethodMetricsAspect.DURATION_METRIC)
+                .tags("method", "decrypt", "outcome", "error", "exception", "IllegalArgumentException")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void record_CallInProgress_CountedAsActive() {
+        // Given
+        JwtProvider target = mock(JwtProvider.class);
+        JwtProvider jwtProvider = proxy(target);
+        AtomicReference<Double> activeDuringCall = new AtomicReference<>();
+        when(target.validateToken(anyString())).thenAnswer(invocation -> {
+            activeDuringCall.set(meterRegistry.get(MethodMetricsAspect.ACTIVE_METRIC)
+                    .tag("method", "validateToken").gauge().value());
+            return true;
+        });
+
+        // When
+        assertTrue(jwtProvider.validateToken("token"));
+
+        // Then
+        assertEquals(1.0, activeDuringCall.get());
+        assertEquals(0.0, meterRegistry.get(MethodMetricsAspect.ACTIVE_METRIC).tag("method", "validateToken").gauge().value());
+    }
+
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    private static CardEncryptor cardEncryptor() {
+        CardEncryptor encryptor = new CardEncryptor();
+        ReflectionTestUtils.setField(encryptor, "keyBase64", "wM2y4L8tZ+P9v3uQ6e1sR0hT7fG5jK2l");
+        ReflectionTestUtils.invokeMethod(encryptor, "init");
+        return encryptor;
+    }
+}
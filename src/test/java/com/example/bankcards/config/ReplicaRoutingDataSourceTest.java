@@ -0,0 +1,190 @@
+package com.example.bankcards.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReadReplicaProperties properties = new ReadReplicaProperties();
+
+    @BeforeEach
+    void setUp() {
+        properties.setMaxLag(1000);
+        properties.setStickyWindow(60000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readWriteTransaction_GoesToPrimary() throws SQLException {
+        // Given
+        ReplicaRoutingDataSource dataSource = router(Map.of("replica-1", replicaWithLag(0.0)));
+
+        // When
+        Object key = dataSource.determineCurrentLookupKey();
+
+        // Then
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, key);
+    }
+
+    @Test
+    void readOnlyTransaction_AlternatesBetweenHealthyReplicas() throws SQLException {
+        // Given
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replicaWithLag(0.0));
+        replicas.put("replica-2", replicaWithLag(200.0));
+        ReplicaRoutingDataSource dataSource = router(replicas);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        List<Object> keys = List.of(dataSource.determineCurrentLookupKey(), dataSource.determineCurrentLookupKey(),
+                dataSource.determineCurrentLookupKey());
+
+        // Then
+        assertEquals(List.of("replica-1", "replica-2", "replica-1"), keys);
+    }
+
+    @Test
+    void readOnlyTransaction_SkipsLaggingAndUnreachableReplicas() throws SQLException {
+        // Given
+        DataSource unreachable = mock(DataSource.class);
+        when(unreachable.getConnection()).thenThrow(new SQLException("Connection refused"));
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("lagging", replicaWithLag(5000.0));
+        replicas.put("unreachable", unreachable);
+        replicas.put("current", replicaWithLag(10.0));
+        ReplicaRoutingDataSource dataSource = router(replicas);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When & Then
+        for (int i = 0; i < 3; i++) {
+            assertEquals("current", dataSource.determineCurrentLookupKey());
+        }
+        assertEquals(0.0, meterRegistry.get("db.replica.healthy").tag("replica", "lagging").gauge().value());
+        assertTrue(Double.isNaN(meterRegistry.get("db.replica.lag").tag("replica", "unreachable").gauge().value()));
+    }
+
+    @Test
+    void readOnlyTransaction_NoHealthyReplica_FallsBackToPrimary() throws SQLException {
+        // Given
+        ReplicaRoutingDataSource dataSource = router(Map.of("replica-1", replicaWithLag(null)));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        Object key = dataSource.determineCurrentLookupKey();
+
+        // Then
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, key);
+        assertEquals(1.0, meterRegistry.get("db.routing.connections").tag("reason", "fallback").counter().count());
+    }
+
+    @Test
+    void readOnlyTransaction_ReplicaCatchesUp_ReceivesReadsAgain() throws SQLException {
+        // Given
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getDouble(1)).thenReturn(5000.0, 0.0);
+        ReplicaRoutingDataSource dataSource = router(Map.of("replica-1", replicaReturning(resultSet)));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+
+        // When
+        dataSource.checkReplicaLag();
+
+        // Then
+        assertEquals("replica-1", dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readAfterOwnCommittedWrite_StaysOnPrimary() throws SQLException {
+        // Given
+        ReplicaRoutingDataSource dataSource = router(Map.of("replica-1", replicaWithLag(0.0)));
+        authenticateAs("alice");
+        TransactionSynchronizationManager.initSynchronization();
+        dataSource.determineCurrentLookupKey();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // When
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Object ownRead = dataSource.determineCurrentLookupKey();
+        authenticateAs("bob");
+        Object otherRead = dataSource.determineCurrentLookupKey();
+
+        // Then
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, ownRead);
+        assertEquals("replica-1", otherRead);
+    }
+
+    @Test
+    void readAfterRolledBackWrite_GoesToReplica() throws SQLException {
+        // Given
+        ReplicaRoutingDataSource dataSource = router(Map.of("replica-1", replicaWithLag(0.0)));
+        authenticateAs("alice");
+        TransactionSynchronizationManager.initSynchronization();
+        dataSource.determineCurrentLookupKey();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // When
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Object key = dataSource.determineCurrentLookupKey();
+
+        // Then
+        assertEquals("replica-1", key);
+    }
+
+    private ReplicaRoutingDataSource router(Map<String, DataSource> replicas) {
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replicas, properties, meterRegistry);
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    private DataSource replicaWithLag(Double lagMs) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getDouble(1)).thenReturn(lagMs != null ? lagMs : 0.0);
+        when(resultSet.wasNull()).thenReturn(lagMs == null);
+        return replicaReturning(resultSet);
+    }
+
+    private DataSource replicaReturning(ResultSet resultSet) throws SQLException {
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        DataSource replica = mock(DataSource.class);
+        when(replica.getConnection()).thenReturn(connection);
+        return replica;
+    }
+
+    private static void authenticateAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.bankcards.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SqlStatementMetricsFilterTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SqlStatementStatsEndpoint statsEndpoint;
+    private StatementMetricsDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        statsEndpoint = new SqlStatementStatsEndpoint();
+        dataSource = new StatementMetricsDataSource(targetDataSource);
+        lenient().when(targetDataSource.getConnection()).thenReturn(connection);
+        lenient().when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+    }
+
+    @Test
+    void doFilter_StatementsInRequest_CountedPerEndpoint() throws Exception {
+        // Given
+        SqlStatementMetricsFilter filter = new SqlStatementMetricsFilter(meterRegistry, statsEndpoint, true, 0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/cards/7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, executing(3, "/user/cards/{id}"));
+
+        // Then
+        assertEquals("3", response.getHeader(SqlStatementMetricsFilter.STATEMENTS_HEADER));
+        assertNotNull(response.getHeader(SqlStatementMetricsFilter.TIME_HEADER));
+        assertEquals(3.0, meterRegistry.get("http.server.requests.sql.statements")
+                .tags("method", "GET", "uri", "/user/cards/{id}").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("http.server.requests.sql.duration").timer().count());
+        verify(preparedStatement, times(3)).executeQuery();
+    }
+
+    @Test
+    void doFilter_HeadersDisabled_OnlyMetricsRecorded() throws Exception {
+        // Given
+        SqlStatementMetricsFilter filter = new SqlStatementMetricsFilter(meterRegistry, statsEndpoint, false, 0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/user/cards"), response, executing(1, "/user/cards"));
+
+        // Then
+        assertNull(response.getHeader(SqlStatementMetricsFilter.STATEMENTS_HEADER));
+        assertEquals(1.0, meterRegistry.get("http.server.requests.sql.statements").summary().totalAmount());
+    }
+
+    @Test
+    void topOffenders_OrderedByStatementsPerRequest() throws Exception {
+        // Given
+        SqlStatementMetricsFilter filter = new SqlStatementMetricsFilter(meterRegistry, statsEndpoint, false, 2);
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/user/cards"),
+                new MockHttpServletResponse(), executing(1, "/user/cards"));
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/admin/users"),
+                new MockHttpServletResponse(), executing(4, "/admin/users"));
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/admin/users"),
+                new MockHttpServletResponse(), executing(2, "/admin/users"));
+
+        // When
+        List<SqlStatementStatsEndpoint.EndpointSqlStats> offenders = statsEndpoint.topOffenders(null);
+
+        // Then
+        assertEquals(2, offenders.size());
+        assertEquals("GET /admin/users", offenders.get(0).getEndpoint());
+        assertEquals(2, offenders.get(0).getRequests());
+        assertEquals(3.0, offenders.get(0).getAvgStatements());
+        assertEquals(4, offenders.get(0).getMaxStatements());
+        assertEquals(1, statsEndpoint.topOffenders(1).size());
+    }
+
+    @Test
+    void execute_OutsideRequest_NotCounted() throws Exception {
+        // Given
+        SqlStatementMetricsFilter filter = new SqlStatementMetricsFilter(meterRegistry, statsEndpoint, true, 0);
+        try (Connection borrowed = dataSource.getConnection()) {
+            borrowed.prepareStatement("SELECT 1").executeQuery();
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/user/cards"), response, executing(0, "/user/cards"));
+
+        // Then
+        assertEquals("0", response.getHeader(SqlStatementMetricsFilter.STATEMENTS_HEADER));
+    }
+
+    private FilterChain executing(int statements, String pattern) {
+        return (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+            try (Connection borrowed = dataSource.getConnection()) {
+                for (int i = 0; i < statements; i++) {
+                    borrowed.prepareStatement("SELECT 1").executeQuery();
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+}
@@ -314,6 +314,22 @@ class AdminCardControllerTest {
         verify(cardService).getUserCards(eq("testuser"), any(CardFilterRequest.class));
     }
 
+    @Test
+    void processBlockRequests_EmptyRequestIds_ReturnsBadRequest() throws Exception {
+        // Arrange
+        BlockRequestBatchProcessRequest request = new BlockRequestBatchProcessRequest();
+        request.setRequestIds(List.of());
+        request.setDecision("approve");
+
+        // Act & Assert
+        mockMvc.perform(post("/admin/cards/block-requests/batch-process")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(blockRequestService, never()).processBlockRequests(anyString(), any());
+    }
+
     @Test
     void getBlockRequestsStatistics_ValidRequest_ReturnsStatistics() throws Exception {
         // Arrange
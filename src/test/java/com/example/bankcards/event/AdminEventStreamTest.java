@@ -0,0 +1,92 @@
+package com.example.bankcards.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdminEventStreamTest {
+
+    private AdminEventStream adminEventStream;
+
+    @BeforeEach
+    void setUp() {
+        adminEventStream = new AdminEventStream(new SimpleMeterRegistry(), 3, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        adminEventStream.shutdown();
+    }
+
+    @Test
+    void eventsAfter_BufferedId_ReturnsMissedEventsInOrder() {
+        // Given
+        adminEventStream.append(AdminEvent.blockRequestCreated(1L, 10L));
+        adminEventStream.append(AdminEvent.blockRequestsProcessed("APPROVED", List.of(1L)));
+        adminEventStream.append(AdminEvent.cardStatusChanged("BLOCKED", List.of(10L)));
+
+        // When
+        List<AdminEventStream.BufferedEvent> missed = adminEventStream.eventsAfter(1);
+
+        // Then
+        assertEquals(2, missed.size());
+        assertEquals(2, missed.get(0).getId());
+        assertEquals(3, missed.get(1).getId());
+        assertEquals(List.of(10L), missed.get(1).getEvent().getCardIds());
+    }
+
+    @Test
+    void eventsAfter_LatestId_ReturnsNothing() {
+        // Given
+        adminEventStream.append(AdminEvent.blockRequestCreated(1L, 10L));
+
+        // When & Then
+        assertTrue(adminEventStream.eventsAfter(1).isEmpty());
+        assertTrue(new AdminEventStream(new SimpleMeterRegistry(), 3, 60_000).eventsAfter(0).isEmpty());
+    }
+
+    @Test
+    void eventsAfter_OverwrittenId_ReturnsNull() {
+        // Given
+        for (long i = 1; i <= 5; i++) {
+            adminEventStream.append(AdminEvent.blockRequestCreated(i, 10L));
+        }
+
+        // When & Then
+        assertNull(adminEventStream.eventsAfter(1));
+        assertEquals(3, adminEventStream.eventsAfter(2).size());
+        assertEquals(5L, adminEventStream.eventsAfter(4).get(0).getEvent().getBlockRequestIds().get(0));
+    }
+
+    @Test
+    void localSequence_OwnEventId_ReturnsSequence() {
+        // When & Then
+        assertEquals(42L, adminEventStream.localSequence(adminEventStream.eventId(42)));
+    }
+
+    @Test
+    void localSequence_IdFromAnotherNode_ReturnsNull() {
+        // Given
+        AdminEventStream otherNode = new AdminEventStream(new SimpleMeterRegistry(), 3, 60_000);
+        otherNode.shutdown();
+
+        // When & Then
+        assertNull(adminEventStream.localSequence(otherNode.eventId(1)));
+        assertNull(adminEventStream.localSequence("1"));
+        assertNull(adminEventStream.localSequence(adminEventStream.eventId(1) + "x"));
+    }
+
+    @Test
+    void eventsAfter_IdFromBeforeRestart_ReturnsNull() {
+        // Given
+        adminEventStream.append(AdminEvent.blockRequestCreated(1L, 10L));
+
+        // When & Then
+        assertNull(adminEventStream.eventsAfter(7));
+    }
+}
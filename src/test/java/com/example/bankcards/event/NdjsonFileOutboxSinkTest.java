@@ -0,0 +1,72 @@
+package com.example.bankcards.event;
+
+import com.example.bankcards.enums.OutboxEventType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonFileOutboxSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void publish_AppendsOneJsonObjectPerLine() throws Exception {
+        // Given
+        Path file = tempDir.resolve("outbox/events.ndjson");
+        NdjsonFileOutboxSink sink = new NdjsonFileOutboxSink(objectMapper, file.toString(), true);
+
+        // When
+        sink.publish(List.of(event(1L, OutboxEventType.CARD_CREATED, "{\"cardId\": 7, \"balance\": 10.50}"),
+                event(2L, OutboxEventType.CARD_BLOCKED, "{\"cardId\": 7, \"status\": \"BLOCKED\"}")));
+        sink.publish(List.of(event(3L, OutboxEventType.CARD_ACTIVATED, "{\"cardId\": 7, \"status\": \"ACTIVE\"}")));
+        sink.destroy();
+
+        // Then
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(1L, first.get("id").asLong());
+        assertEquals("CARD", first.get("aggregateType").asText());
+        assertEquals(7L, first.get("aggregateId").asLong());
+        assertEquals("CARD_CREATED", first.get("type").asText());
+        assertEquals("2026-01-01T00:00:00Z", first.get("occurredAt").asText());
+        assertEquals(10.50, first.get("payload").get("balance").asDouble());
+
+        assertEquals("ACTIVE", objectMapper.readTree(lines.get(2)).get("payload").get("status").asText());
+    }
+
+    @Test
+    void publish_ReopenedFile_IsAppendedTo() throws Exception {
+        // Given
+        Path file = tempDir.resolve("events.ndjson");
+        NdjsonFileOutboxSink first = new NdjsonFileOutboxSink(objectMapper, file.toString(), false);
+        first.publish(List.of(event(1L, OutboxEventType.CARD_CREATED, "{}")));
+        first.destroy();
+
+        // When
+        NdjsonFileOutboxSink second = new NdjsonFileOutboxSink(objectMapper, file.toString(), false);
+        second.publish(List.of(event(2L, OutboxEventType.CARD_DELETED, "{}")));
+        second.destroy();
+
+        // Then
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertEquals(2L, objectMapper.readTree(lines.get(1)).get("id").asLong());
+    }
+
+    private static OutboxEvent event(Long id, OutboxEventType type, String payload) {
+        return new OutboxEvent(id, OutboxEvent.AGGREGATE_CARD, 7L, type, payload, Instant.parse("2026-01-01T00:00:00Z"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.bankcards.exception;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class GlobalExceptionHandlerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new ThrowingController())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void passwordHashingUnavailable_Returns503WithRetryAfter() throws Exception {
+        mockMvc.perform(post("/saturated"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "4"))
+                .andExpect(jsonPath("$.status").value(503))
+                .andExpect(jsonPath("$.message").value("Authentication service is busy, please retry later"));
+    }
+
+    @RestController
+    static class ThrowingController {
+        @PostMapping("/saturated")
+        void saturated() {
+            throw PasswordHashingUnavailableException.saturated(4);
+        }
+    }
+}
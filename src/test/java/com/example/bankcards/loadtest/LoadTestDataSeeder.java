@@ -0,0 +1,156 @@
+package com.example.bankcards.loadtest;
+
+import com.example.bankcards.util.CardEncryptor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Synthetic users with ACTIVE cards and a share of pending block requests. Card numbers are encrypted with the
+// application's key so the API can read them; an existing dataset of the same shape is reused
+@Slf4j
+@RequiredArgsConstructor
+public class LoadTestDataSeeder {
+
+    static final String PASSWORD = "LoadTest1!";
+    static final String ADMIN_USERNAME = "lt-admin";
+    private static final String USER_PREFIX = "lt-user-";
+    private static final long USER_ROLE_ID = 1;
+    private static final long ADMIN_ROLE_ID = 2;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CardEncryptor cardEncryptor;
+
+    public Dataset seed(LoadTestSettings settings) throws Exception {
+        if (settings.getCardsPerUser() < 2) {
+            throw new IllegalArgumentException("Transfers need at least two cards per user");
+        }
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM users WHERE username LIKE '" + USER_PREFIX + "%'", Integer.class);
+        if (existing != null && existing == settings.getUsers()) {
+            log.info("Reusing the existing load test dataset of {} users", existing);
+        } else if (existing != null && existing > 0) {
+            throw new IllegalStateException("Database holds a load test dataset of " + existing + " users, expected "
+                    + settings.getUsers() + "; use a fresh database or the same loadtest.users");
+        } else {
+            insert(settings);
+        }
+        return load();
+    }
+
+    private void insert(LoadTestSettings settings) throws Exception {
+        long startTime = System.currentTimeMillis();
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+        jdbcTemplate.update("INSERT INTO users (username, password_hash, enabled) "
+                + "SELECT ? || lpad(g::text, 6, '0'), ?, true FROM generate_series(1, ?) g",
+                USER_PREFIX, passwordHash, settings.getUsers());
+        jdbcTemplate.update("INSERT INTO users (username, password_hash, enabled) VALUES (?, ?, true)",
+                ADMIN_USERNAME, passwordHash);
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) SELECT id, ? FROM users WHERE username LIKE ?",
+                USER_ROLE_ID, USER_PREFIX + "%");
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) SELECT id, ? FROM users WHERE username = ?",
+                ADMIN_ROLE_ID, ADMIN_USERNAME);
+
+        Map<String, Long> userIds = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id, username FROM users WHERE username LIKE ? ORDER BY username",
+                rs -> {
+                    userIds.put(rs.getString("username"), rs.getLong("id"));
+                }, USER_PREFIX + "%");
+
+        List<Object[]> cards = new ArrayList<>(BATCH_SIZE);
+        int userIndex = 0;
+        for (Map.Entry<String, Long> user : userIds.entrySet()) {
+            userIndex++;
+            for (int card = 0; card < settings.getCardsPerUser(); card++) {
+                String number = String.format("55%08d%06d", userIndex, card);
+                cards.add(new Object[]{cardEncryptor.encrypt(number), user.getKey().toUpperCase(),
+                        1 + card % 12, 2030, "ACTIVE", INITIAL_BALANCE, user.getValue()});
+                if (cards.size() == BATCH_SIZE) {
+                    insertCards(cards);
+                }
+            }
+        }
+        insertCards(cards);
+
+        // The last card of every n-th user gets a pending request, so the admin listing has something to page through
+        int pendingEvery = settings.getPendingBlockRequestRatio() > 0
+                ? Math.max(1, (int) Math.round(1 / settings.getPendingBlockRequestRatio())) : 0;
+        if (pendingEvery > 0) {
+            jdbcTemplate.update("""
+                    INSERT INTO block_requests (card_id, user_id, reason, status, created_at)
+                    SELECT last_card.id, last_card.user_id, 'Seeded by the load test', 'PENDING', now()
+                    FROM (SELECT DISTINCT ON (c.user_id) c.id, c.user_id, u.username
+                          FROM cards c JOIN users u ON u.id = c.user_id
+                          WHERE u.username LIKE ?
+                          ORDER BY c.user_id, c.id DESC) last_card
+                    WHERE right(last_card.username, 6)::int % ? = 0
+                    """, USER_PREFIX + "%", pendingEvery);
+        }
+        jdbcTemplate.execute("ANALYZE users; ANALYZE cards; ANALYZE block_requests");
+        log.info("Seeded {} users with {} cards each in {}ms",
+                userIds.size(), settings.getCardsPerUser(), System.currentTimeMillis() - startTime);
+    }
+
+    private void insertCards(List<Object[]> cards) {
+        if (!cards.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO cards (encrypted_number, card_holder_name, expiration_month, "
+                    + "expiration_year, status, balance, user_id) VALUES (?, ?, ?, ?, ?, ?, ?)", cards);
+            cards.clear();
+        }
+    }
+
+    private Dataset load() throws Exception {
+        Set<Long> pendingCardIds = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT card_id FROM block_requests WHERE status = 'PENDING'", Long.class));
+        Map<String, List<SeededCard>> cardsByUser = new LinkedHashMap<>();
+        List<Object[]> rows = new ArrayList<>();
+        jdbcTemplate.query("""
+                SELECT u.username, c.id, c.encrypted_number FROM users u JOIN cards c ON c.user_id = u.id
+                WHERE u.username LIKE ? ORDER BY u.username, c.id
+                """, rs -> {
+            rows.add(new Object[]{rs.getString(1), rs.getLong(2), rs.getString(3)});
+        }, USER_PREFIX + "%");
+        for (Object[] row : rows) {
+            long cardId = (Long) row[1];
+            cardsByUser.computeIfAbsent((String) row[0], key -> new ArrayList<>())
+                    .add(new SeededCard(cardId, cardEncryptor.decrypt((String) row[2]), pendingCardIds.contains(cardId)));
+        }
+
+        List<SeededUser> users = new ArrayList<>(cardsByUser.size());
+        cardsByUser.forEach((username, cards) -> users.add(new SeededUser(username, cards)));
+        return new Dataset(users);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Dataset {
+        private final List<SeededUser> users;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class SeededUser {
+        private final String username;
+        private final List<SeededCard> cards;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class SeededCard {
+        private final long id;
+        private final String number;
+        private final boolean pendingBlockRequest;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.bankcards.loadtest;
+
+import com.example.bankcards.security.JwtProvider;
+import com.example.bankcards.util.CardEncryptor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// mvn -Ploadtest verify [-Dloadtest.rate=100 -Dloadtest.duration=120 -Dloadtest.baseline=path/to/report.json]
+// Boots the whole application on a random port against a Testcontainers PostgreSQL (or -Dloadtest.jdbc-url for a
+// database without Docker), seeds the synthetic dataset and drives the mixed workload over real HTTP. Settings are
+// listed in LoadTestSettings; the report lands in target/loadtest
+@EnabledIfSystemProperty(named = "loadtest.enabled", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.com.example.bankcards=INFO",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "jwt.secret=load-test-secret-key-of-at-least-256-bits-for-hs256",
+        "app.login-throttle.enabled=false",
+        "app.sql-stats.response-headers=false",
+        "app.outbox.ndjson.path=target/loadtest/outbox-events.ndjson",
+        "app.outbox.ndjson.fsync=false"
+})
+class LoadTestIT {
+
+    private static final LoadTestSettings SETTINGS = new LoadTestSettings();
+    private static PostgreSQLContainer<?> postgres;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CardEncryptor cardEncryptor;
+
+    @Autowired
+    private JwtProvider jwtProvider;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        if (!SETTINGS.getJdbcUrl().isBlank()) {
+            registry.add("spring.datasource.url", SETTINGS::getJdbcUrl);
+            registry.add("spring.datasource.username", SETTINGS::getJdbcUsername);
+            registry.add("spring.datasource.password", SETTINGS::getJdbcPassword);
+            return;
+        }
+        postgres = new PostgreSQLContainer<>(SETTINGS.getPostgresImage())
+                .withDatabaseName("bankdb")
+                .withCommand("postgres", "-c", "max_connections=200");
+        postgres.start();
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        LoadTestDataSeeder.Dataset dataset = new LoadTestDataSeeder(jdbcTemplate, cardEncryptor).seed(SETTINGS);
+
+        // Tokens are minted directly; logging every user in first would spend minutes in BCrypt before the run
+        Map<String, String> accessTokens = new HashMap<>();
+        dataset.getUsers().forEach(user -> accessTokens.put(user.getUsername(),
+                jwtProvider.generateAccessToken(user.getUsername(), Map.of("roles", "USER"))));
+        String adminToken = jwtProvider.generateAccessToken(LoadTestDataSeeder.ADMIN_USERNAME, Map.of("roles", "ADMIN"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        LoadTestWorkload workload = new LoadTestWorkload("http://localhost:" + port + "/api", dataset, accessTokens, adminToken);
+        OpenLoopLoadGenerator.Result result = new OpenLoopLoadGenerator(client, workload, SETTINGS).run();
+        new LoadTestReport().write(SETTINGS, result);
+
+        double errorRate = result.totalRequests() > 0 ? (double) result.totalErrors() / result.totalRequests() : 1;
+        assertTrue(errorRate <= SETTINGS.getMaxErrorRate(),
+                "Error rate " + errorRate + " exceeds loadtest.max-error-rate " + SETTINGS.getMaxErrorRate());
+    }
+}
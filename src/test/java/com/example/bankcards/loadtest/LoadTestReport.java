@@ -0,0 +1,236 @@
+package com.example.bankcards.loadtest;
+
+import com.example.bankcards.loadtest.OpenLoopLoadGenerator.EndpointStats;
+import com.example.bankcards.loadtest.OpenLoopLoadGenerator.Result;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+// report.json carries the summary and the full percentile distribution per endpoint; report.html renders the same
+// data and, given -Dloadtest.baseline=<report.json of another branch>, the change against it
+@Slf4j
+public class LoadTestReport {
+
+    private static final double[] SUMMARY_PERCENTILES = {50, 90, 95, 99, 99.9};
+    private static final int PERCENTILE_TICKS_PER_HALF_DISTANCE = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public Map<String, Object> write(LoadTestSettings settings, Result result) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("createdAt", Instant.now().toString());
+        report.put("settings", settings.describe());
+        report.put("measuredSeconds", result.getMeasuredSeconds());
+        report.put("requests", result.totalRequests());
+        report.put("errors", result.totalErrors());
+        report.put("throughput", round(result.totalRequests() / result.getMeasuredSeconds()));
+
+        JsonNode baseline = readBaseline(settings.getBaseline());
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (EndpointStats stats : result.getEndpoints().values()) {
+            Map<String, Object> endpoint = summarize(stats, result.getMeasuredSeconds());
+            if (baseline != null) {
+                endpoint.put("baseline", compare(endpoint, baseline.path("endpoints"), stats.getName()));
+            }
+            endpoint.put("distribution", distribution(stats.getLatencyMicros()));
+            endpoints.add(endpoint);
+        }
+        report.put("endpoints", endpoints);
+        if (baseline != null) {
+            report.put("baselineFile", settings.getBaseline());
+        }
+
+        Files.createDirectories(settings.getReportDir());
+        Path json = settings.getReportDir().resolve("report.json");
+        Path html = settings.getReportDir().resolve("report.html");
+        objectMapper.writeValue(json.toFile(), report);
+        Files.writeString(html, html(report));
+        log.info("Load test report written to {} and {}", json.toAbsolutePath(), html.toAbsolutePath());
+        return report;
+    }
+
+    private static Map<String, Object> summarize(EndpointStats stats, double seconds) {
+        Histogram histogram = stats.getLatencyMicros();
+        Map<String, Object> endpoint = new LinkedHashMap<>();
+        endpoint.put("name", stats.getName());
+        endpoint.put("requests", stats.requests());
+        endpoint.put("errors", stats.errors());
+        endpoint.put("skipped", stats.getSkipped().sum());
+        endpoint.put("throughput", round(histogram.getTotalCount() / seconds));
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", round(histogram.getMean() / 1000));
+        for (double percentile : SUMMARY_PERCENTILES) {
+            latency.put(percentileKey(percentile), millis(histogram.getValueAtPercentile(percentile)));
+        }
+        latency.put("max", millis(histogram.getMaxValue()));
+        endpoint.put("latencyMs", latency);
+
+        Map<String, Long> statusCodes = new TreeMap<>();
+        stats.getStatusCodes().forEach((status, count) -> statusCodes.put(statusLabel(status), count.sum()));
+        endpoint.put("statusCodes", statusCodes);
+        return endpoint;
+    }
+
+    private static List<Map<String, Object>> distribution(Histogram histogram) {
+        List<Map<String, Object>> points = new ArrayList<>();
+        if (histogram.getTotalCount() == 0) {
+            return points;
+        }
+        for (HistogramIterationValue value : histogram.percentiles(PERCENTILE_TICKS_PER_HALF_DISTANCE)) {
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("percentile", round(value.getPercentileLevelIteratedTo()));
+            point.put("latencyMs", millis(value.getValueIteratedTo()));
+            point.put("count", value.getTotalCountToThisValue());
+            points.add(point);
+        }
+        return points;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> compare(Map<String, Object> endpoint, JsonNode baselineEndpoints, String name) {
+        Map<String, Object> comparison = new LinkedHashMap<>();
+        for (JsonNode candidate : baselineEndpoints) {
+            if (!name.equals(candidate.path("name").asText())) {
+                continue;
+            }
+            Map<String, Object> latency = (Map<String, Object>) endpoint.get("latencyMs");
+            comparison.put("throughput", change((Double) endpoint.get("throughput"), candidate.path("throughput").asDouble()));
+            comparison.put("p50", change((Double) latency.get("p50"), candidate.path("latencyMs").path("p50").asDouble()));
+            comparison.put("p99", change((Double) latency.get("p99"), candidate.path("latencyMs").path("p99").asDouble()));
+            comparison.put("errors", candidate.path("errors").asLong());
+        }
+        return comparison;
+    }
+
+    private static Map<String, Object> change(double current, double baseline) {
+        Map<String, Object> change = new LinkedHashMap<>();
+        change.put("baseline", baseline);
+        change.put("changePercent", baseline > 0 ? round((current - baseline) / baseline * 100) : null);
+        return change;
+    }
+
+    private JsonNode readBaseline(String path) throws IOException {
+        if (path.isBlank()) {
+            return null;
+        }
+        Path file = Path.of(path);
+        if (!Files.exists(file)) {
+            throw new IllegalArgumentException("Baseline report " + file.toAbsolutePath() + " does not exist");
+        }
+        return objectMapper.readTree(file.toFile());
+    }
+
+    @SuppressWarnings("unchecked")
+    private String html(Map<String, Object> report) throws IOException {
+        List<Map<String, Object>> endpoints = (List<Map<String, Object>>) report.get("endpoints");
+        boolean withBaseline = report.containsKey("baselineFile");
+
+        StringBuilder html = new StringBuilder("""
+                <!DOCTYPE html>
+                <html><head><meta charset="utf-8"><title>Load test report</title>
+                <style>
+                body{font-family:sans-serif;margin:2em}table{border-collapse:collapse;margin-bottom:2em}
+                th,td{border:1px solid #ccc;padding:4px 8px;text-align:right}th:first-child,td:first-child{text-align:left}
+                .worse{color:#b00020}.better{color:#1b5e20}pre{background:#f5f5f5;padding:1em}
+                </style></head><body>
+                <h1>Load test report</h1>
+                """);
+        html.append("<p>").append(escape(String.valueOf(report.get("createdAt")))).append(": ")
+                .append(report.get("requests")).append(" requests, ").append(report.get("errors")).append(" errors, ")
+                .append(report.get("throughput")).append(" req/s over ").append(report.get("measuredSeconds")).append(" s</p>\n");
+        if (withBaseline) {
+            html.append("<p>Baseline: ").append(escape(String.valueOf(report.get("baselineFile")))).append("</p>\n");
+        }
+        html.append("<pre>").append(escape(objectMapper.writeValueAsString(report.get("settings")))).append("</pre>\n");
+
+        html.append("<h2>Endpoints</h2>\n<table><tr><th>Endpoint</th><th>Requests</th><th>Errors</th><th>req/s</th>"
+                + "<th>mean ms</th><th>p50 ms</th><th>p90 ms</th><th>p95 ms</th><th>p99 ms</th><th>p99.9 ms</th><th>max ms</th>"
+                + "<th>Status codes</th>");
+        if (withBaseline) {
+            html.append("<th>req/s vs baseline</th><th>p50 vs baseline</th><th>p99 vs baseline</th>");
+        }
+        html.append("</tr>\n");
+        for (Map<String, Object> endpoint : endpoints) {
+            Map<String, Object> latency = (Map<String, Object>) endpoint.get("latencyMs");
+            html.append("<tr><td>").append(escape((String) endpoint.get("name"))).append("</td>")
+                    .append(cell(endpoint.get("requests"))).append(cell(endpoint.get("errors")))
+                    .append(cell(endpoint.get("throughput")));
+            for (String key : List.of("mean", "p50", "p90", "p95", "p99", "p99.9", "max")) {
+                html.append(cell(latency.get(key)));
+            }
+            html.append("<td>").append(escape(String.valueOf(endpoint.get("statusCodes")))).append("</td>");
+            if (withBaseline) {
+                Map<String, Object> baseline = (Map<String, Object>) endpoint.get("baseline");
+                html.append(changeCell(baseline.get("throughput"), true))
+                        .append(changeCell(baseline.get("p50"), false))
+                        .append(changeCell(baseline.get("p99"), false));
+            }
+            html.append("</tr>\n");
+        }
+        html.append("</table>\n");
+
+        for (Map<String, Object> endpoint : endpoints) {
+            html.append("<h3>").append(escape((String) endpoint.get("name"))).append(" latency distribution</h3>\n")
+                    .append("<table><tr><th>Percentile</th><th>Latency ms</th><th>Requests at or below</th></tr>\n");
+            for (Map<String, Object> point : (List<Map<String, Object>>) endpoint.get("distribution")) {
+                html.append("<tr>").append(cell(point.get("percentile"))).append(cell(point.get("latencyMs")))
+                        .append(cell(point.get("count"))).append("</tr>\n");
+            }
+            html.append("</table>\n");
+        }
+        return html.append("</body></html>\n").toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String changeCell(Object value, boolean higherIsBetter) {
+        if (!(value instanceof Map<?, ?> change) || change.get("changePercent") == null) {
+            return "<td>n/a</td>";
+        }
+        double percent = ((Number) ((Map<String, Object>) change).get("changePercent")).doubleValue();
+        boolean better = higherIsBetter ? percent > 0 : percent < 0;
+        return "<td class=\"" + (percent == 0 ? "" : better ? "better" : "worse") + "\">"
+                + String.format(Locale.ROOT, "%+.1f%%", percent) + "</td>";
+    }
+
+    private static String cell(Object value) {
+        return "<td>" + escape(String.valueOf(value)) + "</td>";
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static String percentileKey(double percentile) {
+        return percentile == Math.rint(percentile) ? "p" + (int) percentile : "p" + percentile;
+    }
+
+    private static String statusLabel(int status) {
+        if (status == 0) {
+            return "failed";
+        }
+        return status < 0 ? "unexpected " + (-status) : Integer.toString(status);
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
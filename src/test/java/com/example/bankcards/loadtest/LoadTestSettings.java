@@ -0,0 +1,74 @@
+package com.example.bankcards.loadtest;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// All knobs are -Dloadtest.* system properties, so two branches can be run with identical settings from the command line
+@Getter
+public class LoadTestSettings {
+
+    static final String PREFIX = "loadtest.";
+
+    private final int users = intProperty("users", 500);
+    private final int cardsPerUser = intProperty("cards-per-user", 4);
+    private final double pendingBlockRequestRatio = doubleProperty("pending-block-requests", 0.5);
+    private final double rate = doubleProperty("rate", 50);
+    private final Duration warmup = Duration.ofSeconds(intProperty("warmup", 20));
+    private final Duration duration = Duration.ofSeconds(intProperty("duration", 60));
+    private final int maxInFlight = intProperty("max-in-flight", 2000);
+    private final double maxErrorRate = doubleProperty("max-error-rate", 0.01);
+    private final Map<String, Integer> mix = parseMix(property("mix",
+            "login:5,list-cards:45,transfer:25,block-request:5,admin-list:20"));
+    private final Path reportDir = Path.of(property("report-dir", "target/loadtest"));
+    private final String baseline = property("baseline", "");
+    private final String jdbcUrl = property("jdbc-url", "");
+    private final String jdbcUsername = property("jdbc-username", "postgres");
+    private final String jdbcPassword = property("jdbc-password", "password");
+    private final String postgresImage = property("postgres-image", "postgres:16-alpine");
+
+    Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("users", users);
+        description.put("cardsPerUser", cardsPerUser);
+        description.put("pendingBlockRequestRatio", pendingBlockRequestRatio);
+        description.put("rate", rate);
+        description.put("warmupSeconds", warmup.toSeconds());
+        description.put("durationSeconds", duration.toSeconds());
+        description.put("maxInFlight", maxInFlight);
+        description.put("mix", mix);
+        description.put("database", jdbcUrl.isBlank() ? postgresImage : "external");
+        return description;
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid " + PREFIX + "mix entry '" + entry + "', expected name:weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(parts[0].trim(), weight);
+            }
+        }
+        return weights;
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(PREFIX + name);
+        return value != null && !value.isBlank() ? value : defaultValue;
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(property(name, Integer.toString(defaultValue)));
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        return Double.parseDouble(property(name, Double.toString(defaultValue)));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.bankcards.loadtest;
+
+import com.example.bankcards.loadtest.LoadTestDataSeeder.Dataset;
+import com.example.bankcards.loadtest.LoadTestDataSeeder.SeededCard;
+import com.example.bankcards.loadtest.LoadTestDataSeeder.SeededUser;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// One request per scenario name in loadtest.mix. Users are picked at random; block requests walk through the cards
+// that have none pending, so the first pass never hits the one-pending-request-per-card rule
+public class LoadTestWorkload {
+
+    static final String LOGIN = "login";
+    static final String LIST_CARDS = "list-cards";
+    static final String TRANSFER = "transfer";
+    static final String BLOCK_REQUEST = "block-request";
+    static final String ADMIN_LIST = "admin-list";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final List<SeededUser> users;
+    private final List<Map.Entry<SeededUser, SeededCard>> blockableCards;
+    private final Map<String, String> accessTokens;
+    private final String adminToken;
+    private final AtomicInteger nextBlockableCard = new AtomicInteger();
+
+    public LoadTestWorkload(String baseUrl, Dataset dataset, Map<String, String> accessTokens, String adminToken) {
+        this.baseUrl = baseUrl;
+        this.users = dataset.getUsers();
+        this.accessTokens = accessTokens;
+        this.adminToken = adminToken;
+        this.blockableCards = users.stream()
+                .flatMap(user -> user.getCards().stream().skip(2)
+                        .filter(card -> !card.isPendingBlockRequest())
+                        .map(card -> Map.entry(user, card)))
+                .toList();
+    }
+
+    public ScenarioRequest next(String scenario) {
+        SeededUser user = users.get(ThreadLocalRandom.current().nextInt(users.size()));
+        return switch (scenario) {
+            case LOGIN -> new ScenarioRequest(post("/auth/login", null,
+                    "{\"username\":\"" + user.getUsername() + "\",\"password\":\"" + LoadTestDataSeeder.PASSWORD + "\"}"), 200);
+            case LIST_CARDS -> new ScenarioRequest(get("/user/cards?page=0&size=10", token(user)), 200);
+            case TRANSFER -> {
+                List<SeededCard> cards = user.getCards();
+                boolean forward = ThreadLocalRandom.current().nextBoolean();
+                SeededCard from = cards.get(forward ? 0 : 1);
+                SeededCard to = cards.get(forward ? 1 : 0);
+                yield new ScenarioRequest(post("/user/cards/transfer", token(user),
+                        "{\"fromCardNumber\":\"" + from.getNumber() + "\",\"toCardNumber\":\"" + to.getNumber()
+                                + "\",\"amount\":0.01}"), 200);
+            }
+            case BLOCK_REQUEST -> {
+                Map.Entry<SeededUser, SeededCard> card = blockableCards.get(
+                        Math.floorMod(nextBlockableCard.getAndIncrement(), blockableCards.size()));
+                yield new ScenarioRequest(post("/user/cards/" + card.getValue().getId() + "/block-request", token(card.getKey()),
+                        "{\"reason\":\"Requested by the load test\"}"), 201);
+            }
+            case ADMIN_LIST -> new ScenarioRequest(get("/admin/cards/block-requests?status=PENDING&page="
+                    + ThreadLocalRandom.current().nextInt(5) + "&size=20", adminToken), 200);
+            default -> throw new IllegalArgumentException("Unknown load test scenario '" + scenario + "'");
+        };
+    }
+
+    private String token(SeededUser user) {
+        return accessTokens.get(user.getUsername());
+    }
+
+    private HttpRequest get(String path, String token) {
+        return builder(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, String json) {
+        return builder(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder builder(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class ScenarioRequest {
+        private final HttpRequest request;
+        private final int expectedStatus;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.bankcards.loadtest;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Fixed arrival rate: request n is due at start + n / rate whether or not earlier ones have returned, each on its own
+// virtual thread. Latency is measured from the due time, so a stalled server shows up in the tail instead of quietly
+// lowering the offered load (coordinated omission). Requests due during the warmup are sent but not recorded
+@Slf4j
+public class OpenLoopLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final long DRAIN_TIMEOUT_MS = 60_000;
+
+    private final HttpClient client;
+    private final LoadTestWorkload workload;
+    private final LoadTestSettings settings;
+
+    public OpenLoopLoadGenerator(HttpClient client, LoadTestWorkload workload, LoadTestSettings settings) {
+        this.client = client;
+        this.workload = workload;
+        this.settings = settings;
+    }
+
+    public Result run() throws InterruptedException {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        List<String> scenarios = new ArrayList<>();
+        settings.getMix().forEach((scenario, weight) -> {
+            stats.put(scenario, new EndpointStats(scenario));
+            for (int i = 0; i < weight; i++) {
+                scenarios.add(scenario);
+            }
+        });
+
+        AtomicInteger inFlight = new AtomicInteger();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / settings.getRate());
+        long start = System.nanoTime();
+        long measureFrom = start + settings.getWarmup().toNanos();
+        long end = measureFrom + settings.getDuration().toNanos();
+        log.info("Offering {} requests/s for {}s warmup and {}s measurement, mix {}", settings.getRate(),
+                settings.getWarmup().toSeconds(), settings.getDuration().toSeconds(), settings.getMix());
+
+        for (long n = 0; ; n++) {
+            long due = start + n * intervalNanos;
+            if (due >= end) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            EndpointStats endpoint = stats.get(scenarios.get(ThreadLocalRandom.current().nextInt(scenarios.size())));
+            boolean measured = due >= measureFrom;
+            if (inFlight.get() >= settings.getMaxInFlight()) {
+                if (measured) {
+                    endpoint.skipped.increment();
+                }
+                continue;
+            }
+            inFlight.incrementAndGet();
+            Thread.ofVirtual().start(() -> {
+                try {
+                    send(endpoint, due, measured);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+
+        long drainDeadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MS;
+        while (inFlight.get() > 0 && System.currentTimeMillis() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        if (inFlight.get() > 0) {
+            log.warn("{} requests were still in flight after the drain timeout", inFlight.get());
+        }
+        return new Result(stats, settings.getDuration().toNanos() / 1e9, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void send(EndpointStats endpoint, long due, boolean measured) {
+        int status;
+        try {
+            LoadTestWorkload.ScenarioRequest scenarioRequest = workload.next(endpoint.getName());
+            HttpResponse<Void> response = client.send(scenarioRequest.getRequest(), HttpResponse.BodyHandlers.discarding());
+            status = response.statusCode() == scenarioRequest.getExpectedStatus() ? response.statusCode() : -response.statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = 0;
+        } catch (Exception e) {
+            status = 0;
+        }
+        if (measured) {
+            endpoint.record(status, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due));
+        }
+    }
+
+    @Getter
+    public static class Result {
+        private final Map<String, EndpointStats> endpoints;
+        private final double measuredSeconds;
+        private final long elapsedMs;
+
+        private Result(Map<String, EndpointStats> endpoints, double measuredSeconds, long elapsedMs) {
+            this.endpoints = endpoints;
+            this.measuredSeconds = measuredSeconds;
+            this.elapsedMs = elapsedMs;
+        }
+
+        public long totalRequests() {
+            return endpoints.values().stream().mapToLong(EndpointStats::requests).sum();
+        }
+
+        public long totalErrors() {
+            return endpoints.values().stream().mapToLong(EndpointStats::errors).sum();
+        }
+    }
+
+    // Status codes are keyed as received; a negative key marks an unexpected status and 0 a transport failure
+    @Getter
+    public static class EndpointStats {
+        private final String name;
+        private final Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+        private final LongAdder skipped = new LongAdder();
+
+        private EndpointStats(String name) {
+            this.name = name;
+        }
+
+        private void record(int status, long latencyMicros) {
+            statusCodes.computeIfAbsent(status, key -> new LongAdder()).increment();
+            this.latencyMicros.recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+        }
+
+        public long requests() {
+            return latencyMicros.getTotalCount() + skipped.sum();
+        }
+
+        public long errors() {
+            return statusCodes.entrySet().stream()
+                    .filter(entry -> entry.getKey() <= 0)
+                    .mapToLong(entry -> entry.getValue().sum())
+                    .sum() + skipped.sum();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.PostgresTestSupport;
+import com.example.bankcards.dto.BlockRequestListItem;
+import com.example.bankcards.enums.BlockRequestStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnabledIf("com.example.bankcards.PostgresTestSupport#isAvailable")
+@SpringBootTest(properties = {
+        "jwt.secret=integration-test-secret-key-of-at-least-256-bits",
+        "app.outbox.sink=memory",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class BlockRequestListingRepositoryIT {
+
+    @Autowired
+    private BlockRequestListingRepository listingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long ownerId;
+    private long adminId;
+    private String adminName;
+    private long pendingId;
+    private long recentApprovedId;
+    private long archivedRejectedId;
+    private long archivedApprovedId;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestSupport.register(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        ownerId = PostgresTestSupport.insertUser(jdbcTemplate, PostgresTestSupport.uniqueName("it-owner"));
+        adminName = PostgresTestSupport.uniqueName("it-admin");
+        adminId = PostgresTestSupport.insertUser(jdbcTemplate, adminName);
+        long otherId = PostgresTestSupport.insertUser(jdbcTemplate, PostgresTestSupport.uniqueName("it-other"));
+
+        pendingId = insertRequest(ownerId, "PENDING", "now()", null);
+        jdbcTemplate.update("UPDATE block_requests SET claimed_by_admin_id = ?, claim_expires_at = now() + interval '1 hour' "
+                + "WHERE id = ?", adminId, pendingId);
+        recentApprovedId = insertRequest(ownerId, "APPROVED", "now() - interval '10 days'", null);
+        archivedRejectedId = archive(insertRequest(ownerId, "REJECTED", "now() - interval '200 days'", "Card is fine"));
+        archivedApprovedId = archive(insertRequest(ownerId, "APPROVED", "now() - interval '300 days'", null));
+        insertRequest(otherId, "APPROVED", "now() - interval '20 days'", null);
+    }
+
+    @Test
+    void findListItemsWithArchive_UserFilter_PagesHotThenArchivedRows() {
+        // When
+        Page<BlockRequestListItem> first = listingRepository.findListItemsWithArchive(null, ownerId, null, null,
+                PageRequest.of(0, 2));
+        Page<BlockRequestListItem> second = listingRepository.findListItemsWithArchive(null, ownerId, null, null,
+                PageRequest.of(1, 2));
+
+        // Then
+        assertEquals(4, first.getTotalElements());
+        assertEquals(List.of(pendingId, recentApprovedId), ids(first));
+        assertEquals(List.of(archivedRejectedId, archivedApprovedId), ids(second));
+
+        BlockRequestListItem pending = first.getContent().get(0);
+        assertEquals(BlockRequestStatus.PENDING, pending.getStatus());
+        assertEquals(adminId, pending.getClaimedByAdminId());
+        assertNotNull(pending.getClaimExpiresAt());
+        assertNull(pending.getProcessedAt());
+
+        BlockRequestListItem archived = second.getContent().get(0);
+        assertEquals(BlockRequestStatus.REJECTED, archived.getStatus());
+        assertEquals(adminName, archived.getProcessedByAdmin());
+        assertEquals("Card is fine", archived.getAdminComment());
+        assertNotNull(archived.getEncryptedCardNumber());
+        assertNotNull(archived.getProcessedAt());
+        assertTrue(archived.getCreatedAt().isBefore(Instant.now().minus(Duration.ofDays(199))));
+        assertNull(archived.getClaimedByAdminId());
+        assertNull(archived.getClaimExpiresAt());
+    }
+
+    @Test
+    void findListItemsWithArchive_StatusAndRange_AppliesEveryFilter() {
+        // Given
+        Instant from = Instant.now().minus(Duration.ofDays(400));
+        Instant to = Instant.now().minus(Duration.ofDays(5));
+
+        // When
+        Page<BlockRequestListItem> approved = listingRepository.findListItemsWithArchive(BlockRequestStatus.APPROVED,
+                ownerId, from, to, PageRequest.of(0, 10));
+        Page<BlockRequestListItem> oldOnly = listingRepository.findListItemsWithArchive(null, ownerId, from,
+                Instant.now().minus(Duration.ofDays(250)), PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(List.of(recentApprovedId, archivedApprovedId), ids(approved));
+        assertEquals(2, approved.getTotalElements());
+        assertEquals(List.of(archivedApprovedId), ids(oldOnly));
+    }
+
+    @Test
+    void countByStatusWithArchive_ArchiveRun_KeepsTotals() {
+        // Given
+        long requestId = insertRequest(ownerId, "REJECTED", "now() - interval '150 days'", null);
+        Map<BlockRequestStatus, Long> before = listingRepository.countByStatusWithArchive();
+
+        // When
+        archive(requestId);
+        Map<BlockRequestStatus, Long> after = listingRepository.countByStatusWithArchive();
+
+        // Then
+        assertEquals(before, after);
+        assertTrue(after.get(BlockRequestStatus.REJECTED) >= 2);
+        assertTrue(after.get(BlockRequestStatus.PENDING) >= 1);
+    }
+
+    private long insertRequest(long userId, String status, String createdAt, String adminComment) {
+        long cardId = PostgresTestSupport.insertCard(jdbcTemplate, userId);
+        boolean processed = !"PENDING".equals(status);
+        return jdbcTemplate.queryForObject("INSERT INTO block_requests (card_id, user_id, reason, status, created_at, "
+                        + "processed_at, processed_by_admin_id, admin_comment) "
+                        + "VALUES (?, ?, 'Listing test', ?, " + createdAt + ", "
+                        + (processed ? createdAt + " + interval '1 hour'" : "NULL") + ", ?, ?) RETURNING id",
+                Long.class, cardId, userId, status, processed ? adminId : null, adminComment);
+    }
+
+    // Moves one row the way the archival job does, without touching other tests' rows
+    private long archive(long requestId) {
+        jdbcTemplate.update("""
+                WITH moved AS (
+                    DELETE FROM block_requests WHERE id = ?
+                    RETURNING id, card_id, user_id, reason, status, created_at, processed_at,
+                              processed_by_admin_id, admin_comment
+                )
+                INSERT INTO block_requests_archive (id, card_id, user_id, reason, status, created_at, processed_at,
+                                                    processed_by_admin_id, admin_comment)
+                SELECT * FROM moved
+                """, requestId);
+        return requestId;
+    }
+
+    private static List<Long> ids(Page<BlockRequestListItem> page) {
+        return page.getContent().stream().map(BlockRequestListItem::getId).toList();
+    }
+}
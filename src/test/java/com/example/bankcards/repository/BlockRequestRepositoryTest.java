@@ -0,0 +1,142 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.dto.BlockRequestListItem;
+import com.example.bankcards.entity.BlockRequest;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.BlockRequestStatus;
+import com.example.bankcards.enums.CardStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class BlockRequestRepositoryTest {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private BlockRequestRepository blockRequestRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User firstUser;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Role userRole = entityManager.persist(Role.builder().roleName("USER").enabled(true).build());
+        User admin = entityManager.persist(user("admin", userRole));
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            users.add(entityManager.persist(user("user" + i, userRole)));
+        }
+        firstUser = users.get(0);
+
+        // 150 requests over 30 cards owned by 5 users, a third of them processed by the admin
+        for (int i = 0; i < 150; i++) {
+            User owner = users.get(i % users.size());
+            Card card = entityManager.persist(Card.builder()
+                    .encryptedNumber("encrypted-" + i)
+                    .cardHolderName("Holder " + i)
+                    .expirationMonth(12)
+                    .expirationYear(2030)
+                    .status(CardStatus.ACTIVE)
+                    .balance(BigDecimal.ZERO)
+                    .user(owner)
+                    .build());
+            boolean processed = i % 3 == 0;
+            entityManager.persist(BlockRequest.builder()
+                    .card(card)
+                    .user(owner)
+                    .reason("Reason " + i)
+                    .status(processed ? BlockRequestStatus.APPROVED : BlockRequestStatus.PENDING)
+                    .processedAt(processed ? Instant.now() : null)
+                    .processedByAdmin(processed ? admin : null)
+                    .claimedByAdmin(processed ? null : admin)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAllListItems_FullPage_IsOneSelectPlusCount() {
+        // When
+        Page<BlockRequestListItem> page = blockRequestRepository.findAllListItems(PageRequest.of(0, PAGE_SIZE));
+
+        // Then
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        assertEquals(150, page.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findListItemsByStatus_CarriesAdminColumns() {
+        // When
+        Page<BlockRequestListItem> approved = blockRequestRepository.findListItemsByStatus(
+                BlockRequestStatus.APPROVED, PageRequest.of(0, PAGE_SIZE));
+        Page<BlockRequestListItem> pending = blockRequestRepository.findListItemsByStatus(
+                BlockRequestStatus.PENDING, PageRequest.of(0, PAGE_SIZE));
+
+        // Then
+        assertEquals(50, approved.getContent().size());
+        assertTrue(approved.getContent().stream().allMatch(item -> "admin".equals(item.getProcessedByAdmin())));
+        assertTrue(pending.getContent().stream().allMatch(item -> item.getClaimedByAdminId() != null));
+        assertTrue(pending.getContent().stream().allMatch(item -> item.getEncryptedCardNumber().startsWith("encrypted-")));
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findListItemsByUser_NewestFirst() {
+        // When
+        Page<BlockRequestListItem> page = blockRequestRepository.findListItemsByUser(firstUser, PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(10, page.getContent().size());
+        assertEquals(30, page.getTotalElements());
+        assertFalse(page.getContent().get(0).getCreatedAt().isBefore(page.getContent().get(9).getCreatedAt()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private User user(String username, Role role) {
+        return User.builder()
+                .username(username)
+                .passwordHash("hash")
+                .enabled(true)
+                .roles(Set.of(role))
+                .build();
+    }
+}
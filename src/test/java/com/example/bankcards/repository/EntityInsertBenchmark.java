@@ -0,0 +1,94 @@
+package com.example.bankcards.repository;
+
+import com.example.benchmarks.InsertBenchmarkRows.IdentityCardRow;
+import com.example.benchmarks.InsertBenchmarkRows.SequenceCardRow;
+import jakarta.persistence.Table;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+// [BENCHMARK_DB_URL=jdbc:postgresql://host:5432/db] mvn -Pbenchmark test -Djmh.include=EntityInsertBenchmark
+// Persists 100k card-shaped rows in one transaction with the settings from application.yml. Scratch tables carry the
+// IDENTITY mapping the entities used before next to the pooled sequence mapping they use now
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityInsertBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int FLUSH_EVERY = 1_000;
+
+    @Param({"IDENTITY", "SEQUENCE"})
+    public String mapping;
+
+    private SessionFactory sessionFactory;
+    private Class<?> entityClass;
+    private IntFunction<Object> rowFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = env("BENCHMARK_DB_URL", "jdbc:postgresql://localhost:5432/bankdb");
+
+        if ("IDENTITY".equals(mapping)) {
+            entityClass = IdentityCardRow.class;
+            rowFactory = IdentityCardRow::new;
+        } else {
+            entityClass = SequenceCardRow.class;
+            rowFactory = SequenceCardRow::new;
+        }
+
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(entityClass)
+                .setProperty("hibernate.connection.url", url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true")
+                .setProperty("hibernate.connection.username", env("BENCHMARK_DB_USERNAME", "postgres"))
+                .setProperty("hibernate.connection.password", env("BENCHMARK_DB_PASSWORD", "password"))
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", "50")
+                .setProperty("hibernate.order_inserts", "true")
+                .buildSessionFactory();
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        sessionFactory.inTransaction(session -> session
+                .createNativeMutationQuery("TRUNCATE TABLE " + tableName())
+                .executeUpdate());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public void insert100k() {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            for (int i = 0; i < ROWS; i++) {
+                session.persist(rowFactory.apply(i));
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            transaction.commit();
+        }
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : defaultValue;
+    }
+
+    private String tableName() {
+        return entityClass.getAnnotation(Table.class).name();
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs without a test transaction: cached query results only become usable once the inserting transaction commits
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoleRepositoryTest {
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Role userRole = roleRepository.save(Role.builder().roleName("USER").enabled(true).build());
+        roleRepository.save(Role.builder().roleName("ADMIN").enabled(true).build());
+        userRepository.save(User.builder()
+                .username("alice")
+                .passwordHash("hash")
+                .enabled(true)
+                .roles(Set.of(userRole))
+                .cards(new HashSet<>())
+                .build());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+    }
+
+    @Test
+    void findByRoleName_RepeatedLookup_DoesNotQueryDatabase() {
+        // Given
+        roleRepository.findByRoleName("USER");
+        statistics.clear();
+
+        // When
+        Optional<Role> role = roleRepository.findByRoleName("USER");
+
+        // Then
+        assertTrue(role.isPresent());
+        assertEquals("USER", role.get().getRoleName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void findByUsername_CachedRoles_LoadsOnlyUserRow() {
+        // Given
+        userRepository.findByUsername("alice");
+        statistics.clear();
+
+        // When
+        User user = userRepository.findByUsername("alice").orElseThrow();
+
+        // Then
+        assertEquals(Set.of("USER"), user.getRoles().stream().map(Role::getRoleName).collect(Collectors.toSet()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getCacheRegionStatistics("user-roles").getHitCount());
+    }
+
+    @Test
+    void findWithRolesByUsername_RolesChangedBehindCache_ReadsCurrentRoles() {
+        // Given
+        userRepository.findByUsername("alice");
+        jdbcTemplate.update("UPDATE user_roles SET role_id = (SELECT id FROM roles WHERE role_name = 'ADMIN') "
+                + "WHERE user_id = (SELECT id FROM users WHERE username = 'alice')");
+
+        // When
+        User cached = userRepository.findByUsername("alice").orElseThrow();
+        User current = userRepository.findWithRolesByUsername("alice").orElseThrow();
+
+        // Then
+        assertEquals(Set.of("USER"), cached.getRoles().stream().map(Role::getRoleName).collect(Collectors.toSet()));
+        assertEquals(Set.of("ADMIN"), current.getRoles().stream().map(Role::getRoleName).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void nativeTokenCleanup_KeepsRolesCached() {
+        // Given
+        roleRepository.findByRoleName("ADMIN");
+
+        // When
+        refreshTokenRepository.deleteExpiredAndRevokedChunk(Instant.now(), 100);
+        statistics.clear();
+        Optional<Role> role = roleRepository.findByRoleName("ADMIN");
+
+        // Then
+        assertTrue(role.isPresent());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
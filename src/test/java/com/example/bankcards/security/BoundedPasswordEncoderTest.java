@@ -0,0 +1,66 @@
+package com.example.bankcards.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BoundedPasswordEncoderTest {
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingExecutor executor;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 1, 5_000, 2);
+        encoder = new BoundedPasswordEncoder(delegate, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void encodeAndMatches_RunOnHashingExecutor() {
+        // Given
+        when(delegate.encode("secret")).thenAnswer(invocation -> Thread.currentThread().getName());
+        when(delegate.matches("secret", "hash")).thenReturn(true);
+
+        // When
+        String workerName = encoder.encode("secret");
+        boolean matches = encoder.matches("secret", "hash");
+
+        // Then
+        assertTrue(workerName.startsWith("password-hashing-"), workerName);
+        assertTrue(matches);
+        assertEquals(1, meterRegistry.get("auth.password.hashing").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("auth.password.hashing").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void upgradeEncoding_CallsDelegateDirectly() {
+        // Given
+        when(delegate.upgradeEncoding("hash")).thenReturn(true);
+
+        // When
+        boolean upgrade = encoder.upgradeEncoding("hash");
+
+        // Then
+        assertTrue(upgrade);
+        assertEquals(0, meterRegistry.find("auth.password.hashing").timers().stream().mapToLong(t -> t.count()).sum());
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.bankcards.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// mvn -Pbenchmark test -Djmh.include=JwtProviderBenchmark
+// The filter calls validateToken and extractUsername on every authenticated request, login calls generateAccessToken
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtProviderBenchmark {
+
+    private static final Map<String, Object> CLAIMS = Map.of("roles", "USER,ADMIN");
+
+    private JwtProvider jwtProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtProvider = new JwtProvider();
+        ReflectionTestUtils.setField(jwtProvider, "secretKey", "benchmark-secret-key-of-at-least-256-bits-for-hs256");
+        ReflectionTestUtils.setField(jwtProvider, "accessExpirationMs", 3_600_000L);
+        token = jwtProvider.generateAccessToken("benchmark-user", CLAIMS);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtProvider.generateAccessToken("benchmark-user", CLAIMS);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtProvider.extractUsername(token);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.bankcards.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// mvn -Pbenchmark test -Djmh.include=LoginThrottleBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoginThrottleBenchmark {
+
+    private static final int KEY_COUNT = 10_000;
+
+    private LoginThrottle loginThrottle;
+    private SlidingWindowCounter counter;
+    private String[] usernames;
+    private String[] clientIps;
+
+    @Setup
+    public void setUp() {
+        loginThrottle = new LoginThrottle(new SimpleMeterRegistry(), true, 300_000,
+                Long.MAX_VALUE, Long.MAX_VALUE, KEY_COUNT * 2);
+        counter = new SlidingWindowCounter(10, 30_000);
+
+        usernames = new String[KEY_COUNT];
+        clientIps = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            usernames[i] = "user" + i;
+            clientIps[i] = "10.0." + (i / 256) + "." + (i % 256);
+            loginThrottle.checkAllowed(usernames[i], clientIps[i]);
+        }
+    }
+
+    @Benchmark
+    public void checkAllowedSameClient() {
+        loginThrottle.checkAllowed("user0", "10.0.0.0");
+    }
+
+    @Benchmark
+    public void checkAllowedManyClients() {
+        int i = ThreadLocalRandom.current().nextInt(KEY_COUNT);
+        loginThrottle.checkAllowed(usernames[i], clientIps[i]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void checkAllowedSameClientContended() {
+        loginThrottle.checkAllowed("user0", "10.0.0.0");
+    }
+
+    @Benchmark
+    public void counterIncrement() {
+        counter.increment(System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public long counterCount() {
+        return counter.count(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.PostgresTestSupport;
+import com.example.bankcards.exception.LoginThrottledException;
+import com.example.bankcards.service.JobLockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Two nodes share one database: failures counted on one node lock the username on the other,
+// and a successful login on either node lifts the lock everywhere
+@EnabledIf("com.example.bankcards.PostgresTestSupport#isAvailable")
+@SpringBootTest(properties = {
+        "jwt.secret=integration-test-secret-key-of-at-least-256-bits",
+        "app.outbox.sink=memory",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class LoginThrottleSyncIT {
+
+    private static final long WINDOW_MS = 300_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String username;
+    private LoginThrottle firstThrottle;
+    private LoginThrottle secondThrottle;
+    private LoginThrottleSync firstSync;
+    private LoginThrottleSync secondSync;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestSupport.register(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        username = PostgresTestSupport.uniqueName("it-login");
+        firstThrottle = new LoginThrottle(new SimpleMeterRegistry(), true, WINDOW_MS, 100, 3, 1000);
+        secondThrottle = new LoginThrottle(new SimpleMeterRegistry(), true, WINDOW_MS, 100, 3, 1000);
+        firstSync = syncFor(firstThrottle, PostgresTestSupport.uniqueName("node-a"));
+        secondSync = syncFor(secondThrottle, PostgresTestSupport.uniqueName("node-b"));
+    }
+
+    @Test
+    void sync_FailuresOnOtherNode_LockUsername() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            firstThrottle.checkAllowed(username, "10.0.0.1");
+        }
+
+        // When
+        firstSync.sync();
+        secondSync.sync();
+
+        // Then
+        assertThrows(LoginThrottledException.class, () -> secondThrottle.checkAllowed(username, "10.0.0.2"));
+    }
+
+    @Test
+    void sync_SuccessOnOtherNode_ClearsFailuresEverywhere() {
+        // Given
+        for (int i = 0; i < 2; i++) {
+            firstThrottle.checkAllowed(username, "10.0.0.1");
+            secondThrottle.checkAllowed(username, "10.0.0.2");
+        }
+        firstSync.sync();
+        secondSync.sync();
+        firstSync.sync();
+        assertThrows(LoginThrottledException.class, () -> firstThrottle.checkAllowed(username, "10.0.0.1"));
+
+        // When
+        secondThrottle.recordSuccess(username);
+        secondSync.sync();
+        firstSync.sync();
+        secondSync.sync();
+
+        // Then
+        for (int i = 0; i < 3; i++) {
+            assertDoesNotThrow(() -> firstThrottle.checkAllowed(username, "10.0.0.1"));
+        }
+        assertThrows(LoginThrottledException.class, () -> firstThrottle.checkAllowed(username, "10.0.0.1"));
+        assertDoesNotThrow(() -> secondThrottle.checkAllowed(username, "10.0.0.2"));
+    }
+
+    private LoginThrottleSync syncFor(LoginThrottle loginThrottle, String nodeId) {
+        JobLockService jobLockService = mock(JobLockService.class);
+        when(jobLockService.getNodeId()).thenReturn(nodeId);
+        LoginThrottleSync sync = new LoginThrottleSync(loginThrottle, jdbcTemplate, jobLockService);
+        ReflectionTestUtils.setField(sync, "windowMs", WINDOW_MS);
+        sync.init();
+        return sync;
+    }
+}
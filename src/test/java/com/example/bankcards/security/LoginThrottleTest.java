@@ -0,0 +1,186 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.exception.LoginThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private static final long WINDOW_MS = 60_000;
+    private static final long NOW = 999_996_000L;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginThrottle = new LoginThrottle(meterRegistry, true, WINDOW_MS, 10, 3, 1000);
+    }
+
+    @Test
+    void checkAllowed_TooManyFailuresForUsername_ThrowsWithRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.checkAllowed(i % 2 == 0 ? "testuser" : "TestUser", "10.0.0." + i, NOW);
+        }
+
+        LoginThrottledException exception = assertThrows(LoginThrottledException.class,
+                () -> loginThrottle.checkAllowed("testuser", "10.0.0.99", NOW));
+
+        assertEquals(60, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.counter("auth.login.throttled", "reason", "username").count());
+    }
+
+    @Test
+    void checkAllowed_TooManyAttemptsFromClient_Throws() {
+        for (int i = 0; i < 10; i++) {
+            loginThrottle.checkAllowed("user" + i, "10.0.0.1", NOW);
+        }
+
+        assertThrows(LoginThrottledException.class, () -> loginThrottle.checkAllowed("other", "10.0.0.1", NOW));
+        assertDoesNotThrow(() -> loginThrottle.checkAllowed("other", "10.0.0.2", NOW));
+        assertEquals(1.0, meterRegistry.counter("auth.login.throttled", "reason", "ip").count());
+    }
+
+    @Test
+    void checkAllowed_FailuresOutsideWindow_AreForgotten() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.checkAllowed("testuser", "10.0.0.1", NOW);
+        }
+
+        assertThrows(LoginThrottledException.class, () -> loginThrottle.checkAllowed("testuser", "10.0.0.1", NOW));
+        assertDoesNotThrow(() -> loginThrottle.checkAllowed("testuser", "10.0.0.1", NOW + WINDOW_MS));
+    }
+
+    @Test
+    void recordSuccess_ResetsUsernameFailures() {
+        loginThrottle.checkAllowed("testuser", "10.0.0.1", NOW);
+        loginThrottle.checkAllowed("testuser", "10.0.0.1", NOW);
+        loginThrottle.recordSuccess("testuser");
+        loginThrottle.checkAllowed("testuser", "10.0.0.1", NOW);
+
+        assertDoesNotThrow(() -> loginThrottle.checkAllowed("testuser", "10.0.0.1", NOW));
+    }
+
+    @Test
+    void recordSuccess_RemoteCounts_ClearedAndQueuedForOtherNodes() {
+        loginThrottle.startPublishingResets();
+        loginThrottle.updateRemoteCounts(Map.of("user:testuser", 3L));
+        loginThrottle.recordSuccess("TestUser");
+        loginThrottle.updateRemoteCounts(Map.of("user:testuser", 3L));
+
+        assertDoesNotThrow(() -> loginThrottle.checkAllowed("testuser", "10.0.0.1", NOW));
+        assertEquals(Set.of("user:testuser"), loginThrottle.drainPendingResets());
+        assertEquals(Set.of(), loginThrottle.drainPendingResets());
+    }
+
+    @Test
+    void applyRemoteResets_ClearsLocalFailures() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.checkAllowed("testuser", "10.0.0.1", NOW);
+        }
+
+        loginThrottle.applyRemoteResets(Set.of("user:testuser"));
+
+        assertDoesNotThrow(() -> loginThrottle.checkAllowed("testuser", "10.0.0.1", NOW));
+        assertEquals(Set.of(), loginThrottle.drainPendingResets());
+    }
+
+    @Test
+    void checkAllowed_RemoteCountsFromOtherNodes_AreAdded() {
+        loginThrottle.checkAllowed("testuser", "10.0.0.1", NOW);
+        loginThrottle.updateRemoteCounts(Map.of("user:testuser", 2L));
+
+        assertThrows(LoginThrottledException.class, () -> loginThrottle.checkAllowed("testuser", "10.0.0.1", NOW));
+    }
+
+    @Test
+    void checkAllowed_ConcurrentAttempts_AdmitExactlyTheLimit() throws Exception {
+        LoginThrottle wideThrottle = new LoginThrottle(meterRegistry, true, WINDOW_MS, 1000, 5, 1000);
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int attempt = 0; attempt < 10; attempt++) {
+                        try {
+                            wideThrottle.checkAllowed("testuser", "10.0.0.1", NOW);
+                            admitted.incrementAndGet();
+                        } catch (LoginThrottledException e) {
+                            // Expected once the limit is reached
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(5, admitted.get());
+    }
+
+    @Test
+    void checkAllowed_RejectedByClientLimit_ReleasesUsernameReservation() {
+        for (int i = 0; i < 10; i++) {
+            loginThrottle.checkAllowed("user" + i, "10.0.0.1", NOW);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(LoginThrottledException.class, () -> loginThrottle.checkAllowed("testuser", "10.0.0.1", NOW));
+        }
+
+        assertDoesNotThrow(() -> loginThrottle.checkAllowed("testuser", "10.0.0.2", NOW));
+    }
+
+    @Test
+    void releaseAttempt_AttemptWithoutVerdict_NotCounted() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.checkAllowed("testuser", "10.0.0.1", NOW);
+        }
+
+        loginThrottle.releaseAttempt("TestUser", NOW);
+
+        assertDoesNotThrow(() -> loginThrottle.checkAllowed("testuser", "10.0.0.1", NOW));
+    }
+
+    @Test
+    void checkAllowed_TrackedKeysFull_EvictsLeastRecentlyUsed() {
+        // Eleven keys: the username counter plus ten client addresses
+        LoginThrottle smallThrottle = new LoginThrottle(meterRegistry, true, WINDOW_MS, 1, 100, 11);
+        long bucketMs = WINDOW_MS / 10;
+        for (int i = 0; i < 10; i++) {
+            smallThrottle.checkAllowed("user", "10.0.0." + i, NOW + i * bucketMs);
+        }
+        long now = NOW + 9 * bucketMs;
+
+        smallThrottle.checkAllowed("user", "10.0.0.99", now);
+
+        assertThrows(LoginThrottledException.class, () -> smallThrottle.checkAllowed("user", "10.0.0.99", now));
+        assertThrows(LoginThrottledException.class, () -> smallThrottle.checkAllowed("user", "10.0.0.1", now));
+        assertDoesNotThrow(() -> smallThrottle.checkAllowed("user", "10.0.0.0", now));
+        assertEquals(2.0, meterRegistry.counter("auth.login.throttle.evicted").count());
+    }
+}
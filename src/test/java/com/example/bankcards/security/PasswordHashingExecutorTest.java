@@ -0,0 +1,124 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private static final long TIMEOUT_MS = 5_000;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingExecutor executor;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void execute_ReturnsResultAndReusesTimer() {
+        // Given
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 1, TIMEOUT_MS, 2);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertEquals("hash", executor.execute("encode", () -> "hash"));
+        }
+        executor.execute("matches", () -> true);
+
+        // Then
+        assertEquals(2, meterRegistry.find("auth.password.hashing").timers().size());
+        assertEquals(3, meterRegistry.get("auth.password.hashing").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("auth.password.hashing").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void execute_WorkerAndQueueFull_RejectsWithRetryAfter() throws Exception {
+        // Given
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 1, TIMEOUT_MS, 3);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> executor.execute("matches", this::awaitRelease));
+        awaitGauge("auth.password.hashing.active", 1);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.execute("matches", this::awaitRelease));
+        awaitGauge("auth.password.hashing.queue.depth", 1);
+
+        // When
+        PasswordHashingUnavailableException exception = assertThrows(PasswordHashingUnavailableException.class,
+                () -> executor.execute("matches", () -> true));
+
+        // Then
+        assertEquals(3, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.password.hashing.rejected").counter().count());
+        release.countDown();
+        assertTrue(running.get(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertTrue(queued.get(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void execute_TaskSlowerThanTimeout_FailsFast() {
+        // Given
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 1, 50, 2);
+
+        // When
+        PasswordHashingUnavailableException exception = assertThrows(PasswordHashingUnavailableException.class,
+                () -> executor.execute("encode", this::awaitRelease));
+
+        // Then
+        assertEquals(2, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.password.hashing.rejected").counter().count());
+    }
+
+    @Test
+    void execute_TaskThrows_RethrowsOriginalException() {
+        // Given
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 1, TIMEOUT_MS, 2);
+
+        // When / Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> executor.execute("encode", () -> {
+                    throw new IllegalArgumentException("bad salt");
+                }));
+        assertEquals("bad salt", exception.getMessage());
+        assertEquals(0.0, meterRegistry.get("auth.password.hashing.rejected").counter().count());
+    }
+
+    @Test
+    void queueCapacityWithinServletBudget_QueueLargerThanHalfOfServletThreads_IsLowered() {
+        // When / Then
+        assertEquals(96, PasswordHashingExecutor.queueCapacityWithinServletBudget(100, 4, 200));
+        assertEquals(50, PasswordHashingExecutor.queueCapacityWithinServletBudget(50, 4, 200));
+        assertEquals(1, PasswordHashingExecutor.queueCapacityWithinServletBudget(100, 8, 10));
+    }
+
+    private boolean awaitRelease() throws InterruptedException {
+        return release.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (meterRegistry.get(name).gauge().value() != expected) {
+            if (System.currentTimeMillis() > deadline) {
+                fail(name + " never reached " + expected);
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.bankcards.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenPartitionManagerTest {
+
+    private static final LocalDate TODAY = LocalDate.now(ZoneOffset.UTC);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private RefreshTokenPartitionManager partitionManager;
+
+    @BeforeEach
+    void setUp() {
+        partitionManager = new RefreshTokenPartitionManager(jdbcTemplate);
+        ReflectionTestUtils.setField(partitionManager, "refreshExpirationMs", 7 * 86_400_000L);
+        ReflectionTestUtils.setField(partitionManager, "premakeDays", 3);
+    }
+
+    @Test
+    void ensurePartitions_CreatesMissingDaysUpToExpirationPlusPremake() {
+        // Given
+        when(jdbcTemplate.queryForObject(eq("SELECT to_regclass(?) IS NOT NULL"), eq(Boolean.class), anyString()))
+                .thenAnswer(invocation -> partition(TODAY).equals(invocation.getArgument(2)));
+
+        // When
+        int created = partitionManager.ensurePartitions();
+
+        // Then
+        assertEquals(10, created);
+        verify(jdbcTemplate).execute(contains(partition(TODAY.plusDays(10)) + " PARTITION OF refresh_tokens"));
+        verify(jdbcTemplate, never()).execute(contains(partition(TODAY) + " PARTITION OF"));
+        verify(jdbcTemplate, never()).execute(contains(partition(TODAY.plusDays(11))));
+    }
+
+    @Test
+    void premakeOnStartup_PartitionedTable_CreatesPartitions() {
+        // Given
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class))).thenReturn(true);
+        when(jdbcTemplate.queryForObject(eq("SELECT to_regclass(?) IS NOT NULL"), eq(Boolean.class), anyString()))
+                .thenReturn(false);
+
+        // When
+        partitionManager.premakeOnStartup();
+
+        // Then
+        verify(jdbcTemplate, times(11)).execute(contains("PARTITION OF refresh_tokens"));
+    }
+
+    @Test
+    void premakeScheduled_PlainTable_DoesNothing() {
+        // Given
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class))).thenReturn(false);
+
+        // When
+        partitionManager.premakeScheduled();
+
+        // Then
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void premakeScheduled_DatabaseError_IsLoggedNotThrown() {
+        // Given
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        // When / Then
+        assertDoesNotThrow(() -> partitionManager.premakeScheduled());
+    }
+
+    @Test
+    void dropExpiredPartitions_DropsOnlyDaysThatEnded() {
+        // Given
+        String old = partition(TODAY.minusDays(3));
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class))).thenReturn(List.of(
+                old, partition(TODAY.minusDays(1)), partition(TODAY), "refresh_tokens_default"));
+        when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + old, Long.class)).thenReturn(42L);
+
+        // When
+        TokenCleanupResult result = partitionManager.dropExpiredPartitions();
+
+        // Then
+        assertEquals("partitioned", result.getMode());
+        assertEquals(1, result.getPartitionsDropped());
+        assertEquals(42, result.getRowsRemoved());
+        verify(jdbcTemplate).execute("ALTER TABLE refresh_tokens DETACH PARTITION " + old + " CONCURRENTLY");
+        verify(jdbcTemplate).execute("DROP TABLE " + old);
+        verify(jdbcTemplate, times(2)).execute(anyString());
+    }
+
+    private static String partition(LocalDate day) {
+        return "refresh_tokens_p" + day.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.bankcards.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// mvn -Pbenchmark test -Djmh.include=RefreshTokenProviderBenchmark
+// Every refresh, logout and session lookup hashes the presented token before touching the database
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RefreshTokenProviderBenchmark {
+
+    private RefreshTokenProvider refreshTokenProvider;
+    private String token;
+    private byte[] digest;
+
+    @Setup
+    public void setUp() throws Exception {
+        refreshTokenProvider = new RefreshTokenProvider(null, null, null);
+        token = UUID.randomUUID().toString();
+        digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public String hashToken() {
+        return refreshTokenProvider.hashToken(token);
+    }
+
+    @Benchmark
+    public String bytesToHex() {
+        return refreshTokenProvider.bytesToHex(digest);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.repository.RefreshTokenRepository;
+import com.example.bankcards.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenProviderTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RefreshTokenPartitionManager partitionManager;
+
+    private RefreshTokenProvider refreshTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenProvider = new RefreshTokenProvider(refreshTokenRepository, userRepository, partitionManager);
+        ReflectionTestUtils.setField(refreshTokenProvider, "cleanupChunkSize", 100);
+        ReflectionTestUtils.setField(refreshTokenProvider, "cleanupChunkPauseMs", 0L);
+    }
+
+    @Test
+    void cleanupExpiredTokens_DeletesChunksUntilShortChunk() {
+        // Given
+        when(refreshTokenRepository.deleteExpiredAndRevokedChunk(any(Instant.class), eq(100))).thenReturn(100, 100, 37);
+
+        // When
+        TokenCleanupResult result = refreshTokenProvider.cleanupExpiredTokens();
+
+        // Then
+        assertEquals("chunked", result.getMode());
+        assertEquals(237, result.getRowsRemoved());
+        assertEquals(3, result.getChunks());
+        verify(refreshTokenRepository, times(3)).deleteExpiredAndRevokedChunk(any(Instant.class), eq(100));
+        verifyNoInteractions(partitionManager);
+    }
+
+    @Test
+    void cleanupExpiredTokens_ExactMultipleOfChunkSize_StopsOnEmptyChunk() {
+        // Given
+        when(refreshTokenRepository.deleteExpiredAndRevokedChunk(any(Instant.class), eq(100))).thenReturn(100, 0);
+
+        // When
+        TokenCleanupResult result = refreshTokenProvider.cleanupExpiredTokens();
+
+        // Then
+        assertEquals(100, result.getRowsRemoved());
+        assertEquals(1, result.getChunks());
+    }
+
+    @Test
+    void cleanupExpiredTokens_PartitionedMode_DropsPartitions() {
+        // Given
+        ReflectionTestUtils.setField(refreshTokenProvider, "partitionedCleanup", true);
+        TokenCleanupResult dropped = TokenCleanupResult.builder().mode("partitioned").partitionsDropped(2).build();
+        when(partitionManager.isPartitioned()).thenReturn(true);
+        when(partitionManager.dropExpiredPartitions()).thenReturn(dropped);
+
+        // When
+        TokenCleanupResult result = refreshTokenProvider.cleanupExpiredTokens();
+
+        // Then
+        assertSame(dropped, result);
+        verifyNoInteractions(refreshTokenRepository);
+    }
+}
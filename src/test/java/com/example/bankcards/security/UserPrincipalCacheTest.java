@@ -0,0 +1,117 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserPrincipalCacheTest {
+
+    private static final long TTL_MS = 300_000;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<String> loads = new ArrayList<>();
+    private UserPrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserPrincipalCache(new SimpleMeterRegistry(), 2, TTL_MS, nanos::get, Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_RepeatedLookup_LoadsOnce() {
+        // When
+        UserPrincipal first = cache.get("alice", this::load);
+        UserPrincipal second = cache.get("alice", this::load);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(List.of("alice"), loads);
+    }
+
+    @Test
+    void get_AfterTtl_ReloadsPrincipal() {
+        // Given
+        cache.get("alice", this::load);
+
+        // When
+        nanos.addAndGet(Duration.ofMillis(TTL_MS - 1).toNanos());
+        cache.get("alice", this::load);
+        nanos.addAndGet(Duration.ofMillis(1).toNanos());
+        cache.get("alice", this::load);
+
+        // Then
+        assertEquals(List.of("alice", "alice"), loads);
+    }
+
+    @Test
+    void get_MoreUsersThanMaxSize_KeepsSizeBound() {
+        // When
+        cache.get("alice", this::load);
+        cache.get("bob", this::load);
+        cache.get("carol", this::load);
+
+        // Then
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void evict_OutsideTransaction_RemovesEntry() {
+        // Given
+        cache.get("alice", this::load);
+
+        // When
+        cache.evict("alice");
+        cache.get("alice", this::load);
+
+        // Then
+        assertEquals(List.of("alice", "alice"), loads);
+    }
+
+    @Test
+    void evict_InsideTransaction_RemovesReloadAfterCompletion() {
+        // Given
+        cache.get("alice", this::load);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        cache.evict("alice");
+        cache.get("alice", this::load); // a concurrent request reloads the uncommitted state
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        cache.get("alice", this::load);
+
+        // Then
+        assertEquals(List.of("alice", "alice", "alice"), loads);
+    }
+
+    private UserPrincipal load(String username) {
+        loads.add(username);
+        return UserPrincipal.from(User.builder()
+                .id((long) loads.size())
+                .username(username)
+                .passwordHash("hash")
+                .enabled(true)
+                .roles(Set.of(Role.builder().roleName("USER").enabled(true).build()))
+                .build());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserPrincipalTest {
+
+    @Test
+    void from_User_CapturesStateAndAuthorities() {
+        // Given
+        User user = user(false, "USER", "ADMIN");
+
+        // When
+        UserPrincipal principal = UserPrincipal.from(user);
+
+        // Then
+        assertEquals(7L, principal.getId());
+        assertEquals("alice", principal.getUsername());
+        assertEquals("hash", principal.getPassword());
+        assertFalse(principal.isEnabled());
+        assertFalse(principal.isAccountNonLocked());
+        assertEquals(Set.of("USER", "ADMIN"), principal.getRoleNames());
+        assertEquals(Set.of("USER", "ADMIN"), principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    void from_UserChangedAfterwards_KeepsSnapshot() {
+        // Given
+        User user = user(true, "ADMIN");
+        UserPrincipal principal = UserPrincipal.from(user);
+
+        // When
+        user.setEnabled(false);
+        user.getRoles().clear();
+
+        // Then
+        assertTrue(principal.isEnabled());
+        assertEquals(Set.of("ADMIN"), principal.getRoleNames());
+        assertEquals(1, principal.getAuthorities().size());
+    }
+
+    @Test
+    void from_User_ReturnsUnmodifiableSets() {
+        // Given
+        UserPrincipal principal = UserPrincipal.from(user(true, "USER"));
+
+        // When & Then
+        assertThrows(UnsupportedOperationException.class, () -> principal.getRoleNames().add("ADMIN"));
+        assertThrows(UnsupportedOperationException.class,
+                () -> principal.getAuthorities().add(new SimpleGrantedAuthority("ADMIN")));
+    }
+
+    private static User user(boolean enabled, String... roleNames) {
+        Set<Role> roles = new HashSet<>();
+        for (String roleName : roleNames) {
+            roles.add(Role.builder().roleName(roleName).enabled(true).build());
+        }
+        return User.builder()
+                .id(7L)
+                .username("alice")
+                .passwordHash("hash")
+                .enabled(enabled)
+                .roles(roles)
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.enums.AuditAction;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void capacity_IsRoundedUpToPowerOfTwo() {
+        assertEquals(8, new AuditRingBuffer(5).capacity());
+        assertEquals(8, new AuditRingBuffer(8).capacity());
+        assertEquals(2, new AuditRingBuffer(1).capacity());
+    }
+
+    @Test
+    void tryPublish_FullBuffer_RejectsUntilReleased() {
+        // Given
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (long i = 0; i < 4; i++) {
+            assertTrue(buffer.tryPublish(i, "admin", AuditAction.CARD_BLOCKED, i, null));
+        }
+
+        // When
+        boolean acceptedWhileFull = buffer.tryPublish(4, "admin", AuditAction.CARD_BLOCKED, 4L, null);
+        List<AuditRingBuffer.Slot> batch = new ArrayList<>();
+        int peeked = buffer.peek(batch, 3);
+        List<Long> peekedTargets = batch.stream().map(AuditRingBuffer.Slot::getTargetId).toList();
+        boolean acceptedBeforeRelease = buffer.tryPublish(4, "admin", AuditAction.CARD_BLOCKED, 4L, null);
+        buffer.release(peeked);
+        boolean acceptedAfterRelease = buffer.tryPublish(4, "admin", AuditAction.CARD_BLOCKED, 4L, null);
+
+        // Then
+        assertFalse(acceptedWhileFull);
+        assertEquals(3, peeked);
+        assertEquals(List.of(0L, 1L, 2L), peekedTargets);
+        assertFalse(acceptedBeforeRelease);
+        assertTrue(acceptedAfterRelease);
+        assertEquals(2, buffer.size());
+    }
+
+    @Test
+    void peek_WithoutRelease_ReturnsSameRecordsAgain() {
+        // Given
+        AuditRingBuffer buffer = new AuditRingBuffer(8);
+        buffer.tryPublish(1, "admin", AuditAction.USER_DISABLED, 7L, "username=alice");
+
+        // When
+        List<AuditRingBuffer.Slot> first = new ArrayList<>();
+        List<AuditRingBuffer.Slot> retry = new ArrayList<>();
+        buffer.peek(first, 10);
+        buffer.peek(retry, 10);
+
+        // Then
+        assertEquals(1, retry.size());
+        assertSame(first.get(0), retry.get(0));
+        assertEquals("username=alice", retry.get(0).getDetails());
+    }
+
+    @Test
+    void concurrentProducers_EveryRecordConsumedOnceInPublishOrderPerProducer() throws Exception {
+        // Given
+        int producers = 4;
+        int recordsPerProducer = 20_000;
+        AuditRingBuffer buffer = new AuditRingBuffer(256);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            String actor = "producer-" + p;
+            executor.submit(() -> {
+                start.await();
+                for (long i = 0; i < recordsPerProducer; i++) {
+                    while (!buffer.tryPublish(i, actor, AuditAction.CARD_BLOCKED, i, null)) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            });
+        }
+
+        // When
+        start.countDown();
+        Map<String, Long> nextExpected = new HashMap<>();
+        List<AuditRingBuffer.Slot> batch = new ArrayList<>();
+        int consumed = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (consumed < producers * recordsPerProducer && System.nanoTime() < deadline) {
+            batch.clear();
+            int count = buffer.peek(batch, 100);
+            for (AuditRingBuffer.Slot slot : batch) {
+                long expected = nextExpected.getOrDefault(slot.getActor(), 0L);
+                assertEquals(expected, slot.getTargetId(), "out of order for " + slot.getActor());
+                nextExpected.put(slot.getActor(), expected + 1);
+            }
+            buffer.release(count);
+            consumed += count;
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(producers * recordsPerProducer, consumed);
+        assertEquals(0, buffer.size());
+        nextExpected.values().forEach(next -> assertEquals(recordsPerProducer, next));
+    }
+}
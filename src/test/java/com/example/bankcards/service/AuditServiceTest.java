@@ -0,0 +1,197 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.enums.AuditAction;
+import com.example.bankcards.enums.AuditOverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuditService auditService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (auditService != null) {
+            auditService.stop();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void record_OutsideTransaction_IsWrittenInBatches() throws Exception {
+        // Given
+        auditService = newAuditService(1024, AuditOverflowPolicy.BLOCK);
+        auditService.start();
+
+        // When
+        for (long i = 0; i < 100; i++) {
+            auditService.record(AuditAction.CARD_BLOCKED, i, null);
+        }
+
+        // Then
+        awaitTrue(() -> meterRegistry.counter("audit.records.written").count() == 100);
+        verify(jdbcTemplate, atMost(100)).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+        assertEquals(100.0, meterRegistry.counter("audit.records.published").count());
+        assertEquals(0.0, meterRegistry.counter("audit.records.dropped").count());
+    }
+
+    @Test
+    void record_InsideTransaction_PublishedOnlyAfterCommit() {
+        // Given
+        auditService = newAuditService(16, AuditOverflowPolicy.BLOCK);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        auditService.record(AuditAction.USER_DISABLED, 1L, "username=alice");
+        double publishedBeforeCommit = meterRegistry.counter("audit.records.published").count();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Then
+        assertEquals(0.0, publishedBeforeCommit);
+        assertEquals(1.0, meterRegistry.counter("audit.records.published").count());
+    }
+
+    @Test
+    void record_RolledBackTransaction_IsNotPublished() {
+        // Given
+        auditService = newAuditService(16, AuditOverflowPolicy.BLOCK);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        auditService.record(AuditAction.CARD_DELETED, 1L, null);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        assertEquals(0.0, meterRegistry.counter("audit.records.published").count());
+    }
+
+    @Test
+    void record_FullBufferWithDropPolicy_CountsDroppedRecords() {
+        // Given: the writer is not started, so nothing frees the two slots
+        auditService = newAuditService(2, AuditOverflowPolicy.DROP);
+
+        // When
+        for (long i = 0; i < 5; i++) {
+            auditService.record(AuditAction.CARD_ACTIVATED, i, null);
+        }
+
+        // Then
+        assertEquals(2.0, meterRegistry.counter("audit.records.published").count());
+        assertEquals(3.0, meterRegistry.counter("audit.records.dropped").count());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void record_FullBufferWithBlockPolicy_WaitsForWriter() throws Exception {
+        // Given
+        auditService = newAuditService(2, AuditOverflowPolicy.BLOCK);
+        auditService.start();
+
+        // When
+        for (long i = 0; i < 50; i++) {
+            auditService.record(AuditAction.CARD_ACTIVATED, i, null);
+        }
+
+        // Then
+        awaitTrue(() -> meterRegistry.counter("audit.records.written").count() == 50);
+        assertEquals(0.0, meterRegistry.counter("audit.records.dropped").count());
+    }
+
+    @Test
+    void record_FullBufferWithBlockTimeout_DropsAfterTimeout() throws Exception {
+        // Given: the writer is stuck on its first batch, so the two slots are never freed
+        CountDownLatch batchStarted = new CountDownLatch(1);
+        CountDownLatch releaseBatch = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class))).thenAnswer(invocation -> {
+            batchStarted.countDown();
+            releaseBatch.await();
+            return new int[]{1, 1};
+        });
+        auditService = newAuditService(2, AuditOverflowPolicy.BLOCK, 50);
+        auditService.start();
+        auditService.record(AuditAction.CARD_ACTIVATED, 1L, null);
+        auditService.record(AuditAction.CARD_ACTIVATED, 2L, null);
+        assertTrue(batchStarted.await(10, TimeUnit.SECONDS));
+
+        // When
+        long started = System.nanoTime();
+        auditService.record(AuditAction.CARD_ACTIVATED, 3L, null);
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        releaseBatch.countDown();
+
+        // Then
+        assertTrue(waitedMs >= 50, "waited " + waitedMs + "ms");
+        assertEquals(1.0, meterRegistry.counter("audit.records.blocked").count());
+        assertEquals(1.0, meterRegistry.counter("audit.records.dropped").count());
+    }
+
+    @Test
+    void writer_FailedBatch_IsRetried() throws Exception {
+        // Given
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"))
+                .thenReturn(new int[]{1});
+        auditService = newAuditService(16, AuditOverflowPolicy.BLOCK);
+        auditService.start();
+
+        // When
+        auditService.record(AuditAction.USER_DELETED, 3L, "username=bob");
+
+        // Then
+        awaitTrue(() -> meterRegistry.counter("audit.records.written").count() == 1);
+        assertEquals(1.0, meterRegistry.counter("audit.write.failures").count());
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+    }
+
+    private AuditService newAuditService(int bufferSize, AuditOverflowPolicy overflowPolicy) {
+        return newAuditService(bufferSize, overflowPolicy, 0);
+    }
+
+    private AuditService newAuditService(int bufferSize, AuditOverflowPolicy overflowPolicy, long blockTimeoutMs) {
+        return new AuditService(jdbcTemplate, transactionManager, meterRegistry,
+                true, bufferSize, overflowPolicy, blockTimeoutMs, 500, 1, 10, 5_000);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 10s");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.repository.BlockRequestRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlockRequestArchiveServiceTest {
+
+    private static final long ARCHIVE_AGE_MS = Duration.ofDays(90).toMillis();
+
+    @Mock
+    private BlockRequestRepository blockRequestRepository;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BlockRequestArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        archiveService = new BlockRequestArchiveService(blockRequestRepository, jobLockService, meterRegistry,
+                ARCHIVE_AGE_MS, 100, 0, 60_000, 0);
+    }
+
+    @Test
+    void runArchive_MovesChunksUntilPartialChunk() {
+        // Given
+        when(blockRequestRepository.archiveProcessedChunk(any(Instant.class), eq(100))).thenReturn(100, 100, 40);
+
+        // When
+        String details = archiveService.runArchive();
+
+        // Then
+        assertEquals("rows=240, chunks=3", details);
+        assertEquals(240.0, meterRegistry.counter("block.requests.archived").count());
+
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(blockRequestRepository, times(3)).archiveProcessedChunk(cutoff.capture(), eq(100));
+        Instant expected = Instant.now().minusMillis(ARCHIVE_AGE_MS);
+        assertTrue(Duration.between(cutoff.getValue(), expected).abs().toSeconds() < 5);
+        assertEquals(1, cutoff.getAllValues().stream().distinct().count());
+    }
+
+    @Test
+    void runArchive_NothingToMove_SingleQuery() {
+        // Given
+        when(blockRequestRepository.archiveProcessedChunk(any(Instant.class), anyInt())).thenReturn(0);
+
+        // When
+        String details = archiveService.runArchive();
+
+        // Then
+        assertEquals("rows=0, chunks=0", details);
+        verify(blockRequestRepository, times(1)).archiveProcessedChunk(any(Instant.class), anyInt());
+    }
+
+    @Test
+    void archiveProcessedRequests_RunsUnderJobLock() {
+        // When
+        archiveService.archiveProcessedRequests();
+
+        // Then
+        verify(jobLockService).runExclusively(eq("block-request-archive"), eq(Duration.ofMinutes(1)),
+                eq(Duration.ZERO), any());
+        verifyNoInteractions(blockRequestRepository);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.PostgresTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Progress lives in block_requests.auto_evaluated_at, so requests the previous runs could not see are still evaluated
+@EnabledIf("com.example.bankcards.PostgresTestSupport#isAvailable")
+@SpringBootTest(properties = {
+        "jwt.secret=integration-test-secret-key-of-at-least-256-bits",
+        "app.outbox.sink=memory",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "app.block-requests.auto-processing.enabled=true",
+        "app.block-requests.auto-processing.interval=3600000"
+})
+class BlockRequestAutoProcessorIT {
+
+    @Autowired
+    private BlockRequestAutoProcessor autoProcessor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long ownerId;
+    private long adminId;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestSupport.register(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        ownerId = PostgresTestSupport.insertUser(jdbcTemplate, PostgresTestSupport.uniqueName("it-owner"));
+        adminId = PostgresTestSupport.insertUser(jdbcTemplate, PostgresTestSupport.uniqueName("it-admin"));
+    }
+
+    @Test
+    void processPending_RequestClaimedDuringRun_EvaluatedAfterRelease() {
+        // Given
+        long requestId = insertPendingRequest("Card lost on the metro", "now()");
+        jdbcTemplate.update("UPDATE block_requests SET claimed_by_admin_id = ?, claim_expires_at = now() + interval '1 hour' "
+                + "WHERE id = ?", adminId, requestId);
+        autoProcessor.processPending();
+        assertEquals("PENDING", status(requestId));
+
+        // When
+        jdbcTemplate.update("UPDATE block_requests SET claimed_by_admin_id = NULL, claim_expires_at = NULL WHERE id = ?",
+                requestId);
+        autoProcessor.processPending();
+
+        // Then
+        assertEquals("APPROVED", status(requestId));
+    }
+
+    @Test
+    void processPending_RequestCommittedLateWithEarlierCreatedAt_IsEvaluated() {
+        // Given
+        long newer = insertPendingRequest("Card damaged, chip broken", "now()");
+        autoProcessor.processPending();
+
+        // When
+        long older = insertPendingRequest("Card stolen from my bag", "now() - interval '1 minute'");
+        autoProcessor.processPending();
+
+        // Then
+        assertEquals("PENDING", status(newer));
+        assertNotNull(jdbcTemplate.queryForObject("SELECT auto_evaluated_at FROM block_requests WHERE id = ?",
+                OffsetDateTime.class, newer));
+        assertEquals("APPROVED", status(older));
+    }
+
+    private long insertPendingRequest(String reason, String createdAt) {
+        long cardId = PostgresTestSupport.insertCard(jdbcTemplate, ownerId);
+        return jdbcTemplate.queryForObject("INSERT INTO block_requests (card_id, user_id, reason, status, created_at) "
+                + "VALUES (?, ?, ?, 'PENDING', " + createdAt + ") RETURNING id", Long.class, cardId, ownerId, reason);
+    }
+
+    private String status(long requestId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM block_requests WHERE id = ?", String.class, requestId);
+    }
+}
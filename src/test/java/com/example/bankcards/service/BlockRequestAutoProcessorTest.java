@@ -0,0 +1,164 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.BlockRequestAutoProcessingProperties;
+import com.example.bankcards.dto.BlockRequestBatchProcessResponse;
+import com.example.bankcards.dto.BlockRequestCandidate;
+import com.example.bankcards.enums.BlockRequestStatus;
+import com.example.bankcards.enums.CardStatus;
+import com.example.bankcards.repository.BlockRequestRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlockRequestAutoProcessorTest {
+
+    @Mock
+    private BlockRequestRepository blockRequestRepository;
+
+    @Mock
+    private BlockRequestService blockRequestService;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BlockRequestAutoProcessingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new BlockRequestAutoProcessingProperties();
+        properties.setBatchSize(10);
+
+        BlockRequestAutoProcessingProperties.Rule lostCard = new BlockRequestAutoProcessingProperties.Rule();
+        lostCard.setName("lost-card");
+        lostCard.setDecision("approve");
+        lostCard.setReasonPattern("\\blost\\b");
+        lostCard.setCardStatuses(EnumSet.of(CardStatus.ACTIVE));
+        lostCard.setMaxRejectedRequests(0);
+        properties.getRules().add(lostCard);
+    }
+
+    @Test
+    void processPending_MatchingRequests_ApprovedThroughServiceAndCounted() {
+        // Given
+        BlockRequestCandidate lost = candidate(1L, "I LOST my card", CardStatus.ACTIVE, 100L);
+        BlockRequestCandidate blockedCard = candidate(2L, "lost it", CardStatus.BLOCKED, 100L);
+        BlockRequestCandidate otherReason = candidate(3L, "suspicious charge", CardStatus.ACTIVE, 100L);
+        BlockRequestCandidate repeatOffender = candidate(4L, "lost again", CardStatus.ACTIVE, 200L);
+
+        when(blockRequestRepository.findUnevaluatedPendingCandidates(any(), any()))
+                .thenReturn(List.of(lost, blockedCard, otherReason, repeatOffender));
+        when(blockRequestRepository.summarizeHistoryByUserIds(anyCollection(), any()))
+                .thenReturn(List.of(new Object[]{100L, 3L, 0L}, new Object[]{200L, 5L, 2L}));
+        when(blockRequestService.processBlockRequestsAutomatically(List.of(1L), BlockRequestStatus.APPROVED,
+                "Auto-processed by rule 'lost-card'"))
+                .thenReturn(new BlockRequestBatchProcessResponse(BlockRequestStatus.APPROVED, 1, 1, 1, List.of()));
+
+        BlockRequestAutoProcessor processor = new BlockRequestAutoProcessor(
+                blockRequestRepository, blockRequestService, jobLockService, properties, meterRegistry);
+
+        // When
+        String result = processor.processPending();
+
+        // Then
+        assertEquals("evaluated=4, processed=1", result);
+        assertEquals(1.0, meterRegistry.counter("block.requests.auto.rule.hits",
+                "rule", "lost-card", "status", "APPROVED").count());
+        assertEquals(1, meterRegistry.timer("block.requests.auto.evaluation").count());
+    }
+
+    @Test
+    void processPending_UnmatchedRequests_MarkedAsEvaluated() {
+        // Given
+        BlockRequestCandidate candidate = candidate(7L, "stolen", CardStatus.ACTIVE, 100L);
+        when(blockRequestRepository.findUnevaluatedPendingCandidates(any(), any())).thenReturn(List.of(candidate));
+
+        BlockRequestAutoProcessor processor = new BlockRequestAutoProcessor(
+                blockRequestRepository, blockRequestService, jobLockService, properties, meterRegistry);
+
+        // When
+        String result = processor.processPending();
+
+        // Then
+        assertEquals("evaluated=1, processed=0", result);
+        verify(blockRequestRepository).markAutoEvaluated(eq(List.of(7L)), any());
+        verify(blockRequestService, never()).processBlockRequestsAutomatically(any(), any(), any());
+    }
+
+    @Test
+    void processPending_FullBatch_ReadsAgainUntilShortBatch() {
+        // Given
+        properties.setBatchSize(2);
+        when(blockRequestRepository.findUnevaluatedPendingCandidates(any(), any()))
+                .thenReturn(List.of(candidate(1L, "stolen", CardStatus.ACTIVE, 100L),
+                                candidate(2L, "stolen", CardStatus.ACTIVE, 100L)))
+                .thenReturn(List.of(candidate(3L, "stolen", CardStatus.ACTIVE, 100L)));
+
+        BlockRequestAutoProcessor processor = new BlockRequestAutoProcessor(
+                blockRequestRepository, blockRequestService, jobLockService, properties, meterRegistry);
+
+        // When
+        String result = processor.processPending();
+
+        // Then
+        assertEquals("evaluated=3, processed=0", result);
+        verify(blockRequestRepository).markAutoEvaluated(eq(List.of(1L, 2L)), any());
+        verify(blockRequestRepository).markAutoEvaluated(eq(List.of(3L)), any());
+    }
+
+    @Test
+    void processPending_RecentRequestsCount_ExcludesCandidateItself() {
+        // Given
+        BlockRequestAutoProcessingProperties.Rule firstRequest = new BlockRequestAutoProcessingProperties.Rule();
+        firstRequest.setName("first-request");
+        firstRequest.setDecision("approve");
+        firstRequest.setMaxRecentRequests(0);
+        properties.getRules().set(0, firstRequest);
+
+        BlockRequestCandidate onlyRequest = candidate(1L, "card damaged", CardStatus.ACTIVE, 100L);
+        BlockRequestCandidate secondRequest = candidate(2L, "card damaged", CardStatus.ACTIVE, 200L);
+        when(blockRequestRepository.findUnevaluatedPendingCandidates(any(), any()))
+                .thenReturn(List.of(onlyRequest, secondRequest));
+        when(blockRequestRepository.summarizeHistoryByUserIds(anyCollection(), any()))
+                .thenReturn(List.of(new Object[]{100L, 1L, 0L}, new Object[]{200L, 2L, 0L}));
+        when(blockRequestService.processBlockRequestsAutomatically(List.of(1L), BlockRequestStatus.APPROVED,
+                "Auto-processed by rule 'first-request'"))
+                .thenReturn(new BlockRequestBatchProcessResponse(BlockRequestStatus.APPROVED, 1, 1, 1, List.of()));
+
+        BlockRequestAutoProcessor processor = new BlockRequestAutoProcessor(
+                blockRequestRepository, blockRequestService, jobLockService, properties, meterRegistry);
+
+        // When
+        String result = processor.processPending();
+
+        // Then
+        assertEquals("evaluated=2, processed=1", result);
+        assertEquals(0, onlyRequest.getRecentUserRequests());
+        assertEquals(1, secondRequest.getRecentUserRequests());
+    }
+
+    @Test
+    void constructor_InvalidDecision_FailsFast() {
+        properties.getRules().get(0).setDecision("maybe");
+
+        assertThrows(IllegalStateException.class, () -> new BlockRequestAutoProcessor(
+                blockRequestRepository, blockRequestService, jobLockService, properties, meterRegistry));
+    }
+
+    private BlockRequestCandidate candidate(Long id, String reason, CardStatus cardStatus, Long userId) {
+        return new BlockRequestCandidate(id, reason, cardStatus, userId, Instant.now());
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.PostgresTestSupport;
+import com.example.bankcards.dto.BlockRequestBatchProcessRequest;
+import com.example.bankcards.dto.BlockRequestCreateRequest;
+import com.example.bankcards.dto.BlockRequestProcessRequest;
+import com.example.bankcards.exception.BlockRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Covers what the mocked BlockRequestServiceTest cannot see: row locks and constraints enforced by PostgreSQL
+@EnabledIf("com.example.bankcards.PostgresTestSupport#isAvailable")
+@SpringBootTest(properties = {
+        "jwt.secret=integration-test-secret-key-of-at-least-256-bits",
+        "app.outbox.sink=memory",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class BlockRequestServiceIT {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Autowired
+    private BlockRequestService blockRequestService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private ExecutorService executor;
+    private String owner;
+    private String admin;
+    private long cardId;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestSupport.register(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        owner = PostgresTestSupport.uniqueName("it-owner");
+        admin = PostgresTestSupport.uniqueName("it-admin");
+        cardId = PostgresTestSupport.insertCard(jdbcTemplate, PostgresTestSupport.insertUser(jdbcTemplate, owner));
+        PostgresTestSupport.insertUser(jdbcTemplate, admin);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void processBlockRequest_BatchDecisionCommitsFirst_SingleDecisionSeesItAndFails() throws Exception {
+        // Given
+        long requestId = blockRequestService.createBlockRequest(owner, cardId, createRequest()).getId();
+        CountDownLatch batchApplied = new CountDownLatch(1);
+        CountDownLatch commitBatch = new CountDownLatch(1);
+        Future<?> batch = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            blockRequestService.processBlockRequests(admin, batchRequest(requestId, "approve", "batch"));
+            batchApplied.countDown();
+            await(commitBatch);
+        }));
+        assertTrue(batchApplied.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // When
+        Future<?> single = executor.submit(() ->
+                blockRequestService.processBlockRequest(admin, requestId, processRequest("reject", "single")));
+        Thread.sleep(500);
+        boolean singleWaitedForLock = !single.isDone();
+        commitBatch.countDown();
+        batch.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // Then
+        assertTrue(singleWaitedForLock);
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> single.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertInstanceOf(BlockRequestException.class, exception.getCause());
+        assertEquals(List.of("APPROVED", "batch"), jdbcTemplate.queryForObject(
+                "SELECT status, admin_comment FROM block_requests WHERE id = ?",
+                (rs, row) -> List.of(rs.getString(1), rs.getString(2)), requestId));
+    }
+
+    @Test
+    void createBlockRequest_SecondPendingRequestForCard_RejectedByUniqueIndex() {
+        // Given
+        blockRequestService.createBlockRequest(owner, cardId, createRequest());
+
+        // When & Then
+        BlockRequestException exception = assertThrows(BlockRequestException.class,
+                () -> blockRequestService.createBlockRequest(owner, cardId, createRequest()));
+        assertEquals("Block request for this card is already pending", exception.getMessage());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM block_requests WHERE card_id = ? AND status = 'PENDING'", Integer.class, cardId));
+    }
+
+    @Test
+    void createBlockRequest_ConcurrentCardChange_WaitsForItsCommit() throws Exception {
+        // Given
+        CountDownLatch cardUpdated = new CountDownLatch(1);
+        CountDownLatch commitCardChange = new CountDownLatch(1);
+        Future<?> cardChange = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE cards SET balance = balance + 1 WHERE id = ?", cardId);
+            cardUpdated.countDown();
+            await(commitCardChange);
+        }));
+        assertTrue(cardUpdated.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // When
+        Future<?> create = executor.submit(() -> blockRequestService.createBlockRequest(owner, cardId, createRequest()));
+        Thread.sleep(500);
+        boolean createWaitedForLock = !create.isDone();
+        commitCardChange.countDown();
+        cardChange.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // Then
+        assertTrue(createWaitedForLock);
+        create.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static BlockRequestCreateRequest createRequest() {
+        BlockRequestCreateRequest request = new BlockRequestCreateRequest();
+        request.setReason("Card lost during a trip");
+        return request;
+    }
+
+    private static BlockRequestProcessRequest processRequest(String decision, String comment) {
+        BlockRequestProcessRequest request = new BlockRequestProcessRequest();
+        request.setDecision(decision);
+        request.setAdminComment(comment);
+        return request;
+    }
+
+    private static BlockRequestBatchProcessRequest batchRequest(long requestId, String decision, String comment) {
+        BlockRequestBatchProcessRequest request = new BlockRequestBatchProcessRequest();
+        request.setRequestIds(List.of(requestId));
+        request.setDecision(decision);
+        request.setAdminComment(comment);
+        return request;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the test to continue");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -5,25 +5,36 @@ import com.example.bankcards.entity.BlockRequest;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.entity.Role;
+import com.example.bankcards.enums.AuditAction;
 import com.example.bankcards.enums.BlockRequestStatus;
 import com.example.bankcards.enums.CardStatus;
+import com.example.bankcards.enums.OutboxEventType;
+import com.example.bankcards.event.AdminEvent;
 import com.example.bankcards.exception.BlockRequestException;
 import com.example.bankcards.exception.CardNotFoundException;
 import com.example.bankcards.exception.InvalidDecisionException;
 import com.example.bankcards.exception.UserNotFoundException;
+import com.example.bankcards.repository.BlockRequestListingRepository;
 import com.example.bankcards.repository.BlockRequestRepository;
 import com.example.bankcards.repository.CardRepository;
 import com.example.bankcards.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 
@@ -37,12 +48,24 @@ class BlockRequestServiceTest {
     @Mock
     private BlockRequestRepository blockRequestRepository;
 
+    @Mock
+    private BlockRequestListingRepository blockRequestListingRepository;
+
     @Mock
     private CardRepository cardRepository;
 
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private AuditService auditService;
+
     @InjectMocks
     private BlockRequestService blockRequestService;
 
@@ -50,6 +73,7 @@ class BlockRequestServiceTest {
     private User adminUser;
     private Card testCard;
     private BlockRequest testBlockRequest;
+    private BlockRequestListItem testListItem;
     private BlockRequestCreateRequest createRequest;
     private BlockRequestProcessRequest processRequest;
 
@@ -94,6 +118,9 @@ class BlockRequestServiceTest {
                 .createdAt(Instant.now())
                 .build();
 
+        testListItem = new BlockRequestListItem(1L, 1L, "encrypted123", "Suspicious activity",
+                BlockRequestStatus.PENDING, Instant.now(), null, null, null, null, null);
+
         // Setup request DTOs
         createRequest = new BlockRequestCreateRequest();
         createRequest.setReason("Suspicious activity");
@@ -108,8 +135,7 @@ class BlockRequestServiceTest {
         // Given
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
         when(cardRepository.findByIdAndUserUsername(1L, "testuser")).thenReturn(Optional.of(testCard));
-        when(blockRequestRepository.existsByCardAndStatus(testCard, BlockRequestStatus.PENDING)).thenReturn(false);
-        when(blockRequestRepository.save(any(BlockRequest.class))).thenReturn(testBlockRequest);
+        when(blockRequestRepository.saveAndFlush(any(BlockRequest.class))).thenReturn(testBlockRequest);
 
         // When
         BlockRequestResponse result = blockRequestService.createBlockRequest("testuser", 1L, createRequest);
@@ -122,7 +148,7 @@ class BlockRequestServiceTest {
 
         verify(userRepository).findByUsername("testuser");
         verify(cardRepository).findByIdAndUserUsername(1L, "testuser");
-        verify(blockRequestRepository).save(any(BlockRequest.class));
+        verify(blockRequestRepository).saveAndFlush(any(BlockRequest.class));
     }
 
     @Test
@@ -163,21 +189,38 @@ class BlockRequestServiceTest {
         // Given
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
         when(cardRepository.findByIdAndUserUsername(1L, "testuser")).thenReturn(Optional.of(testCard));
-        when(blockRequestRepository.existsByCardAndStatus(testCard, BlockRequestStatus.PENDING)).thenReturn(true);
+        when(blockRequestRepository.saveAndFlush(any(BlockRequest.class))).thenThrow(new DataIntegrityViolationException(
+                "duplicate key", new ConstraintViolationException("duplicate key",
+                        new SQLException("duplicate key", "23505"), "uq_block_requests_card_pending")));
 
         // When & Then
         assertThrows(BlockRequestException.class,
             () -> blockRequestService.createBlockRequest("testuser", 1L, createRequest));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void createBlockRequest_OtherIntegrityViolation_IsNotTranslated() {
+        // Given
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(cardRepository.findByIdAndUserUsername(1L, "testuser")).thenReturn(Optional.of(testCard));
+        when(blockRequestRepository.saveAndFlush(any(BlockRequest.class))).thenThrow(new DataIntegrityViolationException(
+                "foreign key", new ConstraintViolationException("foreign key",
+                        new SQLException("foreign key", "23503"), "fk_block_requests_card")));
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class,
+            () -> blockRequestService.createBlockRequest("testuser", 1L, createRequest));
     }
 
     @Test
     void getUserBlockRequests_Success() {
         // Given
-        List<BlockRequest> requests = Arrays.asList(testBlockRequest);
-        Page<BlockRequest> requestPage = new PageImpl<>(requests, PageRequest.of(0, 10), 1);
+        List<BlockRequestListItem> requests = List.of(testListItem);
+        Page<BlockRequestListItem> requestPage = new PageImpl<>(requests, PageRequest.of(0, 10), 1);
 
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(blockRequestRepository.findByUserOrderByCreatedAtDesc(testUser, PageRequest.of(0, 10)))
+        when(blockRequestListingRepository.findListItemsWithArchive(null, 1L, null, null, PageRequest.of(0, 10)))
                 .thenReturn(requestPage);
 
         // When
@@ -189,16 +232,16 @@ class BlockRequestServiceTest {
         assertEquals(1L, result.getContent().get(0).getId());
 
         verify(userRepository).findByUsername("testuser");
-        verify(blockRequestRepository).findByUserOrderByCreatedAtDesc(testUser, PageRequest.of(0, 10));
+        verify(blockRequestRepository, never()).findListItemsByUser(any(), any());
     }
 
     @Test
     void getAllBlockRequests_WithStatus() {
         // Given
-        List<BlockRequest> requests = Arrays.asList(testBlockRequest);
-        Page<BlockRequest> requestPage = new PageImpl<>(requests, PageRequest.of(0, 10), 1);
+        List<BlockRequestListItem> requests = List.of(testListItem);
+        Page<BlockRequestListItem> requestPage = new PageImpl<>(requests, PageRequest.of(0, 10), 1);
 
-        when(blockRequestRepository.findByStatusOrderByCreatedAtDesc(BlockRequestStatus.PENDING, PageRequest.of(0, 10)))
+        when(blockRequestRepository.findListItemsByStatus(BlockRequestStatus.PENDING, PageRequest.of(0, 10)))
                 .thenReturn(requestPage);
 
         // When
@@ -208,16 +251,16 @@ class BlockRequestServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
 
-        verify(blockRequestRepository).findByStatusOrderByCreatedAtDesc(BlockRequestStatus.PENDING, PageRequest.of(0, 10));
+        verify(blockRequestRepository).findListItemsByStatus(BlockRequestStatus.PENDING, PageRequest.of(0, 10));
     }
 
     @Test
     void getAllBlockRequests_WithoutStatus() {
         // Given
-        List<BlockRequest> requests = Arrays.asList(testBlockRequest);
-        Page<BlockRequest> requestPage = new PageImpl<>(requests, PageRequest.of(0, 10), 1);
+        List<BlockRequestListItem> requests = List.of(testListItem);
+        Page<BlockRequestListItem> requestPage = new PageImpl<>(requests, PageRequest.of(0, 10), 1);
 
-        when(blockRequestRepository.findAll(PageRequest.of(0, 10))).thenReturn(requestPage);
+        when(blockRequestRepository.findAllListItems(PageRequest.of(0, 10))).thenReturn(requestPage);
 
         // When
         Page<BlockRequestResponse> result = blockRequestService.getAllBlockRequests(null, PageRequest.of(0, 10));
@@ -226,14 +269,86 @@ class BlockRequestServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
 
-        verify(blockRequestRepository).findAll(PageRequest.of(0, 10));
+        verify(blockRequestRepository).findAllListItems(PageRequest.of(0, 10));
+    }
+
+    @Test
+    void getAllBlockRequests_DefaultListing_StaysOnHotTable() {
+        // Given
+        ReflectionTestUtils.setField(blockRequestService, "archiveAgeMs", Duration.ofDays(90).toMillis());
+        Instant recent = Instant.now().minus(Duration.ofDays(30));
+        when(blockRequestRepository.findAllListItems(PageRequest.of(0, 10))).thenReturn(Page.empty());
+        when(blockRequestRepository.findListItemsInRange(eq(recent), any(), eq(PageRequest.of(0, 10))))
+                .thenReturn(Page.empty());
+
+        // When
+        blockRequestService.getAllBlockRequests(null, null, null, false, PageRequest.of(0, 10));
+        blockRequestService.getAllBlockRequests(null, recent, null, false, PageRequest.of(0, 10));
+
+        // Then
+        verifyNoInteractions(blockRequestListingRepository);
+    }
+
+    @Test
+    void getAllBlockRequests_RangeBeforeArchiveAge_ReadsArchive() {
+        // Given
+        ReflectionTestUtils.setField(blockRequestService, "archiveAgeMs", Duration.ofDays(90).toMillis());
+        Instant old = Instant.now().minus(Duration.ofDays(120));
+        when(blockRequestListingRepository.findListItemsWithArchive(BlockRequestStatus.APPROVED, null, old, null,
+                PageRequest.of(0, 10))).thenReturn(Page.empty());
+        when(blockRequestListingRepository.findListItemsWithArchive(null, null, null, old, PageRequest.of(0, 10)))
+                .thenReturn(Page.empty());
+
+        // When
+        blockRequestService.getAllBlockRequests(BlockRequestStatus.APPROVED, old, null, false, PageRequest.of(0, 10));
+        blockRequestService.getAllBlockRequests(null, null, old, false, PageRequest.of(0, 10));
+
+        // Then
+        verify(blockRequestListingRepository).findListItemsWithArchive(BlockRequestStatus.APPROVED, null, old, null,
+                PageRequest.of(0, 10));
+        verify(blockRequestListingRepository).findListItemsWithArchive(null, null, null, old, PageRequest.of(0, 10));
+    }
+
+    @Test
+    void getAllBlockRequests_ProcessedStatusOrRangeWithoutStart_ReadsArchive() {
+        // Given
+        ReflectionTestUtils.setField(blockRequestService, "archiveAgeMs", Duration.ofDays(90).toMillis());
+        Instant recent = Instant.now().minus(Duration.ofDays(30));
+        when(blockRequestListingRepository.findListItemsWithArchive(any(), any(), any(), any(), any()))
+                .thenReturn(Page.empty());
+
+        // When
+        blockRequestService.getAllBlockRequests(BlockRequestStatus.REJECTED, null, null, false, PageRequest.of(0, 10));
+        blockRequestService.getAllBlockRequests(BlockRequestStatus.APPROVED, recent, null, false, PageRequest.of(0, 10));
+        blockRequestService.getAllBlockRequests(null, null, recent, false, PageRequest.of(0, 10));
+
+        // Then
+        verify(blockRequestListingRepository).findListItemsWithArchive(BlockRequestStatus.REJECTED, null, null, null,
+                PageRequest.of(0, 10));
+        verify(blockRequestListingRepository).findListItemsWithArchive(BlockRequestStatus.APPROVED, null, recent, null,
+                PageRequest.of(0, 10));
+        verify(blockRequestListingRepository).findListItemsWithArchive(null, null, null, recent, PageRequest.of(0, 10));
+        verifyNoInteractions(blockRequestRepository);
+    }
+
+    @Test
+    void getAllBlockRequests_PendingWithArchiveRequested_StaysOnHotTable() {
+        // Given
+        when(blockRequestRepository.findListItemsByStatus(BlockRequestStatus.PENDING, PageRequest.of(0, 10)))
+                .thenReturn(Page.empty());
+
+        // When
+        blockRequestService.getAllBlockRequests(BlockRequestStatus.PENDING, null, null, true, PageRequest.of(0, 10));
+
+        // Then
+        verifyNoInteractions(blockRequestListingRepository);
     }
 
     @Test
     void processBlockRequest_Approve() {
         // Given
         when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
-        when(blockRequestRepository.findById(1L)).thenReturn(Optional.of(testBlockRequest));
+        when(blockRequestRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testBlockRequest));
         when(blockRequestRepository.save(testBlockRequest)).thenReturn(testBlockRequest);
 
         // When
@@ -255,7 +370,7 @@ class BlockRequestServiceTest {
         processRequest.setAdminComment("Rejected by admin");
 
         when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
-        when(blockRequestRepository.findById(1L)).thenReturn(Optional.of(testBlockRequest));
+        when(blockRequestRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testBlockRequest));
         when(blockRequestRepository.save(testBlockRequest)).thenReturn(testBlockRequest);
 
         // When
@@ -276,7 +391,7 @@ class BlockRequestServiceTest {
         processRequest.setDecision("invalid");
 
         when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
-        when(blockRequestRepository.findById(1L)).thenReturn(Optional.of(testBlockRequest));
+        when(blockRequestRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testBlockRequest));
 
         // When & Then
         assertThrows(InvalidDecisionException.class,
@@ -289,30 +404,190 @@ class BlockRequestServiceTest {
         testBlockRequest.setStatus(BlockRequestStatus.APPROVED);
 
         when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
-        when(blockRequestRepository.findById(1L)).thenReturn(Optional.of(testBlockRequest));
+        when(blockRequestRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testBlockRequest));
+
+        // When & Then
+        assertThrows(BlockRequestException.class,
+            () -> blockRequestService.processBlockRequest("admin", 1L, processRequest));
+    }
+
+    @Test
+    void processBlockRequest_ClaimedByAnotherAdmin() {
+        // Given
+        User otherAdmin = User.builder().id(99L).username("other").build();
+        testBlockRequest.setClaimedByAdmin(otherAdmin);
+        testBlockRequest.setClaimExpiresAt(Instant.now().plusSeconds(600));
+
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+        when(blockRequestRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testBlockRequest));
 
         // When & Then
         assertThrows(BlockRequestException.class,
             () -> blockRequestService.processBlockRequest("admin", 1L, processRequest));
+        verify(blockRequestRepository, never()).save(any());
+    }
+
+    @Test
+    void claimNextBlockRequests_ReturnsClaimedRequests() {
+        // Given
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+        when(blockRequestRepository.claimNextPending(eq(adminUser.getId()), eq(10), anyLong())).thenReturn(List.of(1L));
+        when(blockRequestRepository.findAllWithCardByIdIn(List.of(1L))).thenReturn(List.of(testBlockRequest));
+
+        // When
+        List<BlockRequestResponse> result = blockRequestService.claimNextBlockRequests("admin", 10);
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(testBlockRequest.getId(), result.get(0).getId());
+    }
+
+    @Test
+    void claimNextBlockRequests_NothingPending_ReturnsEmpty() {
+        // Given
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+        when(blockRequestRepository.claimNextPending(eq(adminUser.getId()), eq(10), anyLong())).thenReturn(List.of());
+
+        // When
+        List<BlockRequestResponse> result = blockRequestService.claimNextBlockRequests("admin", 10);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(blockRequestRepository, never()).findAllWithCardByIdIn(any());
     }
 
     @Test
     void processBlockRequest_RequestNotFound() {
         // Given
         when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
-        when(blockRequestRepository.findById(1L)).thenReturn(Optional.empty());
+        when(blockRequestRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(BlockRequestException.class,
             () -> blockRequestService.processBlockRequest("admin", 1L, processRequest));
     }
 
+    @Test
+    void processBlockRequests_Approve() {
+        // Given
+        BlockRequestBatchProcessRequest batchRequest = new BlockRequestBatchProcessRequest();
+        batchRequest.setRequestIds(List.of(1L, 2L, 3L));
+        batchRequest.setDecision("approve");
+        batchRequest.setAdminComment("Fraud incident");
+
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+        when(blockRequestRepository.lockPendingIdsWithCardIds(anyCollection(), eq(adminUser.getId())))
+                .thenReturn(List.of(new Object[]{1L, 10L}, new Object[]{2L, 20L}));
+        when(blockRequestRepository.applyDecision(eq(List.of(1L, 2L)), eq(BlockRequestStatus.APPROVED),
+                any(Instant.class), eq(adminUser), eq("Fraud incident"))).thenReturn(2);
+        when(cardRepository.updateStatusByIds(Set.of(10L, 20L), CardStatus.BLOCKED)).thenReturn(2);
+
+        // When
+        BlockRequestBatchProcessResponse result = blockRequestService.processBlockRequests("admin", batchRequest);
+
+        // Then
+        assertEquals(BlockRequestStatus.APPROVED, result.getStatus());
+        assertEquals(3, result.getRequestedCount());
+        assertEquals(2, result.getProcessedCount());
+        assertEquals(2, result.getBlockedCardsCount());
+        assertEquals(List.of(3L), result.getSkippedRequestIds());
+        verify(eventPublisher, times(2)).publishEvent(any(AdminEvent.class));
+
+        InOrder outbox = inOrder(outboxService);
+        outbox.verify(outboxService).cardStatusChanged(OutboxEventType.CARD_BLOCKED, 10L, CardStatus.BLOCKED);
+        outbox.verify(outboxService).cardStatusChanged(OutboxEventType.CARD_BLOCKED, 20L, CardStatus.BLOCKED);
+        outbox.verify(outboxService).blockRequestChanged(OutboxEventType.BLOCK_REQUEST_PROCESSED, 1L, 10L, BlockRequestStatus.APPROVED);
+        outbox.verify(outboxService).blockRequestChanged(OutboxEventType.BLOCK_REQUEST_PROCESSED, 2L, 20L, BlockRequestStatus.APPROVED);
+        verify(auditService).record(AuditAction.BLOCK_REQUEST_PROCESSED, 1L, "cardId=10, decision=APPROVED");
+        verify(auditService).record(AuditAction.BLOCK_REQUEST_PROCESSED, 2L, "cardId=20, decision=APPROVED");
+    }
+
+    @Test
+    void processBlockRequests_Reject_DoesNotBlockCards() {
+        // Given
+        BlockRequestBatchProcessRequest batchRequest = new BlockRequestBatchProcessRequest();
+        batchRequest.setRequestIds(List.of(1L));
+        batchRequest.setDecision("reject");
+
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+        when(blockRequestRepository.lockPendingIdsWithCardIds(anyCollection(), eq(adminUser.getId())))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 10L}));
+        when(blockRequestRepository.applyDecision(eq(List.of(1L)), eq(BlockRequestStatus.REJECTED),
+                any(Instant.class), eq(adminUser), isNull())).thenReturn(1);
+
+        // When
+        BlockRequestBatchProcessResponse result = blockRequestService.processBlockRequests("admin", batchRequest);
+
+        // Then
+        assertEquals(1, result.getProcessedCount());
+        assertEquals(0, result.getBlockedCardsCount());
+        verify(cardRepository, never()).updateStatusByIds(anyCollection(), any());
+        verify(outboxService, never()).cardStatusChanged(any(), any(), any());
+        verify(outboxService).blockRequestChanged(OutboxEventType.BLOCK_REQUEST_PROCESSED, 1L, 10L, BlockRequestStatus.REJECTED);
+    }
+
+    @Test
+    void processBlockRequests_Reject_LocksCardsBeforeRequests() {
+        // Given
+        BlockRequestBatchProcessRequest batchRequest = new BlockRequestBatchProcessRequest();
+        batchRequest.setRequestIds(List.of(1L));
+        batchRequest.setDecision("reject");
+
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+        when(blockRequestRepository.findPendingCardIds(anyCollection())).thenReturn(List.of(10L));
+        when(blockRequestRepository.lockPendingIdsWithCardIds(anyCollection(), eq(adminUser.getId())))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 10L}));
+
+        // When
+        blockRequestService.processBlockRequests("admin", batchRequest);
+
+        // Then
+        InOrder inOrder = inOrder(cardRepository, blockRequestRepository, outboxService);
+        inOrder.verify(cardRepository).lockIds(List.of(10L));
+        inOrder.verify(blockRequestRepository).lockPendingIdsWithCardIds(anyCollection(), eq(adminUser.getId()));
+        inOrder.verify(outboxService).blockRequestChanged(OutboxEventType.BLOCK_REQUEST_PROCESSED, 1L, 10L,
+                BlockRequestStatus.REJECTED);
+    }
+
+    @Test
+    void processBlockRequest_Reject_LocksCardBeforeRequest() {
+        // Given
+        processRequest.setDecision("reject");
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+        when(blockRequestRepository.findCardIdById(1L)).thenReturn(Optional.of(1L));
+        when(blockRequestRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testBlockRequest));
+        when(blockRequestRepository.save(testBlockRequest)).thenReturn(testBlockRequest);
+
+        // When
+        blockRequestService.processBlockRequest("admin", 1L, processRequest);
+
+        // Then
+        InOrder inOrder = inOrder(cardRepository, blockRequestRepository);
+        inOrder.verify(cardRepository).lockIds(List.of(1L));
+        inOrder.verify(blockRequestRepository).findByIdForUpdate(1L);
+        verify(cardRepository, never()).save(any());
+    }
+
+    @Test
+    void processBlockRequests_InvalidDecision() {
+        // Given
+        BlockRequestBatchProcessRequest batchRequest = new BlockRequestBatchProcessRequest();
+        batchRequest.setRequestIds(List.of(1L));
+        batchRequest.setDecision("invalid");
+
+        // When & Then
+        assertThrows(InvalidDecisionException.class,
+            () -> blockRequestService.processBlockRequests("admin", batchRequest));
+        verifyNoInteractions(blockRequestRepository);
+    }
+
     @Test
     void getBlockRequestsStatistics_Success() {
         // Given
-        when(blockRequestRepository.countByStatus(BlockRequestStatus.PENDING)).thenReturn(5L);
-        when(blockRequestRepository.countByStatus(BlockRequestStatus.APPROVED)).thenReturn(10L);
-        when(blockRequestRepository.countByStatus(BlockRequestStatus.REJECTED)).thenReturn(3L);
+        when(blockRequestListingRepository.countByStatusWithArchive()).thenReturn(Map.of(
+                BlockRequestStatus.PENDING, 5L,
+                BlockRequestStatus.APPROVED, 10L,
+                BlockRequestStatus.REJECTED, 3L));
 
         // When
         Map<String, Object> result = blockRequestService.getBlockRequestsStatistics();
@@ -324,8 +599,21 @@ class BlockRequestServiceTest {
         assertEquals(10L, result.get("approvedRequests"));
         assertEquals(3L, result.get("rejectedRequests"));
 
-        verify(blockRequestRepository).countByStatus(BlockRequestStatus.PENDING);
-        verify(blockRequestRepository).countByStatus(BlockRequestStatus.APPROVED);
-        verify(blockRequestRepository).countByStatus(BlockRequestStatus.REJECTED);
+        verify(blockRequestRepository, never()).countByStatus(any());
+    }
+
+    @Test
+    void getBlockRequestsStatistics_StatusWithoutRequests_CountsZero() {
+        // Given
+        when(blockRequestListingRepository.countByStatusWithArchive())
+                .thenReturn(Map.of(BlockRequestStatus.APPROVED, 4L));
+
+        // When
+        Map<String, Object> result = blockRequestService.getBlockRequestsStatistics();
+
+        // Then
+        assertEquals(4L, result.get("totalRequests"));
+        assertEquals(0L, result.get("pendingRequests"));
+        assertEquals(0L, result.get("rejectedRequests"));
     }
 }
@@ -0,0 +1,60 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.CardResponse;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.enums.CardStatus;
+import com.example.bankcards.util.CardEncryptorBenchmark;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// mvn -Pbenchmark test -Djmh.include=CardServiceBenchmark
+// Per-card cost of a card listing: the masked number alone and the full response mapping around it
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CardServiceBenchmark {
+
+    private static final int CARD_COUNT = 1024;
+
+    private CardService cardService;
+    private Card[] cards;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        Card.setEncryptor(CardEncryptorBenchmark.create());
+        cardService = new CardService(null, null, null, null, null, null);
+        cards = new Card[CARD_COUNT];
+        for (int i = 0; i < CARD_COUNT; i++) {
+            cards[i] = Card.builder()
+                    .id((long) i)
+                    .cardNumber(String.format("4111%012d", i))
+                    .cardHolderName("BENCHMARK HOLDER")
+                    .expirationMonth(1 + i % 12)
+                    .expirationYear(2030)
+                    .status(CardStatus.ACTIVE)
+                    .balance(BigDecimal.valueOf(i, 2))
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public String maskedNumber() throws Exception {
+        return cards[nextIndex()].getMaskedNumber();
+    }
+
+    @Benchmark
+    public CardResponse mapToCardResponse() {
+        return cardService.mapToCardResponse(cards[nextIndex()]);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (CARD_COUNT - 1);
+        return next;
+    }
+}
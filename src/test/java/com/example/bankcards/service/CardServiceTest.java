@@ -4,7 +4,9 @@ import com.example.bankcards.dto.*;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.entity.Role;
+import com.example.bankcards.enums.AuditAction;
 import com.example.bankcards.enums.CardStatus;
+import com.example.bankcards.enums.OutboxEventType;
 import com.example.bankcards.exception.CardNotFoundException;
 import com.example.bankcards.exception.CardOperationException;
 import com.example.bankcards.exception.TransferException;
@@ -20,6 +22,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -43,6 +46,15 @@ class CardServiceTest {
     @Mock
     private CardEncryptor cardEncryptor;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private AuditService auditService;
+
     @InjectMocks
     private CardService cardService;
 
@@ -246,6 +258,7 @@ class CardServiceTest {
         assertNotNull(result);
         assertEquals(CardStatus.BLOCKED, testCard.getStatus());
         verify(cardRepository).save(testCard);
+        verify(outboxService).cardChanged(OutboxEventType.CARD_BLOCKED, testCard);
     }
 
     @Test
@@ -311,6 +324,7 @@ class CardServiceTest {
         assertNotNull(result);
         assertEquals(newBalance, testCard.getBalance());
         verify(cardRepository).save(testCard);
+        verify(auditService).record(AuditAction.CARD_BALANCE_UPDATED, 1L, "balance 1000.00 -> 2000.00");
     }
 
     @Test
@@ -350,6 +364,7 @@ class CardServiceTest {
         assertEquals(new BigDecimal("900.00"), fromCard.getBalance());
         assertEquals(new BigDecimal("600.00"), toCard.getBalance());
         verify(cardRepository, times(2)).save(any(Card.class));
+        verify(outboxService).transferCompleted(result.getTransactionId(), fromCard, toCard, new BigDecimal("100.00"));
     }
 
     @Test
@@ -382,6 +397,7 @@ class CardServiceTest {
         // When & Then
         assertThrows(TransferException.class,
             () -> cardService.transferBetweenCards("testuser", request));
+        verifyNoInteractions(outboxService);
     }
 
     @Test
@@ -0,0 +1,196 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.DataGeneratorProperties;
+import com.example.bankcards.security.RefreshTokenPartitionManager;
+import com.example.bankcards.util.CardEncryptor;
+import com.example.bankcards.util.CardEncryptorBenchmark;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class DataGeneratorTest {
+
+    private static final long ANCHOR = LocalDateTime.of(2026, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    private static final int USERS = 500;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private RefreshTokenPartitionManager partitionManager;
+
+    @Mock
+    private ConfigurableApplicationContext applicationContext;
+
+    private CardEncryptor cardEncryptor;
+    private DataGeneratorProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        cardEncryptor = CardEncryptorBenchmark.create();
+        properties = new DataGeneratorProperties();
+        properties.setUsers(USERS);
+    }
+
+    @Test
+    void render_SameSeedProducesSameRows() throws Exception {
+        // Given
+        DataGenerator first = newGenerator();
+        DataGenerator second = newGenerator();
+
+        // When
+        byte[] cards = first.render(layout(first, false), 0, USERS, first::writeCards);
+        byte[] sameCards = second.render(layout(second, false), 0, USERS, second::writeCards);
+        properties.setSeed(7);
+        byte[] otherCards = second.render(layout(second, false), 0, USERS, second::writeCards);
+
+        // Then
+        assertArrayEquals(cards, sameCards);
+        assertFalse(Arrays.equals(cards, otherCards));
+    }
+
+    @Test
+    void render_ChunksMatchSinglePass() throws Exception {
+        // Given
+        DataGenerator generator = newGenerator();
+        DataGenerator.Layout layout = layout(generator, false);
+
+        // When
+        String whole = text(generator.render(layout, 0, USERS, generator::writeRefreshTokens));
+        String chunked = text(generator.render(layout, 0, 123, generator::writeRefreshTokens))
+                + text(generator.render(layout, 123, USERS, generator::writeRefreshTokens));
+
+        // Then
+        assertEquals(whole, chunked);
+    }
+
+    @Test
+    void writeCards_NumbersAreUniqueLuhnValidAndDecryptable() throws Exception {
+        // Given
+        DataGenerator generator = newGenerator();
+
+        // When
+        List<String[]> cards = rows(generator.render(layout(generator, false), 0, USERS, generator::writeCards));
+
+        // Then
+        Set<String> numbers = new HashSet<>();
+        for (String[] card : cards) {
+            String number = cardEncryptor.decrypt(card[1]);
+            assertTrue(number.matches("\\d{16}"), number);
+            assertTrue(luhnValid(number), number);
+            assertTrue(numbers.add(number), "duplicate " + number);
+            assertEquals(DataGenerator.cardNumber(Long.parseLong(card[0])), number);
+        }
+        assertTrue(cards.size() >= USERS && cards.size() <= USERS * (2 * properties.getCardsPerUser() - 1));
+    }
+
+    @Test
+    void writeBlockRequests_FollowCardStatus() throws Exception {
+        // Given
+        DataGenerator generator = newGenerator();
+        DataGenerator.Layout layout = layout(generator, false);
+        Map<String, String> cardStatuses = new HashMap<>();
+        rows(generator.render(layout, 0, USERS, generator::writeCards)).forEach(card -> cardStatuses.put(card[0], card[3]));
+
+        // When
+        List<String[]> requests = rows(generator.render(layout, 0, USERS, generator::writeBlockRequests));
+
+        // Then
+        Set<String> requestedCards = new HashSet<>();
+        for (String[] request : requests) {
+            String cardStatus = cardStatuses.get(request[1]);
+            assertTrue(requestedCards.add(request[1]), "second request for card " + request[1]);
+            switch (request[4]) {
+                case "PENDING" -> {
+                    assertEquals("ACTIVE", cardStatus);
+                    assertEquals("\\N", request[6]);
+                    assertEquals("\\N", request[7]);
+                }
+                case "APPROVED" -> assertEquals("BLOCKED", cardStatus);
+                case "REJECTED" -> assertEquals("ACTIVE", cardStatus);
+                default -> fail("Unexpected status " + request[4]);
+            }
+        }
+        long blockedCards = cardStatuses.values().stream().filter("BLOCKED"::equals).count();
+        assertEquals(blockedCards, requests.stream().filter(request -> "APPROVED".equals(request[4])).count());
+    }
+
+    @Test
+    void writeRefreshTokens_PartitionedTableGetsLiveTokensOnly() throws Exception {
+        // Given
+        properties.setExpiredRefreshTokenRatio(0.5);
+        DataGenerator generator = newGenerator();
+        DateTimeFormatter timestamp = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+        // When
+        List<String[]> unpartitioned = rows(generator.render(layout(generator, false), 0, USERS, generator::writeRefreshTokens));
+        List<String[]> partitioned = rows(generator.render(layout(generator, true), 0, USERS, generator::writeRefreshTokens));
+
+        // Then
+        assertTrue(unpartitioned.stream().anyMatch(token ->
+                LocalDateTime.parse(token[2], timestamp).toEpochSecond(ZoneOffset.UTC) <= ANCHOR));
+        assertTrue(partitioned.stream().allMatch(token ->
+                LocalDateTime.parse(token[2], timestamp).toEpochSecond(ZoneOffset.UTC) > ANCHOR));
+    }
+
+    private DataGenerator newGenerator() {
+        DataGenerator generator = new DataGenerator(dataSource, jdbcTemplate, cardEncryptor, passwordEncoder,
+                partitionManager, properties, applicationContext);
+        ReflectionTestUtils.setField(generator, "refreshExpirationMs", 604_800_000L);
+        return generator;
+    }
+
+    private static DataGenerator.Layout layout(DataGenerator generator, boolean partitioned) {
+        return generator.layout(1000, 5000, 9000, 20000, 1, 2, "hash", ANCHOR, partitioned);
+    }
+
+    private static List<String[]> rows(byte[] copyData) {
+        return text(copyData).lines().map(line -> line.split("\t")).toList();
+    }
+
+    private static String text(byte[] copyData) {
+        return new String(copyData, StandardCharsets.UTF_8);
+    }
+
+    private static boolean luhnValid(String number) {
+        int sum = 0;
+        for (int i = 0; i < number.length(); i++) {
+            int digit = number.charAt(number.length() - 1 - i) - '0';
+            if (i % 2 == 1) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+        }
+        return sum % 10 == 0;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.JobRun;
+import com.example.bankcards.enums.JobRunStatus;
+import com.example.bankcards.repository.JobRunRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobLockServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private JobRunRepository jobRunRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private JobLockService jobLockService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jobLockService = new JobLockService(jdbcTemplate, jobRunRepository, meterRegistry, "node-a");
+    }
+
+    @Test
+    void runExclusively_LockAcquired_RunsJobAndRecordsRun() {
+        when(jdbcTemplate.update(contains("INSERT INTO job_locks"), any(), any(), any())).thenReturn(1);
+        when(jobRunRepository.save(any(JobRun.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        boolean ran = jobLockService.runExclusively("test-job", Duration.ofMinutes(10), Duration.ofSeconds(30), () -> "done");
+
+        assertTrue(ran);
+        ArgumentCaptor<JobRun> captor = ArgumentCaptor.forClass(JobRun.class);
+        verify(jobRunRepository, times(2)).save(captor.capture());
+        JobRun run = captor.getValue();
+        assertEquals(JobRunStatus.SUCCEEDED, run.getStatus());
+        assertEquals("node-a", run.getNodeId());
+        assertEquals("done", run.getDetails());
+        verify(jdbcTemplate).update(contains("UPDATE job_locks"), eq(30000L), eq("test-job"), eq("node-a"));
+    }
+
+    @Test
+    void runExclusively_LockHeldElsewhere_SkipsJob() {
+        when(jdbcTemplate.update(contains("INSERT INTO job_locks"), any(), any(), any())).thenReturn(0);
+        AtomicBoolean executed = new AtomicBoolean();
+
+        boolean ran = jobLockService.runExclusively("test-job", Duration.ofMinutes(10), Duration.ofSeconds(30), () -> {
+            executed.set(true);
+            return null;
+        });
+
+        assertFalse(ran);
+        assertFalse(executed.get());
+        verifyNoInteractions(jobRunRepository);
+        assertEquals(1.0, meterRegistry.counter("jobs.lock.skipped", "job", "test-job").count());
+    }
+
+    @Test
+    void runExclusively_JobFails_RecordsFailureAndReleasesLock() {
+        when(jdbcTemplate.update(contains("INSERT INTO job_locks"), any(), any(), any())).thenReturn(1);
+        when(jobRunRepository.save(any(JobRun.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThrows(IllegalStateException.class, () -> jobLockService.runExclusively("test-job",
+                Duration.ofMinutes(10), Duration.ofSeconds(30), () -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        ArgumentCaptor<JobRun> captor = ArgumentCaptor.forClass(JobRun.class);
+        verify(jobRunRepository, times(2)).save(captor.capture());
+        assertEquals(JobRunStatus.FAILED, captor.getValue().getStatus());
+        assertEquals("boom", captor.getValue().getDetails());
+        verify(jdbcTemplate).update(contains("UPDATE job_locks"), eq(30000L), eq("test-job"), eq("node-a"));
+    }
+}
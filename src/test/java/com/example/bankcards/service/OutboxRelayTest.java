@@ -0,0 +1,145 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.enums.OutboxEventType;
+import com.example.bankcards.event.InMemoryOutboxSink;
+import com.example.bankcards.event.OutboxEvent;
+import com.example.bankcards.event.OutboxSink;
+import com.example.bankcards.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 3;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    private InMemoryOutboxSink sink;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        sink = new InMemoryOutboxSink();
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+        relay = newRelay(sink, 10);
+    }
+
+    @Test
+    void drain_PublishesAndDeletesUntilPartialBatch() {
+        // Given
+        when(outboxEventRepository.lockNextBatch(BATCH_SIZE))
+                .thenReturn(events(1, 3), events(4, 6), events(7, 7));
+
+        // When
+        int relayed = relay.drain();
+
+        // Then
+        assertEquals(7, relayed);
+        assertEquals(LongStream.rangeClosed(1, 7).boxed().toList(),
+                sink.getEvents().stream().map(OutboxEvent::getId).toList());
+        verify(outboxEventRepository).deleteByIds(List.of(1L, 2L, 3L));
+        verify(outboxEventRepository).deleteByIds(List.of(4L, 5L, 6L));
+        verify(outboxEventRepository).deleteByIds(List.of(7L));
+        verify(transactionManager, times(3)).commit(transactionStatus);
+        assertEquals(7.0, meterRegistry.counter("outbox.events.published").count());
+    }
+
+    @Test
+    void drain_StopsAfterMaxBatchesPerRun() {
+        // Given
+        relay = newRelay(sink, 2);
+        when(outboxEventRepository.lockNextBatch(BATCH_SIZE)).thenReturn(events(1, 3), events(4, 6));
+
+        // When
+        int relayed = relay.drain();
+
+        // Then
+        assertEquals(6, relayed);
+        verify(outboxEventRepository, times(2)).lockNextBatch(BATCH_SIZE);
+    }
+
+    @Test
+    void drain_EmptyOutbox_DoesNotTouchSink() {
+        // Given
+        OutboxSink failingSink = mock(OutboxSink.class);
+        relay = newRelay(failingSink, 10);
+        when(outboxEventRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of());
+
+        // When
+        int relayed = relay.drain();
+
+        // Then
+        assertEquals(0, relayed);
+        verifyNoInteractions(failingSink);
+        verify(outboxEventRepository, never()).deleteByIds(anyList());
+    }
+
+    @Test
+    void relayPendingEvents_SinkFails_RollsBackAndKeepsRows() {
+        // Given
+        OutboxSink failingSink = mock(OutboxSink.class);
+        doThrow(new IllegalStateException("disk full")).when(failingSink).publish(anyList());
+        relay = newRelay(failingSink, 10);
+        when(outboxEventRepository.lockNextBatch(BATCH_SIZE)).thenReturn(events(1, 2));
+
+        // When
+        relay.relayPendingEvents();
+
+        // Then
+        verify(outboxEventRepository, never()).deleteByIds(anyList());
+        verify(transactionManager).rollback(transactionStatus);
+        verify(transactionManager, never()).commit(any());
+        assertEquals(1.0, meterRegistry.counter("outbox.relay.failures").count());
+    }
+
+    @Test
+    void inMemorySink_RedeliveredBatch_IsDeduplicatedById() {
+        // Given
+        when(outboxEventRepository.lockNextBatch(BATCH_SIZE)).thenReturn(events(1, 2), events(1, 2));
+
+        // When
+        relay.drain();
+        relay.drain();
+
+        // Then
+        assertEquals(2, sink.getEvents().size());
+        assertEquals(2, sink.getDuplicates());
+        assertEquals(List.of(1L, 2L), sink.getEventsForCard(100L).stream().map(OutboxEvent::getId).toList());
+    }
+
+    private OutboxRelay newRelay(OutboxSink outboxSink, int maxBatchesPerRun) {
+        return new OutboxRelay(outboxEventRepository, outboxSink, transactionManager, meterRegistry,
+                BATCH_SIZE, maxBatchesPerRun);
+    }
+
+    private static List<OutboxEvent> events(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> new OutboxEvent(id, OutboxEvent.AGGREGATE_CARD, 100L, OutboxEventType.CARD_BLOCKED,
+                        "{\"cardId\":100,\"status\":\"BLOCKED\"}", Instant.parse("2026-01-01T00:00:00Z")))
+                .toList();
+    }
+}
@@ -3,10 +3,12 @@ package com.example.bankcards.service;
 import com.example.bankcards.dto.*;
 import com.example.bankcards.entity.Role;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.AuditAction;
 import com.example.bankcards.exception.*;
 import com.example.bankcards.repository.RefreshTokenRepository;
 import com.example.bankcards.repository.RoleRepository;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.UserPrincipalCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -40,6 +42,12 @@ class UserManagementServiceTest {
     @Mock
     private RefreshTokenRepository refreshTokenRepository;
 
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+
+    @Mock
+    private AuditService auditService;
+
     @InjectMocks
     private UserManagementService userManagementService;
 
@@ -200,6 +208,7 @@ class UserManagementServiceTest {
 
         verify(userRepository).findByUsername("testuser");
         verify(userRepository).save(testUser);
+        verify(userPrincipalCache).evict("testuser");
     }
 
     @Test
@@ -228,6 +237,7 @@ class UserManagementServiceTest {
         // Then
         verify(userRepository).findByUsername("testuser");
         verify(userRepository).delete(testUser);
+        verify(userPrincipalCache).evict("testuser");
     }
 
     @Test
@@ -238,6 +248,7 @@ class UserManagementServiceTest {
         // When & Then
         assertThrows(UserNotFoundException.class,
             () -> userManagementService.deleteUser("nonexistent"));
+        verify(userPrincipalCache, never()).evict(any());
     }
 
     @Test
@@ -256,6 +267,8 @@ class UserManagementServiceTest {
 
         verify(userRepository).save(testUser);
         verify(refreshTokenRepository).revokeAllByUser(testUser);
+        verify(userPrincipalCache).evict("testuser");
+        verify(auditService).record(AuditAction.USER_DISABLED, 1L, "username=testuser");
     }
 
     @Test
@@ -274,5 +287,6 @@ class UserManagementServiceTest {
 
         verify(userRepository).save(testUser);
         verify(refreshTokenRepository, never()).revokeAllByUser(any());
+        verify(auditService).record(AuditAction.USER_ENABLED, 1L, "username=testuser");
     }
 }
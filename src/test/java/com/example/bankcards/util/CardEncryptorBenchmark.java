@@ -0,0 +1,58 @@
+package com.example.bankcards.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// mvn -Pbenchmark test -Djmh.include=CardEncryptorBenchmark
+// Every card in a listing is decrypted once to build its masked number
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CardEncryptorBenchmark {
+
+    static final String KEY = "wM2y4L8tZ+P9v3uQ6e1sR0hT7fG5jK2l";
+    private static final int CARD_COUNT = 1024;
+
+    private CardEncryptor encryptor;
+    private String[] numbers;
+    private String[] encryptedNumbers;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        encryptor = create();
+        numbers = new String[CARD_COUNT];
+        encryptedNumbers = new String[CARD_COUNT];
+        for (int i = 0; i < CARD_COUNT; i++) {
+            numbers[i] = String.format("4111%012d", i);
+            encryptedNumbers[i] = encryptor.encrypt(numbers[i]);
+        }
+    }
+
+    @Benchmark
+    public String encrypt() throws Exception {
+        return encryptor.encrypt(numbers[nextIndex()]);
+    }
+
+    @Benchmark
+    public String decrypt() throws Exception {
+        return encryptor.decrypt(encryptedNumbers[nextIndex()]);
+    }
+
+    public static CardEncryptor create() {
+        CardEncryptor encryptor = new CardEncryptor();
+        ReflectionTestUtils.setField(encryptor, "keyBase64", KEY);
+        ReflectionTestUtils.invokeMethod(encryptor, "init");
+        return encryptor;
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (CARD_COUNT - 1);
+        return next;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.benchmarks;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+
+// Scratch entities of EntityInsertBenchmark. They live outside com.example.bankcards so the application's entity
+// scan never picks them up when a test starts the full context
+public final class InsertBenchmarkRows {
+
+    private InsertBenchmarkRows() {
+    }
+
+    @Entity
+    @Table(name = "insert_benchmark_identity")
+    public static class IdentityCardRow extends CardRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        protected IdentityCardRow() {
+        }
+
+        public IdentityCardRow(int i) {
+            super(i);
+        }
+    }
+
+    @Entity
+    @Table(name = "insert_benchmark_sequence")
+    public static class SequenceCardRow extends CardRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "insert_benchmark_sequence_id_seq")
+        @SequenceGenerator(name = "insert_benchmark_sequence_id_seq", sequenceName = "insert_benchmark_sequence_id_seq",
+                allocationSize = 50)
+        private Long id;
+
+        protected SequenceCardRow() {
+        }
+
+        public SequenceCardRow(int i) {
+            super(i);
+        }
+    }
+
+    @MappedSuperclass
+    public abstract static class CardRow {
+        private String encryptedNumber;
+        private String cardHolderName;
+        private int expirationMonth;
+        private int expirationYear;
+        private String status;
+        private BigDecimal balance;
+        private long userId;
+
+        protected CardRow() {
+        }
+
+        CardRow(int i) {
+            this.encryptedNumber = "encrypted-card-number-" + i;
+            this.cardHolderName = "Holder " + i;
+            this.expirationMonth = 1 + i % 12;
+            this.expirationYear = 2030;
+            this.status = "ACTIVE";
+            this.balance = BigDecimal.valueOf(i % 10_000, 2);
+            this.userId = i % 1_000;
+        }
+    }
+}